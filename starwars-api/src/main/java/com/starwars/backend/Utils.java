@@ -2,6 +2,8 @@ package com.starwars.backend;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.CharBuffer;
+
 @Slf4j
 public class Utils {
 
@@ -13,18 +15,83 @@ public class Utils {
     public static final String URL_VEHICLES = "https://swapi.dev/api/vehicles/";
 
 
-    public static Integer extractSwapiId(String url) {
-        if (url == null || url.isBlank()) return null;
-        String[] parts = url.split("/");
-        for (int i = parts.length - 1; i >= 0; i--) {
-            if (!parts[i].isBlank()) {
-                try {
-                    return Integer.parseInt(parts[i]);
-                } catch (NumberFormatException e) {
-                    return null;
-                }
+    /**
+     * Returned by {@link #parseSwapiId} when the url has no usable id.
+     */
+    public static final int NO_SWAPI_ID = -1;
+
+    /**
+     * Reads the id from the last non-blank path segment of a SWAPI url, scanning backwards
+     * without splitting or boxing. Follows {@link Integer#parseInt} for the segment and
+     * returns {@link #NO_SWAPI_ID} for blank urls, non-numeric or overflowing segments and
+     * negative values, which SWAPI never uses.
+     */
+    public static int parseSwapiId(String url) {
+        return url == null ? NO_SWAPI_ID : parseSwapiId(url, url.length());
+    }
+
+    /**
+     * Same as {@link #parseSwapiId(String)} for a url held in a character buffer, such as the
+     * text of a JSON token, so ids can be read while parsing without creating a string.
+     */
+    public static int parseSwapiId(char[] chars, int offset, int length) {
+        return parseSwapiId(CharBuffer.wrap(chars, offset, length), length);
+    }
+
+    private static int parseSwapiId(CharSequence url, int length) {
+        int end = length;
+        while (end > 0) {
+            int start = lastSlash(url, end - 1) + 1;
+            if (!isBlank(url, start, end)) {
+                return parseId(url, start, end);
             }
+            end = start - 1;
         }
-        return null;
+        return NO_SWAPI_ID;
+    }
+
+    private static int lastSlash(CharSequence url, int from) {
+        for (int i = from; i >= 0; i--) {
+            if (url.charAt(i) == '/') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseId(CharSequence url, int start, int end) {
+        boolean negative = false;
+        int i = start;
+        char first = url.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == end) return NO_SWAPI_ID;
+        }
+        int id = 0;
+        for (; i < end; i++) {
+            int digit = Character.digit(url.charAt(i), 10);
+            if (digit < 0 || id > (Integer.MAX_VALUE - digit) / 10) {
+                return NO_SWAPI_ID;
+            }
+            id = id * 10 + digit;
+        }
+        return negative && id != 0 ? NO_SWAPI_ID : id;
+    }
+
+    private static boolean isBlank(CharSequence url, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(url.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static String containsPattern(String search) {
+        String escaped = search.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
     }
 }
@@ -0,0 +1,30 @@
+package com.starwars.backend.config;
+
+import com.starwars.backend.service.DatasetVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Tags read responses with the current {@link DatasetVersion} ETag and answers a matching
+ * {@code If-None-Match} with 304 before the handler runs, so revalidation never reaches
+ * a service or repository.
+ */
+@RequiredArgsConstructor
+public class DatasetETagInterceptor implements HandlerInterceptor {
+
+    private final DatasetVersion datasetVersion;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(datasetVersion.etag());
+    }
+}
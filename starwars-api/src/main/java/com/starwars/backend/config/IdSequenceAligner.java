@@ -0,0 +1,43 @@
+package com.starwars.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the pooled id sequences past the rows created while the tables still used
+ * identity columns, so the first allocated block cannot collide with existing ids.
+ */
+@Profile("!test")
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceAligner {
+
+    private static final List<String> TABLES = List.of("planets", "films", "species", "characters", "starships", "vehicles");
+
+    private static final String ALIGN_SQL = """
+            SELECT setval(quote_ident(s.sequencename)::regclass, m.max_id + s.increment_by, false)
+            FROM pg_sequences s, (SELECT COALESCE(MAX(id), 0) AS max_id FROM %s) m
+            WHERE s.schemaname = current_schema() AND s.sequencename = ?
+              AND (s.last_value IS NULL OR s.last_value <= m.max_id)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequences() {
+        for (String table : TABLES) {
+            String sequence = table + "_seq";
+            jdbcTemplate.queryForList(ALIGN_SQL.formatted(table), Long.class, sequence)
+                    .forEach(next -> log.info("Aligned sequence {} with existing ids, next block starts at {}", sequence, next));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.starwars.backend.config;
+
+import java.time.Duration;
+
+/**
+ * JDBC and loading counters for the request running on the current thread. The Hibernate
+ * hooks in {@link QueryDiagnosticsListener} only record while a request has started one.
+ */
+public final class QueryDiagnostics {
+
+    private static final ThreadLocal<QueryDiagnostics> CURRENT = new ThreadLocal<>();
+
+    private final long slowQueryNanos;
+
+    private int statements;
+    private long jdbcNanos;
+    private int entitiesLoaded;
+    private int collectionsFetched;
+
+    private String lastSql;
+    private long statementStart;
+
+    private QueryDiagnostics(Duration slowQueryThreshold) {
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+    }
+
+    static QueryDiagnostics start(Duration slowQueryThreshold) {
+        QueryDiagnostics diagnostics = new QueryDiagnostics(slowQueryThreshold);
+        CURRENT.set(diagnostics);
+        return diagnostics;
+    }
+
+    static QueryDiagnostics current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long jdbcMicros() {
+        return jdbcNanos / 1_000;
+    }
+
+    public int entitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    public int collectionsFetched() {
+        return collectionsFetched;
+    }
+
+    void statementPrepared(String sql) {
+        lastSql = sql;
+    }
+
+    void executionStarted() {
+        statementStart = System.nanoTime();
+    }
+
+    long executionEnded() {
+        long elapsed = System.nanoTime() - statementStart;
+        statements++;
+        jdbcNanos += elapsed;
+        return elapsed;
+    }
+
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= slowQueryNanos;
+    }
+
+    String lastSql() {
+        return lastSql;
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void collectionFetched() {
+        collectionsFetched++;
+    }
+}
@@ -0,0 +1,61 @@
+package com.starwars.backend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Opt-in per-request query diagnostics ({@code diagnostics.enabled=true}): counts the
+ * Hibernate statements, JDBC time, entity loads and collection fetches of every request,
+ * reports them as response headers and log fields, and logs statements slower than
+ * {@code diagnostics.slow-query-threshold}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "diagnostics.enabled", havingValue = "true")
+public class QueryDiagnosticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryDiagnosticsHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryDiagnosticsListener.class.getName());
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, QueryDiagnosticsListener.class.getName());
+        };
+    }
+
+    @Bean
+    public SmartInitializingSingleton queryDiagnosticsLoadListeners(EntityManagerFactory entityManagerFactory) {
+        return () -> {
+            QueryDiagnosticsListener listener = new QueryDiagnosticsListener();
+            EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry().requireService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_LOAD, listener);
+            registry.appendListeners(EventType.INIT_COLLECTION, listener);
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer queryDiagnosticsConfigurer(
+            @Value("${diagnostics.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new QueryDiagnosticsInterceptor(slowQueryThreshold))
+                        .addPathPatterns("/api/**")
+                        .order(Ordered.HIGHEST_PRECEDENCE);
+            }
+        };
+    }
+}
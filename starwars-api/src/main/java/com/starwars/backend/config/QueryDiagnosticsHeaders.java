@@ -0,0 +1,45 @@
+package com.starwars.backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Copies the request's {@link QueryDiagnostics} totals into response headers just before
+ * the body is written, which is the last point the headers can still change.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "diagnostics.enabled", havingValue = "true")
+public class QueryDiagnosticsHeaders implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS = "X-Jdbc-Statements";
+    public static final String JDBC_TIME = "X-Jdbc-Time-Micros";
+    public static final String ENTITIES_LOADED = "X-Entities-Loaded";
+    public static final String COLLECTIONS_FETCHED = "X-Collections-Fetched";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryDiagnostics diagnostics = QueryDiagnostics.current();
+        if (diagnostics != null) {
+            HttpHeaders headers = response.getHeaders();
+            headers.set(STATEMENTS, Integer.toString(diagnostics.statements()));
+            headers.set(JDBC_TIME, Long.toString(diagnostics.jdbcMicros()));
+            headers.set(ENTITIES_LOADED, Integer.toString(diagnostics.entitiesLoaded()));
+            headers.set(COLLECTIONS_FETCHED, Integer.toString(diagnostics.collectionsFetched()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,51 @@
+package com.starwars.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Starts a {@link QueryDiagnostics} for every request and logs its totals as structured
+ * fields when the request completes.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class QueryDiagnosticsInterceptor implements AsyncHandlerInterceptor {
+
+    private final Duration slowQueryThreshold;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryDiagnostics.start(slowQueryThreshold);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryDiagnostics.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryDiagnostics diagnostics = QueryDiagnostics.current();
+        QueryDiagnostics.clear();
+        if (diagnostics == null) {
+            return;
+        }
+        log.atInfo()
+                .addKeyValue("http.method", request.getMethod())
+                .addKeyValue("http.path", request.getRequestURI())
+                .addKeyValue("http.status", response.getStatus())
+                .addKeyValue("jdbc.statements", diagnostics.statements())
+                .addKeyValue("jdbc.time_us", diagnostics.jdbcMicros())
+                .addKeyValue("hibernate.entities_loaded", diagnostics.entitiesLoaded())
+                .addKeyValue("hibernate.collections_fetched", diagnostics.collectionsFetched())
+                .log("{} {} -> {}: {} statements in {} us, {} entities loaded, {} collections fetched",
+                        request.getMethod(), request.getRequestURI(), response.getStatus(), diagnostics.statements(),
+                        diagnostics.jdbcMicros(), diagnostics.entitiesLoaded(), diagnostics.collectionsFetched());
+    }
+}
@@ -0,0 +1,107 @@
+package com.starwars.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionEventListener;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.time.Duration;
+
+/**
+ * Feeds Hibernate's statement, execution and load callbacks into the {@link QueryDiagnostics}
+ * of the current request and logs statements slower than the configured threshold.
+ * Hibernate creates the session listener and statement inspector from the class name, so
+ * all state lives in the thread's {@link QueryDiagnostics}.
+ */
+@Slf4j
+public class QueryDiagnosticsListener implements SessionEventListener, StatementInspector,
+        PostLoadEventListener, InitializeCollectionEventListener {
+
+    @Override
+    public String inspect(String sql) {
+        QueryDiagnostics diagnostics = QueryDiagnostics.current();
+        if (diagnostics != null) {
+            diagnostics.statementPrepared(sql);
+        }
+        return sql;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executionEnded();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executionEnded();
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        QueryDiagnostics diagnostics = QueryDiagnostics.current();
+        if (diagnostics != null) {
+            diagnostics.entityLoaded();
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        QueryDiagnostics diagnostics = QueryDiagnostics.current();
+        if (diagnostics != null) {
+            diagnostics.collectionFetched();
+        }
+    }
+
+    private void executionStarted() {
+        QueryDiagnostics diagnostics = QueryDiagnostics.current();
+        if (diagnostics != null) {
+            diagnostics.executionStarted();
+        }
+    }
+
+    private void executionEnded() {
+        QueryDiagnostics diagnostics = QueryDiagnostics.current();
+        if (diagnostics == null) {
+            return;
+        }
+        long elapsed = diagnostics.executionEnded();
+        if (diagnostics.isSlow(elapsed)) {
+            String sql = diagnostics.lastSql();
+            log.atWarn()
+                    .addKeyValue("jdbc.elapsed_ms", Duration.ofNanos(elapsed).toMillis())
+                    .addKeyValue("jdbc.bind_parameters", bindParameters(sql))
+                    .log("Slow query took {} ms with {} bind parameters: {}",
+                            Duration.ofNanos(elapsed).toMillis(), bindParameters(sql), sql);
+        }
+    }
+
+    static int bindParameters(String sql) {
+        if (sql == null) {
+            return 0;
+        }
+        int count = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
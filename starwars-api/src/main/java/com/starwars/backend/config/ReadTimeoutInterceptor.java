@@ -0,0 +1,31 @@
+package com.starwars.backend.config;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Reports a read timeout as an {@link HttpTimeoutException}. The JDK request factory enforces
+ * the timeout by cancelling the response future, and when the cancellation wins the race with
+ * the wait for headers it escapes as a bare {@link CancellationException}, which
+ * {@code RestTemplate} would not turn into a retryable {@code ResourceAccessException}.
+ */
+class ReadTimeoutInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        try {
+            return execution.execute(request, body);
+        } catch (CancellationException e) {
+            HttpTimeoutException timeout = new HttpTimeoutException("Request timed out to " + request.getURI());
+            timeout.initCause(e);
+            throw timeout;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.starwars.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache for the SWAPI reference types (films, planets,
+ * species, starships and vehicles), held in an in-process Caffeine JCache manager that
+ * Hibernate closes with the session factory. Each type has a region for its entities and
+ * one for the relations it owns, so a change to one type can be evicted without dropping
+ * the others. Inverse ({@code mappedBy}) collections are not cached: Hibernate only
+ * invalidates a collection entry when its owning side is written. These and the query result region keep at most
+ * {@code swapi.cache.max-entries} entries each for {@code swapi.cache.ttl}.
+ * The update timestamps region is left unbounded: it has one entry per table, and losing
+ * one would let stale query results through. {@link SecondLevelCacheEvictor} evicts the
+ * regions of the types each committed dataset change touched.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String FILMS_REGION = "films";
+    public static final String FILM_RELATIONS_REGION = "film-relations";
+    public static final String PLANETS_REGION = "planets";
+    public static final String SPECIES_REGION = "species";
+    public static final String SPECIES_RELATIONS_REGION = "species-relations";
+    public static final String STARSHIPS_REGION = "starships";
+    public static final String STARSHIP_RELATIONS_REGION = "starship-relations";
+    public static final String VEHICLES_REGION = "vehicles";
+    public static final String VEHICLE_RELATIONS_REGION = "vehicle-relations";
+
+    private static final List<String> BOUNDED_REGIONS = List.of(
+            FILMS_REGION, FILM_RELATIONS_REGION, PLANETS_REGION, SPECIES_REGION, SPECIES_RELATIONS_REGION,
+            STARSHIPS_REGION, STARSHIP_RELATIONS_REGION, VEHICLES_REGION, VEHICLE_RELATIONS_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheHibernateProperties(
+            @Value("${swapi.cache.enabled:true}") boolean enabled,
+            @Value("${swapi.cache.max-entries:10000}") long maxEntries,
+            @Value("${swapi.cache.ttl:1h}") Duration ttl) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            // Statistics feed the cache hit and miss meters; the per-session summary log is not wanted.
+            properties.put(AvailableSettings.GENERATE_STATISTICS, enabled);
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+            if (!enabled) {
+                return;
+            }
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager(maxEntries, ttl));
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    private static CacheManager cacheManager(long maxEntries, Duration ttl) {
+        // A manager of its own per session factory, so test contexts never share regions.
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("starwars-api:second-level-cache:" + UUID.randomUUID()), null);
+        for (String region : BOUNDED_REGIONS) {
+            cacheManager.createCache(region, region(OptionalLong.of(maxEntries), OptionalLong.of(ttl.toNanos())));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                region(OptionalLong.empty(), OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(OptionalLong maximumSize, OptionalLong expireAfterWriteNanos) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setMaximumSize(maximumSize);
+        configuration.setExpireAfterWrite(expireAfterWriteNanos);
+        return configuration;
+    }
+}
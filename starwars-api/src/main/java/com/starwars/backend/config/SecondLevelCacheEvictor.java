@@ -0,0 +1,75 @@
+package com.starwars.backend.config;
+
+import com.starwars.backend.event.DatasetChangedEvent;
+import com.starwars.backend.integration.SwapiResource;
+import com.starwars.backend.persisntence.entities.Character;
+import com.starwars.backend.persisntence.entities.Film;
+import com.starwars.backend.persisntence.entities.Planet;
+import com.starwars.backend.persisntence.entities.Species;
+import com.starwars.backend.persisntence.entities.Starship;
+import com.starwars.backend.persisntence.entities.Vehicle;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.metamodel.mapping.EntityValuedModelPart;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evicts cached data once a {@link DatasetChangedEvent} has committed, so reads after each
+ * sync stage never see entries cached from the previous dataset, including rows written
+ * outside Hibernate's own cache bookkeeping. Only the entity data of the changed types and
+ * the collections they own or contain are dropped; query results are always dropped, since
+ * any of them may join a changed table.
+ */
+@Component
+@Slf4j
+public class SecondLevelCacheEvictor {
+
+    private static final Map<SwapiResource, Class<?>> ENTITIES = new EnumMap<>(Map.of(
+            SwapiResource.PLANETS, Planet.class,
+            SwapiResource.FILMS, Film.class,
+            SwapiResource.SPECIES, Species.class,
+            SwapiResource.CHARACTERS, Character.class,
+            SwapiResource.STARSHIPS, Starship.class,
+            SwapiResource.VEHICLES, Vehicle.class));
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatasetChanged(DatasetChangedEvent event) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Cache cache = sessionFactory.getCache();
+        MappingMetamodel metamodel = sessionFactory.getMappingMetamodel();
+
+        Set<String> changed = new HashSet<>();
+        for (SwapiResource resource : event.resources()) {
+            changed.add(ENTITIES.get(resource).getName());
+        }
+        metamodel.forEachEntityDescriptor(entity -> {
+            if (entity.canWriteToCache() && changed.contains(entity.getEntityName())) {
+                cache.evictEntityData(entity.getEntityName());
+            }
+        });
+        metamodel.forEachCollectionDescriptor(collection -> {
+            if (collection.hasCache() && (changed.contains(collection.getOwnerEntityPersister().getEntityName())
+                    || collection.getAttributeMapping().getElementDescriptor() instanceof EntityValuedModelPart element
+                    && changed.contains(element.getEntityMappingType().getEntityName()))) {
+                cache.evictCollectionData(collection.getRole());
+            }
+        });
+        cache.evictQueryRegions();
+        log.debug("Evicted second-level cache for {} after {}", event.resources(), event.source());
+    }
+}
@@ -0,0 +1,19 @@
+package com.starwars.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class SwapiSyncConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor swapiSyncExecutor(@Value("${swapi.sync.parallelism:6}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("swapi-sync-");
+        return executor;
+    }
+}
@@ -0,0 +1,61 @@
+package com.starwars.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Creates {@code pg_trgm} GIN indexes on the lowercased search columns, so the
+ * {@code LOWER(name) LIKE '%term%'} predicates behind every search box are answered from
+ * the index instead of a sequential scan. When the extension cannot be installed the
+ * search keeps working unindexed.
+ */
+@Profile("!test")
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class TrigramIndexInstaller {
+
+    public static final String INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_%1$s_%2$s_trgm ON %1$s USING gin (lower(%2$s) gin_trgm_ops)";
+
+    private static final Map<String, String> SEARCH_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        SEARCH_COLUMNS.put("planets", "name");
+        SEARCH_COLUMNS.put("films", "title");
+        SEARCH_COLUMNS.put("species", "name");
+        SEARCH_COLUMNS.put("characters", "name");
+        SEARCH_COLUMNS.put("starships", "name");
+        SEARCH_COLUMNS.put("vehicles", "name");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void installIndexes() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (DataAccessException ex) {
+            log.warn("pg_trgm is unavailable, name search will scan tables: {}", ex.getMostSpecificCause().getMessage());
+            return;
+        }
+        SEARCH_COLUMNS.forEach((table, column) -> {
+            try {
+                jdbcTemplate.execute(INDEX_SQL.formatted(table, column));
+            } catch (DataAccessException ex) {
+                log.warn("Could not create trigram index on {}.{}: {}", table, column, ex.getMostSpecificCause().getMessage());
+            }
+        });
+        log.info("Trigram search indexes present on {} tables", SEARCH_COLUMNS.size());
+    }
+}
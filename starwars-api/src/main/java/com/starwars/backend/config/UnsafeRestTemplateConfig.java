@@ -1,34 +1,63 @@
 package com.starwars.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import javax.net.ssl.*;
+import java.net.Socket;
+import java.net.http.HttpClient;
+import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 
+/**
+ * SWAPI client on the JDK {@link HttpClient}: pooled keep-alive connections, HTTP/2 where the
+ * server negotiates it, streamed response bodies and bounded timeouts. Certificates are not
+ * verified, but only for this client rather than through process-wide SSL defaults.
+ */
 @Configuration
 public class UnsafeRestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() throws Exception {
+    public RestTemplate restTemplate(@Value("${swapi.http.connect-timeout:5s}") Duration connectTimeout,
+                                     @Value("${swapi.http.read-timeout:30s}") Duration readTimeout,
+                                     @Value("${swapi.http.max-connections:16}") int maxConnections)
+            throws GeneralSecurityException {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .sslContext(trustAllContext())
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new ReadTimeoutInterceptor());
+        restTemplate.getInterceptors().add(new ConnectionLimitInterceptor(maxConnections));
+        return restTemplate;
+    }
+
+    private static SSLContext trustAllContext() throws GeneralSecurityException {
         TrustManager[] trustAllCerts = new TrustManager[]{
-                new X509TrustManager() {
+                new X509ExtendedTrustManager() {
                     public void checkClientTrusted(X509Certificate[] certs, String authType) {}
                     public void checkServerTrusted(X509Certificate[] certs, String authType) {}
+                    public void checkClientTrusted(X509Certificate[] certs, String authType, Socket socket) {}
+                    public void checkServerTrusted(X509Certificate[] certs, String authType, Socket socket) {}
+                    public void checkClientTrusted(X509Certificate[] certs, String authType, SSLEngine engine) {}
+                    public void checkServerTrusted(X509Certificate[] certs, String authType, SSLEngine engine) {}
                     public X509Certificate[] getAcceptedIssuers() { return new X509Certificate[0]; }
                 }
         };
 
         SSLContext sslContext = SSLContext.getInstance("TLS");
         sslContext.init(null, trustAllCerts, new SecureRandom());
-        HttpsURLConnection.setDefaultSSLSocketFactory(sslContext.getSocketFactory());
-        HttpsURLConnection.setDefaultHostnameVerifier((hostname, session) -> true);
-
-        return new RestTemplate(new SimpleClientHttpRequestFactory());
+        return sslContext;
     }
 }
-
-
@@ -1,22 +1,38 @@
 package com.starwars.backend.config;
 
+import com.starwars.backend.service.DatasetVersion;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig {
 
+    // /api/search is left out: its index is rebuilt after the dataset version moves, so
+    // SearchController tags responses with the index generation instead.
+    private static final String[] DATASET_READ_PATHS = {
+            "/api/films/**", "/api/planets/**", "/api/species/**", "/api/starships/**",
+            "/api/vehicles/**", "/api/characters/**"
+    };
+
     @Bean
-    public WebMvcConfigurer corsConfigurer() {
+    public WebMvcConfigurer corsConfigurer(DatasetVersion datasetVersion) {
         return new WebMvcConfigurer() {
             @Override
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/**")
                         .allowedOrigins("*")
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                        .allowedHeaders("*");
+                        .allowedHeaders("*")
+                        .exposedHeaders("ETag");
+            }
+
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new DatasetETagInterceptor(datasetVersion))
+                        .addPathPatterns(DATASET_READ_PATHS);
             }
         };
     }
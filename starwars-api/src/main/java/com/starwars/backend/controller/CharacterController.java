@@ -1,16 +1,20 @@
 package com.starwars.backend.controller;
 
+import com.starwars.backend.dto.CursorPage;
 import com.starwars.backend.dto.form.CharacterFormDTO;
+import com.starwars.backend.exception.InvalidCursorException;
 import com.starwars.backend.persisntence.entities.Character;
 import com.starwars.backend.service.CharacterService;
+import com.starwars.backend.service.SupportDataService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/characters")
@@ -18,7 +22,10 @@ import java.util.Map;
 @Slf4j
 public class CharacterController {
 
+    private static final byte[] EMPTY_JSON = "{}".getBytes(StandardCharsets.UTF_8);
+
     private final CharacterService characterService;
+    private final SupportDataService supportDataService;
 
     @GetMapping
     public ResponseEntity<Page<CharacterFormDTO>> getCharacters(
@@ -34,6 +41,24 @@ public class CharacterController {
         }
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<CharacterFormDTO>> scrollCharacters(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "15") int size,
+            Sort sort
+    ) {
+        try {
+            return ResponseEntity.ok(characterService.scrollCharacters(search, sort, cursor, size));
+        } catch (InvalidCursorException e) {
+            log.warn("Rejected characters scroll request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Failed to scroll characters: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @PostMapping
     public ResponseEntity<CharacterFormDTO> createCharacter(@RequestBody CharacterFormDTO dto) {
         try {
@@ -69,12 +94,16 @@ public class CharacterController {
     }
 
     @GetMapping("/support-data")
-    public Map<String, Object> getCharacterSupportData() {
+    public ResponseEntity<byte[]> getCharacterSupportData() {
         try {
-            return characterService.getSupportData();
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(supportDataService.getSupportDataJson());
         } catch (Exception e) {
             log.error("Failed to load support data: {}", e.getMessage(), e);
-            return Map.of();
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(EMPTY_JSON);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.starwars.backend.controller;
+
+import com.starwars.backend.service.ExportFormat;
+import com.starwars.backend.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Slf4j
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/{type}/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String type,
+            @RequestParam(defaultValue = "ndjson") String format,
+            WebRequest request
+    ) {
+        if (!exportService.supports(type)) {
+            return ResponseEntity.notFound().build();
+        }
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected export of {} as '{}'", type, format);
+            return ResponseEntity.badRequest().build();
+        }
+
+        // The body streams on an async request; give it the export timeout instead of the global one.
+        AsyncWebRequest asyncRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncRequest != null) {
+            asyncRequest.setTimeout(exportService.timeout().toMillis());
+        }
+
+        StreamingResponseBody body = out -> {
+            try {
+                exportService.export(type, exportFormat, out);
+            } catch (Exception e) {
+                log.error("Export of {} as {} failed: {}", type, exportFormat, e.getMessage(), e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(type + "." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -1,11 +1,14 @@
 package com.starwars.backend.controller;
 
+import com.starwars.backend.dto.CursorPage;
 import com.starwars.backend.dto.FilmDTO;
+import com.starwars.backend.exception.InvalidCursorException;
 import com.starwars.backend.service.FilmService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,4 +32,22 @@ public class FilmController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<FilmDTO>> scrollFilms(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "15") int size,
+            Sort sort
+    ) {
+        try {
+            return ResponseEntity.ok(filmService.scrollFilms(search, sort, cursor, size));
+        } catch (InvalidCursorException e) {
+            log.warn("Rejected films scroll request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Failed to scroll films: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 }
\ No newline at end of file
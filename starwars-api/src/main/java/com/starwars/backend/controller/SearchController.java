@@ -0,0 +1,36 @@
+package com.starwars.backend.controller;
+
+import com.starwars.backend.dto.SearchResults;
+import com.starwars.backend.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Slf4j
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<SearchResults> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "" + SearchService.DEFAULT_LIMIT) int limit
+    ) {
+        // Read the tag first: the index only moves forward, so the body is never older than it.
+        String etag = searchService.etag();
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(etag)
+                    .body(searchService.search(query, limit));
+        } catch (Exception e) {
+            log.error("Failed to search for '{}': {}", query, e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.starwars.backend.controller;
 
+import com.starwars.backend.dto.CursorPage;
 import com.starwars.backend.dto.SpeciesDTO;
+import com.starwars.backend.exception.InvalidCursorException;
 import com.starwars.backend.service.SpeciesService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,4 +32,22 @@ public class SpeciesController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<SpeciesDTO>> scrollSpecies(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "15") int size,
+            Sort sort
+    ) {
+        try {
+            return ResponseEntity.ok(speciesService.scrollSpecies(search, sort, cursor, size));
+        } catch (InvalidCursorException e) {
+            log.warn("Rejected species scroll request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Failed to scroll species: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 }
\ No newline at end of file
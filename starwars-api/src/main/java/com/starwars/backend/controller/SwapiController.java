@@ -1,12 +1,21 @@
 package com.starwars.backend.controller;
 
-import com.starwars.backend.integration.SwapiSyncService;
+import com.starwars.backend.dto.SyncJobResponse;
+import com.starwars.backend.exception.SyncJobConflictException;
+import com.starwars.backend.integration.SyncJob;
+import com.starwars.backend.integration.SyncJobManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
 
 @RestController
 @RequiredArgsConstructor
@@ -14,16 +23,48 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 public class SwapiController {
 
-    private final SwapiSyncService swapiSyncService;
+    private final SyncJobManager syncJobManager;
 
     @PostMapping("/resync")
-    public ResponseEntity<Void> manualResync() {
+    public ResponseEntity<SyncJobResponse> manualResync() {
         try {
-            swapiSyncService.syncAllData();
-            return ResponseEntity.ok().build();
+            SyncJob job = syncJobManager.submit();
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{id}")
+                    .buildAndExpand(job.getId())
+                    .toUri();
+            return ResponseEntity.accepted().location(location).body(job.toResponse());
+        } catch (SyncJobConflictException e) {
+            log.warn("SWAPI manual resync rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
-            log.error("SWAPI manual resync failed: {}", e.getMessage(), e);
+            log.error("SWAPI manual resync failed to start: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    @PostMapping("/snapshot")
+    public ResponseEntity<SyncJobResponse> refreshSnapshot() {
+        try {
+            SyncJob job = syncJobManager.submitSnapshotRefresh();
+            URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/swapi/resync/{id}")
+                    .buildAndExpand(job.getId())
+                    .toUri();
+            return ResponseEntity.accepted().location(location).body(job.toResponse());
+        } catch (SyncJobConflictException e) {
+            log.warn("SWAPI snapshot refresh rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            log.error("SWAPI snapshot refresh failed to start: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/resync/{id}")
+    public ResponseEntity<SyncJobResponse> getResync(@PathVariable String id) {
+        return syncJobManager.find(id)
+                .map(job -> ResponseEntity.ok(job.toResponse()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
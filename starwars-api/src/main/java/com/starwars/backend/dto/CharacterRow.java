@@ -0,0 +1,21 @@
+package com.starwars.backend.dto;
+
+import java.time.OffsetDateTime;
+
+public record CharacterRow(
+        Long id,
+        String name,
+        String birthYear,
+        String gender,
+        String height,
+        String mass,
+        String hairColor,
+        String skinColor,
+        String eyeColor,
+        Long homeworldId,
+        String homeworld,
+        OffsetDateTime created,
+        OffsetDateTime edited,
+        String url
+) {
+}
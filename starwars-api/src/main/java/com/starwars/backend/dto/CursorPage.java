@@ -0,0 +1,22 @@
+package com.starwars.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a keyset-paginated list. {@code next} is the opaque cursor for the
+ * following slice and is {@code null} on the last one.
+ */
+public record CursorPage<T>(List<T> content, int size, String next) {
+
+    @JsonProperty
+    public boolean last() {
+        return next == null;
+    }
+
+    public <U> CursorPage<U> withContent(Function<List<T>, List<U>> mapper) {
+        return new CursorPage<>(mapper.apply(content), size, next);
+    }
+}
@@ -0,0 +1,25 @@
+package com.starwars.backend.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record FilmRow(
+        Long id,
+        String title,
+        Integer episodeId,
+        String openingCrawl,
+        String director,
+        String producer,
+        OffsetDateTime releaseDate,
+        OffsetDateTime created,
+        OffsetDateTime edited,
+        String url
+) {
+
+    public FilmDTO toDto(List<String> characters, List<String> planets, List<String> starships,
+                         List<String> vehicles, List<String> species) {
+        return new FilmDTO(title, episodeId, openingCrawl, director, producer,
+                releaseDate != null ? releaseDate.toLocalDate().toString() : null,
+                characters, planets, starships, vehicles, species, created, edited, url);
+    }
+}
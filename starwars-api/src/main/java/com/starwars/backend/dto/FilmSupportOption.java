@@ -0,0 +1,4 @@
+package com.starwars.backend.dto;
+
+public record FilmSupportOption(Long id, String title) {
+}
@@ -0,0 +1,26 @@
+package com.starwars.backend.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record PlanetRow(
+        Long id,
+        String name,
+        String rotationPeriod,
+        String orbitalPeriod,
+        String diameter,
+        String climate,
+        String gravity,
+        String terrain,
+        String surfaceWater,
+        String population,
+        OffsetDateTime created,
+        OffsetDateTime edited,
+        String url
+) {
+
+    public PlanetDTO toDto(List<String> residents, List<String> films) {
+        return new PlanetDTO(name, rotationPeriod, orbitalPeriod, diameter, climate, gravity, terrain,
+                surfaceWater, population, residents, films, created, edited, url);
+    }
+}
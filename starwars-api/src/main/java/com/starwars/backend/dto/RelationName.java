@@ -0,0 +1,4 @@
+package com.starwars.backend.dto;
+
+public record RelationName(Long ownerId, Long id, String name) {
+}
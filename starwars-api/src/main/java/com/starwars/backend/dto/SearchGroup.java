@@ -0,0 +1,6 @@
+package com.starwars.backend.dto;
+
+import java.util.List;
+
+public record SearchGroup(String type, int total, List<SearchHit> hits) {
+}
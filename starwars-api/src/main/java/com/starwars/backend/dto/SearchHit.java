@@ -0,0 +1,4 @@
+package com.starwars.backend.dto;
+
+public record SearchHit(Long id, String name, int score) {
+}
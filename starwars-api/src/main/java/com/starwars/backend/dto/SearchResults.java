@@ -0,0 +1,6 @@
+package com.starwars.backend.dto;
+
+import java.util.List;
+
+public record SearchResults(String query, int total, List<SearchGroup> groups) {
+}
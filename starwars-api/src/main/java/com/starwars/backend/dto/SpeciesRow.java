@@ -0,0 +1,26 @@
+package com.starwars.backend.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record SpeciesRow(
+        Long id,
+        String name,
+        String classification,
+        String designation,
+        String averageHeight,
+        String skinColors,
+        String hairColors,
+        String eyeColors,
+        String averageLifespan,
+        String language,
+        OffsetDateTime created,
+        OffsetDateTime edited,
+        String url
+) {
+
+    public SpeciesDTO toDto(List<String> people, List<String> films, String homeworld) {
+        return new SpeciesDTO(name, classification, designation, averageHeight, skinColors, hairColors,
+                eyeColors, averageLifespan, language, people, films, created, edited, url, homeworld);
+    }
+}
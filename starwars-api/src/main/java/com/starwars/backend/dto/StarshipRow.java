@@ -0,0 +1,31 @@
+package com.starwars.backend.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record StarshipRow(
+        Long id,
+        String name,
+        String model,
+        String manufacturer,
+        String costInCredits,
+        String length,
+        String maxAtmospheringSpeed,
+        String crew,
+        String passengers,
+        String cargoCapacity,
+        String consumables,
+        String hyperdriveRating,
+        String mglt,
+        String starshipClass,
+        OffsetDateTime created,
+        OffsetDateTime edited,
+        String url
+) {
+
+    public StarshipDTO toDto(List<String> pilots, List<String> films) {
+        return new StarshipDTO(name, model, manufacturer, costInCredits, length, maxAtmospheringSpeed, crew,
+                passengers, cargoCapacity, consumables, hyperdriveRating, mglt, starshipClass,
+                pilots, films, created, edited, url);
+    }
+}
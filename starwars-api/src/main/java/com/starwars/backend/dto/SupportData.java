@@ -0,0 +1,12 @@
+package com.starwars.backend.dto;
+
+import java.util.List;
+
+public record SupportData(
+        List<FilmSupportOption> films,
+        List<SupportOption> species,
+        List<SupportOption> vehicles,
+        List<SupportOption> starships,
+        List<SupportOption> planets
+) {
+}
@@ -0,0 +1,4 @@
+package com.starwars.backend.dto;
+
+public record SupportOption(Long id, String name) {
+}
@@ -0,0 +1,41 @@
+package com.starwars.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A SWAPI person as read by the sync, limited to the fields the sync stores. Vehicles and
+ * starships are owned by the other side and skipped.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SwapiCharacter(
+        String name,
+
+        @JsonProperty("birth_year")
+        String birthYear,
+
+        String gender,
+        String height,
+        String mass,
+
+        @JsonProperty("hair_color")
+        String hairColor,
+
+        @JsonProperty("skin_color")
+        String skinColor,
+
+        @JsonProperty("eye_color")
+        String eyeColor,
+
+        @JsonDeserialize(using = SwapiIds.IdDeserializer.class)
+        Integer homeworld,
+
+        SwapiIds films,
+        SwapiIds species,
+        OffsetDateTime created,
+        OffsetDateTime edited,
+        String url
+) {}
@@ -0,0 +1,32 @@
+package com.starwars.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A SWAPI film as read by the sync, limited to the fields the sync stores. Characters,
+ * starships, vehicles and species are owned by the other side and skipped.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SwapiFilm(
+        String title,
+
+        @JsonProperty("episode_id")
+        Integer episodeId,
+
+        @JsonProperty("opening_crawl")
+        String openingCrawl,
+
+        String director,
+        String producer,
+
+        @JsonProperty("release_date")
+        String releaseDate,
+
+        SwapiIds planets,
+        OffsetDateTime created,
+        OffsetDateTime edited,
+        String url
+) {}
@@ -0,0 +1,129 @@
+package com.starwars.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.starwars.backend.Utils;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Swapi ids of a relation list, read straight from the JSON array of SWAPI urls. Each url
+ * is parsed from the parser's character buffer as its token is read, so no url strings or
+ * boxed ids are created. Urls without an id are kept as {@link Utils#NO_SWAPI_ID} so the
+ * relation still counts as unresolved.
+ */
+@JsonDeserialize(using = SwapiIds.Deserializer.class)
+public final class SwapiIds {
+
+    public static final SwapiIds EMPTY = new SwapiIds(new int[0]);
+
+    private final int[] ids;
+
+    private SwapiIds(int[] ids) {
+        this.ids = ids;
+    }
+
+    public static SwapiIds of(int... ids) {
+        return ids.length == 0 ? EMPTY : new SwapiIds(ids.clone());
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int get(int index) {
+        return ids[index];
+    }
+
+    @JsonValue
+    public int[] toArray() {
+        return ids.clone();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof SwapiIds that && Arrays.equals(ids, that.ids);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ids);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(ids);
+    }
+
+    /**
+     * Reads one SWAPI url or id token; a blank url means no relation. Accepts the plain
+     * numbers written back by {@link #toArray()} as well.
+     */
+    static int readId(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT -> parser.getIntValue();
+            case VALUE_STRING -> Utils.parseSwapiId(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            default -> {
+                parser.skipChildren();
+                yield Utils.NO_SWAPI_ID;
+            }
+        };
+    }
+
+    static boolean isBlank(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return false;
+        }
+        char[] chars = parser.getTextCharacters();
+        int end = parser.getTextOffset() + parser.getTextLength();
+        for (int i = parser.getTextOffset(); i < end; i++) {
+            if (!Character.isWhitespace(chars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static final class Deserializer extends StdDeserializer<SwapiIds> {
+
+        public Deserializer() {
+            super(SwapiIds.class);
+        }
+
+        @Override
+        public SwapiIds deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (SwapiIds) context.handleUnexpectedToken(SwapiIds.class, parser);
+            }
+            int[] ids = new int[8];
+            int size = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                ids[size++] = readId(parser);
+            }
+            return size == 0 ? EMPTY : new SwapiIds(size == ids.length ? ids : Arrays.copyOf(ids, size));
+        }
+    }
+
+    /**
+     * Reads a single SWAPI url as its swapi id, or {@code null} when the url is blank.
+     */
+    public static final class IdDeserializer extends StdDeserializer<Integer> {
+
+        public IdDeserializer() {
+            super(Integer.class);
+        }
+
+        @Override
+        public Integer deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return isBlank(parser) ? null : readId(parser);
+        }
+    }
+}
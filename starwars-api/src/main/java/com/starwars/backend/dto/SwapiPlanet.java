@@ -0,0 +1,33 @@
+package com.starwars.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A SWAPI planet as read by the sync, limited to the fields the sync stores.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SwapiPlanet(
+        String name,
+
+        @JsonProperty("rotation_period")
+        String rotationPeriod,
+
+        @JsonProperty("orbital_period")
+        String orbitalPeriod,
+
+        String diameter,
+        String climate,
+        String gravity,
+        String terrain,
+
+        @JsonProperty("surface_water")
+        String surfaceWater,
+
+        String population,
+        OffsetDateTime created,
+        OffsetDateTime edited,
+        String url
+) {}
@@ -2,6 +2,10 @@ package com.starwars.backend.dto;
 
 import java.util.List;
 
+/**
+ * One SWAPI list page. {@code results} is read whole: pages hold at most ten records, and
+ * pages prefetched in parallel are buffered anyway so they can be handed on in order.
+ */
 public record SwapiResponse<T>(
         int count,
         String next,
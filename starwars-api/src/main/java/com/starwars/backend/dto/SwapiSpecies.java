@@ -0,0 +1,39 @@
+package com.starwars.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A SWAPI species as read by the sync, limited to the fields the sync stores. People are
+ * owned by the character side and skipped.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SwapiSpecies(
+        String name,
+        String classification,
+        String designation,
+
+        @JsonProperty("average_height")
+        String averageHeight,
+
+        @JsonProperty("skin_colors")
+        String skinColors,
+
+        @JsonProperty("hair_colors")
+        String hairColors,
+
+        @JsonProperty("eye_colors")
+        String eyeColors,
+
+        @JsonProperty("average_lifespan")
+        String averageLifespan,
+
+        String language,
+        SwapiIds films,
+        OffsetDateTime created,
+        OffsetDateTime edited,
+        String url,
+        String homeworld
+) {}
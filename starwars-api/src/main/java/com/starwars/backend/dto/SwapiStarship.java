@@ -0,0 +1,47 @@
+package com.starwars.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A SWAPI starship as read by the sync, limited to the fields the sync stores.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SwapiStarship(
+        String name,
+        String model,
+        String manufacturer,
+
+        @JsonProperty("cost_in_credits")
+        String costInCredits,
+
+        String length,
+
+        @JsonProperty("max_atmosphering_speed")
+        String maxAtmospheringSpeed,
+
+        String crew,
+        String passengers,
+
+        @JsonProperty("cargo_capacity")
+        String cargoCapacity,
+
+        String consumables,
+
+        @JsonProperty("hyperdrive_rating")
+        String hyperdriveRating,
+
+        @JsonProperty("MGLT")
+        String mglt,
+
+        @JsonProperty("starship_class")
+        String starshipClass,
+
+        SwapiIds pilots,
+        SwapiIds films,
+        OffsetDateTime created,
+        OffsetDateTime edited,
+        String url
+) {}
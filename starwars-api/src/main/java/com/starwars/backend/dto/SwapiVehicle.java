@@ -0,0 +1,40 @@
+package com.starwars.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A SWAPI vehicle as read by the sync, limited to the fields the sync stores.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SwapiVehicle(
+        String name,
+        String model,
+        String manufacturer,
+
+        @JsonProperty("cost_in_credits")
+        String costInCredits,
+
+        @JsonProperty("vehicle_class")
+        String vehicleClass,
+
+        String length,
+
+        @JsonProperty("max_atmosphering_speed")
+        String maxAtmospheringSpeed,
+
+        String crew,
+        String passengers,
+
+        @JsonProperty("cargo_capacity")
+        String cargoCapacity,
+
+        String consumables,
+        SwapiIds pilots,
+        SwapiIds films,
+        OffsetDateTime created,
+        OffsetDateTime edited,
+        String url
+) {}
@@ -0,0 +1,31 @@
+package com.starwars.backend.dto;
+
+public record SyncChanges(
+        int created,
+        int changed,
+        int unchanged,
+        int relations
+) {
+
+    public static final SyncChanges NONE = new SyncChanges(0, 0, 0);
+    public static final SyncChanges CREATED = new SyncChanges(1, 0, 0);
+    public static final SyncChanges CHANGED = new SyncChanges(0, 1, 0);
+    public static final SyncChanges UNCHANGED = new SyncChanges(0, 0, 1);
+
+    public SyncChanges(int created, int changed, int unchanged) {
+        this(created, changed, unchanged, 0);
+    }
+
+    public SyncChanges withRelations(int relations) {
+        return new SyncChanges(created, changed, unchanged, relations);
+    }
+
+    public SyncChanges plus(SyncChanges other) {
+        return new SyncChanges(created + other.created, changed + other.changed, unchanged + other.unchanged,
+                relations + other.relations);
+    }
+
+    public int written() {
+        return created + changed;
+    }
+}
@@ -0,0 +1,30 @@
+package com.starwars.backend.dto;
+
+import com.starwars.backend.integration.SwapiResource;
+import com.starwars.backend.integration.SyncJob;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+public record SyncJobResponse(
+        String id,
+        SyncJob.Kind kind,
+        SyncJob.State state,
+        OffsetDateTime startedAt,
+        OffsetDateTime finishedAt,
+        long elapsedMs,
+        String error,
+        Map<SwapiResource, ResourceProgress> resources
+) {
+
+    public record ResourceProgress(
+            int pagesFetched,
+            int recordsFetched,
+            int recordsWritten,
+            int recordsUnchanged,
+            boolean completed,
+            long elapsedMs,
+            List<String> errors
+    ) {}
+}
@@ -0,0 +1,31 @@
+package com.starwars.backend.dto;
+
+import com.starwars.backend.integration.SwapiResource;
+
+import java.time.Duration;
+import java.util.Map;
+
+public record SyncReport(
+        Duration total,
+        Map<SwapiResource, StageReport> stages
+) {
+
+    public record StageReport(
+            int records,
+            SyncChanges changes,
+            Duration fetch,
+            Duration persist
+    ) {}
+
+    public int written() {
+        return stages.values().stream()
+                .mapToInt(stage -> stage.changes().written())
+                .sum();
+    }
+
+    public Duration sequentialEstimate() {
+        return stages.values().stream()
+                .map(stage -> stage.fetch().plus(stage.persist()))
+                .reduce(Duration.ZERO, Duration::plus);
+    }
+}
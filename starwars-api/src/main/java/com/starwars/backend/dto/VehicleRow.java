@@ -0,0 +1,28 @@
+package com.starwars.backend.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record VehicleRow(
+        Long id,
+        String name,
+        String model,
+        String manufacturer,
+        String costInCredits,
+        String vehicleClass,
+        String length,
+        String maxAtmospheringSpeed,
+        String crew,
+        String passengers,
+        String cargoCapacity,
+        String consumables,
+        OffsetDateTime created,
+        OffsetDateTime edited,
+        String url
+) {
+
+    public VehicleDTO toDto(List<String> pilots, List<String> films) {
+        return new VehicleDTO(name, model, manufacturer, costInCredits, vehicleClass, length, maxAtmospheringSpeed,
+                crew, passengers, cargoCapacity, consumables, pilots, films, created, edited, url);
+    }
+}
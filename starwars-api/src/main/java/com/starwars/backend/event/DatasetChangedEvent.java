@@ -0,0 +1,43 @@
+package com.starwars.backend.event;
+
+import com.starwars.backend.integration.SwapiResource;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Published whenever SWAPI data in the database may have changed, either by a sync
+ * stage that committed new or changed rows, or by a character mutation. Listeners drop
+ * anything derived from the old data; {@code resources} names the types whose rows
+ * changed, for listeners that can refresh per type, and {@code row} describes the single
+ * row a mutation touched, for listeners that can patch in place. It is {@code null} for
+ * bulk changes.
+ */
+public record DatasetChangedEvent(String source, Set<SwapiResource> resources, Row row) {
+
+    /**
+     * One saved or deleted row; {@code name} is {@code null} when the row was deleted.
+     */
+    public record Row(SwapiResource resource, long id, String name) {
+
+        public boolean deleted() {
+            return name == null;
+        }
+    }
+
+    public DatasetChangedEvent(String source) {
+        this(source, EnumSet.allOf(SwapiResource.class));
+    }
+
+    public DatasetChangedEvent(String source, Set<SwapiResource> resources) {
+        this(source, resources, null);
+    }
+
+    public static DatasetChangedEvent rowSaved(String source, SwapiResource resource, long id, String name) {
+        return new DatasetChangedEvent(source, EnumSet.of(resource), new Row(resource, id, name));
+    }
+
+    public static DatasetChangedEvent rowDeleted(String source, SwapiResource resource, long id) {
+        return new DatasetChangedEvent(source, EnumSet.of(resource), new Row(resource, id, null));
+    }
+}
@@ -1,6 +1,10 @@
 package com.starwars.backend.exception;
 
 public class SwapiSyncException extends RuntimeException {
+    public SwapiSyncException(String message) {
+        super(message);
+    }
+
     public SwapiSyncException(String message, Throwable cause) {
         super(message, cause);
     }
@@ -0,0 +1,7 @@
+package com.starwars.backend.exception;
+
+public class SwapiUnavailableException extends RuntimeException {
+    public SwapiUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.starwars.backend.exception;
+
+public class SyncJobConflictException extends RuntimeException {
+    public SyncJobConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,117 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.IntObjectMap;
+import com.starwars.backend.Utils;
+import com.starwars.backend.dto.SwapiIds;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Resolves swapi ids to managed entities during a single persist transaction.
+ * Referenced ids are loaded up front in batched {@code IN} queries so relation
+ * mapping never goes back to the database per id.
+ */
+public class SwapiIdIndex<E> {
+
+    static final int QUERY_BATCH_SIZE = 500;
+
+    private final Function<Collection<Integer>, List<E>> loader;
+    private final ToIntFunction<E> swapiIdOf;
+    private final IntObjectMap<E> entities = new IntObjectMap<>();
+
+    public SwapiIdIndex(Function<Collection<Integer>, List<E>> loader, ToIntFunction<E> swapiIdOf) {
+        this.loader = loader;
+        this.swapiIdOf = swapiIdOf;
+    }
+
+    public <D> SwapiIdIndex<E> loadReference(Collection<D> dtos, Function<D, String> url) {
+        Set<Integer> ids = new TreeSet<>();
+        for (D dto : dtos) {
+            addId(ids, Utils.parseSwapiId(url.apply(dto)));
+        }
+        return load(ids);
+    }
+
+    public <D> SwapiIdIndex<E> loadId(Collection<D> dtos, Function<D, Integer> id) {
+        Set<Integer> ids = new TreeSet<>();
+        for (D dto : dtos) {
+            Integer swapiId = id.apply(dto);
+            if (swapiId != null) {
+                addId(ids, swapiId);
+            }
+        }
+        return load(ids);
+    }
+
+    public <D> SwapiIdIndex<E> loadIds(Collection<D> dtos, Function<D, SwapiIds> relation) {
+        Set<Integer> ids = new TreeSet<>();
+        for (D dto : dtos) {
+            SwapiIds references = relation.apply(dto);
+            if (references != null) {
+                for (int i = 0; i < references.size(); i++) {
+                    addId(ids, references.get(i));
+                }
+            }
+        }
+        return load(ids);
+    }
+
+    public E get(int swapiId) {
+        return swapiId == Utils.NO_SWAPI_ID ? null : entities.get(swapiId);
+    }
+
+    public Set<E> resolveAll(SwapiIds ids) {
+        Set<E> resolved = new HashSet<>();
+        if (ids != null) {
+            for (int i = 0; i < ids.size(); i++) {
+                E entity = get(ids.get(i));
+                if (entity != null) {
+                    resolved.add(entity);
+                }
+            }
+        }
+        return resolved;
+    }
+
+    public static boolean allResolved(Set<?> resolved, SwapiIds ids) {
+        return resolved.size() == (ids == null ? 0 : ids.size());
+    }
+
+    public int size() {
+        return entities.size();
+    }
+
+    private void addId(Set<Integer> ids, int swapiId) {
+        if (swapiId != Utils.NO_SWAPI_ID && !entities.containsKey(swapiId)) {
+            ids.add(swapiId);
+        }
+    }
+
+    private SwapiIdIndex<E> load(Set<Integer> ids) {
+        List<Integer> batch = new ArrayList<>(Math.min(ids.size(), QUERY_BATCH_SIZE));
+        for (Integer id : ids) {
+            batch.add(id);
+            if (batch.size() == QUERY_BATCH_SIZE) {
+                put(loader.apply(batch));
+                batch = new ArrayList<>(QUERY_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            put(loader.apply(batch));
+        }
+        return this;
+    }
+
+    private void put(List<E> loaded) {
+        for (E entity : loaded) {
+            entities.put(swapiIdOf.applyAsInt(entity), entity);
+        }
+    }
+}
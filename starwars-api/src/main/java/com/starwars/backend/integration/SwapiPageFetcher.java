@@ -0,0 +1,175 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.dto.SwapiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+@Component
+@Slf4j
+public class SwapiPageFetcher {
+
+    private static final String PAGE_PARAM = "page";
+
+    private final RestTemplate restTemplate;
+    private final int maxInFlight;
+    private final SyncStatus syncStatus;
+    private final SyncMetrics syncMetrics;
+    private final SwapiResilience resilience;
+
+    public SwapiPageFetcher(RestTemplate restTemplate,
+                            @Value("${swapi.fetch.max-in-flight:4}") int maxInFlight,
+                            SyncStatus syncStatus,
+                            SyncMetrics syncMetrics,
+                            SwapiResilience resilience) {
+        this.restTemplate = restTemplate;
+        this.maxInFlight = maxInFlight;
+        this.syncStatus = syncStatus;
+        this.syncMetrics = syncMetrics;
+        this.resilience = resilience;
+    }
+
+    public <T> List<T> fetchAll(SwapiResource resource, String url,
+                                ParameterizedTypeReference<SwapiResponse<T>> type) {
+        List<T> records = new ArrayList<>();
+        fetchPages(resource, url, type, records::addAll);
+        return records;
+    }
+
+    public <T> void fetchPages(SwapiResource resource, String url,
+                               ParameterizedTypeReference<SwapiResponse<T>> type,
+                               Consumer<List<T>> pageConsumer) {
+        SwapiPageIterator<T> pages = new SwapiPageIterator<>(url, pageUrl -> fetchPage(resource, pageUrl, type));
+        Consumer<List<T>> tracked = records -> {
+            syncStatus.pageFetched(resource, records.size());
+            syncMetrics.pageFetched(resource);
+            pageConsumer.accept(records);
+        };
+        SwapiResponse<T> first = nextPage(resource, pages, tracked);
+        if (first == null) {
+            return;
+        }
+
+        List<String> remaining = remainingPageUrls(first);
+        if (!remaining.isEmpty()) {
+            String next = prefetch(resource, remaining, type, tracked);
+            pages = new SwapiPageIterator<>(next, pageUrl -> fetchPage(resource, pageUrl, type));
+        }
+
+        while (pages.hasNext()) {
+            if (nextPage(resource, pages, tracked) == null) {
+                return;
+            }
+        }
+    }
+
+    private <T> SwapiResponse<T> nextPage(SwapiResource resource, SwapiPageIterator<T> pages,
+                                          Consumer<List<T>> pageConsumer) {
+        SwapiResponse<T> page;
+        try {
+            page = pages.next();
+        } catch (Exception e) {
+            log.error("Error fetching {} from SWAPI at URL {}: {}", resource, pages.currentUrl(), e.getMessage(), e);
+            syncStatus.fetchFailed(resource, pages.currentUrl() + ": " + e.getMessage());
+            syncMetrics.fetchFailed(resource);
+            return null;
+        }
+        return accept(pages.currentUrl(), page, pageConsumer) ? page : null;
+    }
+
+    private <T> String prefetch(SwapiResource resource, List<String> urls,
+                                ParameterizedTypeReference<SwapiResponse<T>> type,
+                                Consumer<List<T>> pageConsumer) {
+        log.debug("Prefetching {} {} pages with up to {} requests in flight", urls.size(), resource, maxInFlight);
+        Semaphore inFlight = new Semaphore(maxInFlight, true);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<SwapiResponse<T>>> pages = new ArrayList<>(urls.size());
+            for (String pageUrl : urls) {
+                pages.add(executor.submit(() -> {
+                    inFlight.acquire();
+                    try {
+                        return fetchPage(resource, pageUrl, type);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            String next = null;
+            for (int i = 0; i < pages.size(); i++) {
+                String pageUrl = urls.get(i);
+                try {
+                    SwapiResponse<T> page = pages.get(i).get();
+                    if (!accept(pageUrl, page, pageConsumer)) {
+                        return cancel(pages, i);
+                    }
+                    next = page.next();
+                } catch (ExecutionException e) {
+                    log.error("Error fetching {} from SWAPI at URL {}: {}",
+                            resource, pageUrl, e.getCause().getMessage(), e.getCause());
+                    syncStatus.fetchFailed(resource, pageUrl + ": " + e.getCause().getMessage());
+                    syncMetrics.fetchFailed(resource);
+                    return cancel(pages, i);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return cancel(pages, i);
+                }
+            }
+            return next;
+        }
+    }
+
+    private <T> SwapiResponse<T> fetchPage(SwapiResource resource, String url,
+                                           ParameterizedTypeReference<SwapiResponse<T>> type) {
+        return resilience.call(resource, () -> syncMetrics.timeRequest(resource,
+                () -> restTemplate.exchange(url, HttpMethod.GET, HttpEntity.EMPTY, type).getBody()));
+    }
+
+    private <T> boolean accept(String url, SwapiResponse<T> page, Consumer<List<T>> pageConsumer) {
+        if (page == null || page.results() == null) {
+            log.warn("Response received without 'results' field at URL: {}", url);
+            return false;
+        }
+        pageConsumer.accept(page.results());
+        return true;
+    }
+
+    private List<String> remainingPageUrls(SwapiResponse<?> first) {
+        int pageSize = first.results().size();
+        if (first.next() == null || pageSize == 0) {
+            return List.of();
+        }
+
+        UriComponentsBuilder template = UriComponentsBuilder.fromUriString(first.next());
+        if (!template.build().getQueryParams().containsKey(PAGE_PARAM)) {
+            return List.of();
+        }
+
+        int totalPages = (first.count() + pageSize - 1) / pageSize;
+        List<String> urls = new ArrayList<>(Math.max(totalPages - 1, 0));
+        for (int page = 2; page <= totalPages; page++) {
+            urls.add(template.replaceQueryParam(PAGE_PARAM, page).toUriString());
+        }
+        return urls;
+    }
+
+    private String cancel(List<? extends Future<?>> pages, int from) {
+        pages.subList(from, pages.size()).forEach(page -> page.cancel(true));
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.dto.SwapiResponse;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+public class SwapiPageIterator<T> implements Iterator<SwapiResponse<T>> {
+
+    private final Function<String, SwapiResponse<T>> pageLoader;
+    private String nextUrl;
+    private String currentUrl;
+
+    public SwapiPageIterator(String url, Function<String, SwapiResponse<T>> pageLoader) {
+        this.nextUrl = url;
+        this.pageLoader = pageLoader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextUrl != null;
+    }
+
+    @Override
+    public SwapiResponse<T> next() {
+        if (nextUrl == null) {
+            throw new NoSuchElementException("No more SWAPI pages");
+        }
+        currentUrl = nextUrl;
+        nextUrl = null;
+
+        SwapiResponse<T> page = pageLoader.apply(currentUrl);
+        if (page != null && page.results() != null) {
+            nextUrl = page.next();
+        }
+        return page;
+    }
+
+    public String currentUrl() {
+        return currentUrl;
+    }
+}
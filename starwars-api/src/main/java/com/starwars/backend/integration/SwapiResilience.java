@@ -0,0 +1,218 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.exception.SwapiUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Retries SWAPI requests that failed transiently (I/O errors, 5xx, 429) with full-jitter
+ * exponential backoff, honouring {@code Retry-After} when the upstream sends one. A shared
+ * circuit breaker opens after {@code swapi.circuit.failure-threshold} consecutive failures
+ * and rejects requests until {@code swapi.circuit.open-duration} has passed, then lets a
+ * single trial request through to decide whether to close again.
+ */
+@Component
+@Slf4j
+public class SwapiResilience {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(Duration duration) throws InterruptedException;
+    }
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final SyncMetrics syncMetrics;
+    private final Sleeper sleeper;
+    private final LongSupplier clock;
+    private final RandomGenerator random;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    @Autowired
+    public SwapiResilience(@Value("${swapi.retry.max-attempts:4}") int maxAttempts,
+                           @Value("${swapi.retry.initial-backoff:500ms}") Duration initialBackoff,
+                           @Value("${swapi.retry.max-backoff:15s}") Duration maxBackoff,
+                           @Value("${swapi.circuit.failure-threshold:10}") int failureThreshold,
+                           @Value("${swapi.circuit.open-duration:30s}") Duration openDuration,
+                           SyncMetrics syncMetrics) {
+        this(maxAttempts, initialBackoff, maxBackoff, failureThreshold, openDuration, syncMetrics,
+                duration -> Thread.sleep(duration), System::nanoTime, new Random());
+    }
+
+    SwapiResilience(int maxAttempts, Duration initialBackoff, Duration maxBackoff,
+                    int failureThreshold, Duration openDuration, SyncMetrics syncMetrics,
+                    Sleeper sleeper, LongSupplier clock, RandomGenerator random) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+        this.syncMetrics = syncMetrics;
+        this.sleeper = sleeper;
+        this.clock = clock;
+        this.random = random;
+    }
+
+    public <T> T call(SwapiResource resource, Supplier<T> request) {
+        for (int attempt = 1; ; attempt++) {
+            boolean trial = acquirePermission(resource);
+            T response;
+            try {
+                response = request.get();
+            } catch (RuntimeException ex) {
+                if (!isRetryable(ex)) {
+                    release(trial);
+                    throw ex;
+                }
+                recordFailure(trial);
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                Duration delay = backoff(attempt, ex);
+                log.warn("Retrying {} request in {} ms after attempt {}/{} failed: {}",
+                        resource, delay.toMillis(), attempt, maxAttempts, ex.getMessage());
+                syncMetrics.retried(resource);
+                pause(delay, ex);
+                continue;
+            }
+            recordSuccess(trial);
+            return response;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    static boolean isRetryable(RuntimeException ex) {
+        if (ex instanceof ResourceAccessException) {
+            return true;
+        }
+        if (ex instanceof HttpStatusCodeException status) {
+            return status.getStatusCode().is5xxServerError()
+                    || status.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        return false;
+    }
+
+    Duration backoff(int attempt, RuntimeException ex) {
+        Duration retryAfter = retryAfter(ex);
+        if (retryAfter != null) {
+            return retryAfter.toNanos() > maxBackoffNanos ? Duration.ofNanos(maxBackoffNanos) : retryAfter;
+        }
+        int shift = attempt - 1;
+        long ceiling = shift < Long.SIZE - 1 && initialBackoffNanos <= maxBackoffNanos >> shift
+                ? initialBackoffNanos << shift
+                : maxBackoffNanos;
+        return Duration.ofNanos(ceiling == 0 ? 0 : random.nextLong(ceiling + 1));
+    }
+
+    private Duration retryAfter(RuntimeException ex) {
+        if (!(ex instanceof HttpStatusCodeException status) || status.getResponseHeaders() == null) {
+            return null;
+        }
+        String value = status.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                Duration until = Duration.between(ZonedDateTime.now(),
+                        ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+                return until.isNegative() ? Duration.ZERO : until;
+            } catch (DateTimeParseException notDate) {
+                return null;
+            }
+        }
+    }
+
+    private void pause(Duration delay, RuntimeException cause) {
+        try {
+            sleeper.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    private synchronized boolean acquirePermission(SwapiResource resource) {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.CLOSED) {
+            return false;
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        syncMetrics.rejected(resource);
+        throw new SwapiUnavailableException("SWAPI circuit is " + state.name().toLowerCase()
+                + " after " + consecutiveFailures + " consecutive failures");
+    }
+
+    private synchronized void recordSuccess(boolean trial) {
+        consecutiveFailures = 0;
+        if (trial) {
+            trialInFlight = false;
+        }
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    private synchronized void recordFailure(boolean trial) {
+        consecutiveFailures++;
+        if (trial) {
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = clock.getAsLong();
+            transition(State.OPEN);
+        }
+    }
+
+    private synchronized void release(boolean trial) {
+        if (trial) {
+            trialInFlight = false;
+        }
+    }
+
+    private void transition(State next) {
+        if (next == State.OPEN) {
+            log.warn("SWAPI circuit opened after {} consecutive failures, failing fast for {} ms",
+                    consecutiveFailures, Duration.ofNanos(openNanos).toMillis());
+        } else {
+            log.info("SWAPI circuit {}", next.name().toLowerCase().replace('_', '-'));
+        }
+        state = next;
+        syncMetrics.circuitTransition(next);
+    }
+}
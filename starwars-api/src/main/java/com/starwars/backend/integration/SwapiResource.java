@@ -0,0 +1,27 @@
+package com.starwars.backend.integration;
+
+import java.util.Set;
+
+/**
+ * SWAPI resource types in write order. Each type depends on the types its owning-side
+ * relations point to, so persisting in declaration order keeps every relation resolvable.
+ */
+public enum SwapiResource {
+
+    PLANETS,
+    FILMS(PLANETS),
+    SPECIES(FILMS),
+    CHARACTERS(PLANETS, FILMS, SPECIES),
+    STARSHIPS(CHARACTERS, FILMS),
+    VEHICLES(CHARACTERS, FILMS);
+
+    private final Set<SwapiResource> dependencies;
+
+    SwapiResource(SwapiResource... dependencies) {
+        this.dependencies = Set.of(dependencies);
+    }
+
+    public Set<SwapiResource> dependencies() {
+        return dependencies;
+    }
+}
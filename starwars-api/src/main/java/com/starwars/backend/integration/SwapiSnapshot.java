@@ -0,0 +1,193 @@
+package com.starwars.backend.integration;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.starwars.backend.dto.SwapiCharacter;
+import com.starwars.backend.dto.SwapiFilm;
+import com.starwars.backend.dto.SwapiPlanet;
+import com.starwars.backend.dto.SwapiSpecies;
+import com.starwars.backend.dto.SwapiStarship;
+import com.starwars.backend.dto.SwapiVehicle;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and writes offline SWAPI dumps: one (optionally gzipped) JSON object holding a
+ * {@code createdAt} timestamp and an array of SWAPI records per resource type, keyed by
+ * the lower-case resource name. Records are written with the fields the sync stores and
+ * relations as swapi ids; plain SWAPI records with relation urls are read as well.
+ * Records are parsed one at a time from the stream, so the dump is never materialised
+ * as a tree.
+ */
+@Component
+@Slf4j
+public class SwapiSnapshot {
+
+    static final String CREATED_AT = "createdAt";
+
+    private static final Map<SwapiResource, Class<?>> RECORD_TYPES = new EnumMap<>(Map.of(
+            SwapiResource.PLANETS, SwapiPlanet.class,
+            SwapiResource.FILMS, SwapiFilm.class,
+            SwapiResource.SPECIES, SwapiSpecies.class,
+            SwapiResource.CHARACTERS, SwapiCharacter.class,
+            SwapiResource.STARSHIPS, SwapiStarship.class,
+            SwapiResource.VEHICLES, SwapiVehicle.class));
+
+    public record Contents(OffsetDateTime createdAt, Map<SwapiResource, List<?>> records) {
+
+        public List<?> records(SwapiResource resource) {
+            return records.getOrDefault(resource, List.of());
+        }
+
+        public int size() {
+            return records.values().stream().mapToInt(List::size).sum();
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter recordWriter;
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final Path output;
+
+    public SwapiSnapshot(ObjectMapper objectMapper,
+                         ResourceLoader resourceLoader,
+                         @Value("${swapi.snapshot.location:classpath:swapi-snapshot.json.gz}") String location,
+                         @Value("${swapi.snapshot.output:swapi-snapshot.json.gz}") Path output) {
+        this.objectMapper = objectMapper;
+        this.recordWriter = objectMapper.writer().without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+        this.output = output;
+    }
+
+    public Optional<Contents> load() {
+        if (location == null || location.isBlank()) {
+            return Optional.empty();
+        }
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            log.debug("No SWAPI snapshot at {}", location);
+            return Optional.empty();
+        }
+        try (InputStream in = resource.getInputStream()) {
+            Contents contents = read(in);
+            log.info("Read SWAPI snapshot from {} taken at {} with {} records", location, contents.createdAt(), contents.size());
+            return Optional.of(contents);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read SWAPI snapshot " + location, e);
+        }
+    }
+
+    public Contents read(InputStream in) throws IOException {
+        Map<SwapiResource, List<?>> records = new EnumMap<>(SwapiResource.class);
+        OffsetDateTime createdAt = null;
+
+        try (JsonParser parser = objectMapper.createParser(decompress(in))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("SWAPI snapshot must be a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                SwapiResource resource = resourceOf(field);
+                if (CREATED_AT.equals(field)) {
+                    createdAt = parser.getValueAsString() == null ? null : OffsetDateTime.parse(parser.getValueAsString());
+                } else if (resource != null && parser.currentToken() == JsonToken.START_ARRAY) {
+                    records.put(resource, readRecords(parser, objectMapper.readerFor(RECORD_TYPES.get(resource))));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return new Contents(createdAt, records);
+    }
+
+    public Path write(Contents contents) {
+        Path target = output.toAbsolutePath();
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    write(contents, out);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write SWAPI snapshot " + target, e);
+        }
+        log.info("Wrote SWAPI snapshot with {} records to {}", contents.size(), target);
+        return target;
+    }
+
+    void write(Contents contents, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField(CREATED_AT, contents.createdAt() == null ? null : contents.createdAt().toString());
+            for (SwapiResource resource : SwapiResource.values()) {
+                generator.writeArrayFieldStart(resource.name().toLowerCase());
+                for (Object record : contents.records(resource)) {
+                    recordWriter.writeValue(generator, record);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    private static List<Object> readRecords(JsonParser parser, ObjectReader reader) throws IOException {
+        List<Object> records = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            records.add(reader.readValue(parser));
+        }
+        return records;
+    }
+
+    private static SwapiResource resourceOf(String field) {
+        for (SwapiResource resource : SwapiResource.values()) {
+            if (resource.name().equalsIgnoreCase(field)) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    private static InputStream decompress(InputStream in) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(in, 2);
+        byte[] magic = pushback.readNBytes(2);
+        pushback.unread(magic);
+        boolean gzipped = magic.length == 2
+                && (magic[0] & 0xff) == (GZIPInputStream.GZIP_MAGIC & 0xff)
+                && (magic[1] & 0xff) == (GZIPInputStream.GZIP_MAGIC >>> 8);
+        return gzipped ? new GZIPInputStream(pushback) : pushback;
+    }
+}
@@ -0,0 +1,47 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.persisntence.entities.SyncRun;
+import com.starwars.backend.persisntence.repository.PlanetRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Reports the SWAPI sync state. The app is ready as soon as the database holds data;
+ * only a cold database waits for the first sync to finish.
+ */
+@Component
+@RequiredArgsConstructor
+public class SwapiSyncHealthIndicator implements HealthIndicator {
+
+    private final SyncStatus syncStatus;
+    private final PlanetRepository planetRepository;
+
+    @Override
+    public Health health() {
+        SyncStatus.Snapshot snapshot = syncStatus.current();
+        Optional<SyncRun> lastRun = syncStatus.lastRun();
+        boolean hasData = lastRun.isPresent() || planetRepository.count() > 0;
+
+        Health.Builder health;
+        if (hasData) {
+            health = Health.up();
+        } else if (snapshot.phase() == SyncStatus.Phase.FAILED) {
+            health = Health.down();
+        } else {
+            health = Health.outOfService();
+        }
+
+        health.withDetail("phase", snapshot.phase())
+                .withDetail("since", snapshot.since());
+        if (snapshot.error() != null) {
+            health.withDetail("error", snapshot.error());
+        }
+        lastRun.ifPresent(run -> health.withDetail("lastSuccess", run.getFinishedAt())
+                .withDetail("records", run.getRecords()));
+        return health.build();
+    }
+}
@@ -1,35 +1,198 @@
 package com.starwars.backend.integration;
 
+import com.starwars.backend.dto.SyncChanges;
+import com.starwars.backend.dto.SyncReport;
+import com.starwars.backend.event.DatasetChangedEvent;
 import com.starwars.backend.exception.SwapiSyncException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class SwapiSyncService {
 
-    private final SyncPlanetService syncPlanetService;
-    private final SyncCharacterService syncCharactersService;
-    private final SyncFilmService syncFilmService;
-    private final SyncSpeciesService syncSpeciesService;
-    private final SyncStarshipService syncStarshipService;
-    private final SyncVehicleService syncVehicleService;
+    private final Map<SwapiResource, Stage<?>> stages = new EnumMap<>(SwapiResource.class);
+    private final TaskExecutor swapiSyncExecutor;
+    private final SyncStatus syncStatus;
+    private final SyncMetrics syncMetrics;
+    private final SwapiSnapshot swapiSnapshot;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SwapiSyncService(SyncPlanetService syncPlanetService,
+                            SyncCharacterService syncCharactersService,
+                            SyncFilmService syncFilmService,
+                            SyncSpeciesService syncSpeciesService,
+                            SyncStarshipService syncStarshipService,
+                            SyncVehicleService syncVehicleService,
+                            TaskExecutor swapiSyncExecutor,
+                            SyncStatus syncStatus,
+                            SyncMetrics syncMetrics,
+                            SwapiSnapshot swapiSnapshot,
+                            ApplicationEventPublisher eventPublisher) {
+        this.swapiSyncExecutor = swapiSyncExecutor;
+        this.syncStatus = syncStatus;
+        this.syncMetrics = syncMetrics;
+        this.swapiSnapshot = swapiSnapshot;
+        this.eventPublisher = eventPublisher;
+        stages.put(SwapiResource.PLANETS, new Stage<>(syncPlanetService::fetchPlanets, syncPlanetService::persistPlanets));
+        stages.put(SwapiResource.FILMS, new Stage<>(syncFilmService::fetchFilms, syncFilmService::persistFilms));
+        stages.put(SwapiResource.SPECIES, new Stage<>(syncSpeciesService::fetchSpecies, syncSpeciesService::persistSpecies));
+        stages.put(SwapiResource.CHARACTERS, new Stage<>(syncCharactersService::fetchCharacters, syncCharactersService::persistCharacters));
+        stages.put(SwapiResource.STARSHIPS, new Stage<>(syncStarshipService::fetchStarships, syncStarshipService::persistStarships));
+        stages.put(SwapiResource.VEHICLES, new Stage<>(syncVehicleService::fetchVehicles, syncVehicleService::persistVehicles));
+    }
+
+    public SyncReport syncAllData() {
+        return syncAllData(new SyncJob());
+    }
+
+    public SyncReport syncAllData(SyncJob job) {
+        return run(job, SyncJob.Kind.SYNC.label(), this::fetch, null, report -> syncStatus.succeeded(job, report));
+    }
+
+    /**
+     * Writes a previously captured snapshot through the same persist stages as a live sync,
+     * so unchanged records are skipped and relations resolve exactly as they would online.
+     */
+    public SyncReport importSnapshot(SyncJob job, SwapiSnapshot.Contents snapshot) {
+        return run(job, SyncJob.Kind.SNAPSHOT_IMPORT.label(), snapshot::records, null,
+                report -> syncStatus.imported(job, report, snapshot.createdAt()));
+    }
+
+    /**
+     * Runs a live sync and writes everything it fetched as a new snapshot. The snapshot is
+     * only written when every resource was fetched without errors.
+     */
+    public SyncReport refreshSnapshot(SyncJob job) {
+        Map<SwapiResource, List<?>> fetched = new ConcurrentHashMap<>();
+        return run(job, SyncJob.Kind.SNAPSHOT_REFRESH.label(), resource -> {
+            List<?> records = fetch(resource);
+            fetched.put(resource, records);
+            return records;
+        }, () -> {
+            if (job.hasFetchErrors()) {
+                throw new SwapiSyncException("Snapshot not written, some SWAPI pages could not be fetched");
+            }
+            swapiSnapshot.write(new SwapiSnapshot.Contents(job.getStartedAt(), new EnumMap<>(fetched)));
+        }, report -> syncStatus.succeeded(job, report));
+    }
+
+    private SyncReport run(SyncJob job, String label, Function<SwapiResource, List<?>> source, Runnable onPersisted,
+                           Consumer<SyncReport> onSucceeded) {
+        log.info("Starting {} {}...", label, job.getId());
+        syncStatus.started(job);
+        long start = System.nanoTime();
+
+        Map<SwapiResource, CompletableFuture<Void>> persisted = new EnumMap<>(SwapiResource.class);
+        Map<SwapiResource, SyncReport.StageReport> reports = new ConcurrentHashMap<>();
+
+        for (SwapiResource resource : SwapiResource.values()) {
+            persisted.put(resource, schedule(job, label, resource, stages.get(resource), source, persisted, reports));
+        }
 
-    public void syncAllData() {
-        log.info("Starting full SWAPI sync...");
         try {
-            syncPlanetService.syncPlanets();
-            syncCharactersService.syncCharacters();
-            syncFilmService.syncFilms();
-            syncSpeciesService.syncSpecies();
-            syncStarshipService.syncStarships();
-            syncVehicleService.syncVehicles();
-            log.info("SWAPI sync completed.");
-        } catch (Exception ex) {
-            log.error("SWAPI sync failed", ex);
-            throw new SwapiSyncException("An error occurred during SWAPI synchronization", ex);
+            CompletableFuture.allOf(persisted.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException ex) {
+            throw failed(job, label, ex.getCause());
+        }
+
+        SyncReport report = new SyncReport(Duration.ofNanos(System.nanoTime() - start), new EnumMap<>(reports));
+        logReport(label, report);
+        if (onPersisted != null) {
+            try {
+                onPersisted.run();
+            } catch (RuntimeException ex) {
+                throw failed(job, label, ex);
+            }
+        }
+        onSucceeded.accept(report);
+        return report;
+    }
+
+    private SwapiSyncException failed(SyncJob job, String label, Throwable cause) {
+        syncStatus.failed(job, cause);
+        eventPublisher.publishEvent(new DatasetChangedEvent("failed " + label + " " + job.getId()));
+        log.error("{} failed", label, cause);
+        return new SwapiSyncException("An error occurred during SWAPI synchronization", cause);
+    }
+
+    private List<?> fetch(SwapiResource resource) {
+        return stages.get(resource).fetch().get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<Void> schedule(SyncJob job,
+                                                 String label,
+                                                 SwapiResource resource,
+                                                 Stage<T> stage,
+                                                 Function<SwapiResource, List<?>> source,
+                                                 Map<SwapiResource, CompletableFuture<Void>> persisted,
+                                                 Map<SwapiResource, SyncReport.StageReport> reports) {
+        CompletableFuture<Timed<List<T>>> fetched = CompletableFuture.supplyAsync(
+                () -> Timed.of(() -> (List<T>) source.apply(resource)), swapiSyncExecutor);
+
+        CompletableFuture<?>[] prerequisites = resource.dependencies().stream()
+                .map(persisted::get)
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(prerequisites)
+                .thenCombine(fetched, (ignored, records) -> records)
+                .thenAcceptAsync(records -> {
+                    log.info("Persisting {} {} after {} fetched in {} ms",
+                            records.value().size(), resource, resource.dependencies(), records.elapsed().toMillis());
+                    Timed<SyncChanges> written;
+                    try {
+                        written = Timed.of(() -> stage.persist().apply(records.value()));
+                    } catch (RuntimeException ex) {
+                        syncMetrics.persistFailed(resource);
+                        throw ex;
+                    }
+                    SyncReport.StageReport report = new SyncReport.StageReport(
+                            records.value().size(), written.value(), records.elapsed(), written.elapsed());
+                    reports.put(resource, report);
+                    syncStatus.stageCompleted(resource, report);
+                    syncMetrics.stageCompleted(resource, report);
+                    // The stage has committed, so readers may already see its rows; announce them now
+                    // rather than once the whole run ends.
+                    if (written.value().written() > 0) {
+                        eventPublisher.publishEvent(new DatasetChangedEvent(
+                                label + " " + job.getId() + " " + resource, EnumSet.of(resource)));
+                    }
+                }, swapiSyncExecutor);
+    }
+
+    private void logReport(String label, SyncReport report) {
+        StringBuilder summary = new StringBuilder();
+        report.stages().forEach((resource, stage) -> summary.append(String.format(
+                "%n  %-10s records=%4d new=%4d changed=%4d unchanged=%4d relations=%5d fetch=%6d ms persist=%6d ms",
+                resource, stage.records(), stage.changes().created(), stage.changes().changed(),
+                stage.changes().unchanged(), stage.changes().relations(), stage.fetch().toMillis(), stage.persist().toMillis())));
+        log.info("{} completed in {} ms (sequential estimate {} ms):{}",
+                label, report.total().toMillis(), report.sequentialEstimate().toMillis(), summary);
+    }
+
+    private record Stage<T>(Supplier<List<T>> fetch, Function<List<T>, SyncChanges> persist) {}
+
+    private record Timed<T>(T value, Duration elapsed) {
+
+        static <T> Timed<T> of(Supplier<T> action) {
+            long start = System.nanoTime();
+            T value = action.get();
+            return new Timed<>(value, Duration.ofNanos(System.nanoTime() - start));
         }
     }
 }
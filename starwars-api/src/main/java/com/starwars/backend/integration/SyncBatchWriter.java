@@ -0,0 +1,37 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.dto.SyncChanges;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes sync records in chunks of {@code swapi.sync.batch-size}, flushing and clearing
+ * the persistence context after each chunk so Hibernate sends the upserts and join-table
+ * rows as JDBC batches and the context never grows beyond one chunk.
+ */
+@Component
+public class SyncBatchWriter {
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public SyncBatchWriter(EntityManager entityManager,
+                           @Value("${swapi.sync.batch-size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    public <D> SyncChanges write(List<D> records, Function<List<D>, SyncChanges> chunkWriter) {
+        SyncChanges changes = SyncChanges.NONE;
+        for (int from = 0; from < records.size(); from += batchSize) {
+            changes = changes.plus(chunkWriter.apply(records.subList(from, Math.min(from + batchSize, records.size()))));
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,48 @@
+package com.starwars.backend.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.starwars.backend.persisntence.entities.SwapiSyncable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+
+/**
+ * Decides whether an incoming SWAPI record differs from the stored entity by comparing the
+ * {@code edited} timestamp and a SHA-256 hash of the DTO. Disabled with {@code swapi.sync.incremental=false}.
+ */
+@Component
+public class SyncChangeDetector {
+
+    private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final boolean incremental;
+
+    public SyncChangeDetector(@Value("${swapi.sync.incremental:true}") boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public String hash(Object dto) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(CANONICAL_MAPPER.writeValueAsBytes(dto)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to hash SWAPI record " + dto, e);
+        }
+    }
+
+    public boolean isUnchanged(SwapiSyncable stored, OffsetDateTime edited, String contentHash) {
+        return incremental
+                && stored != null
+                && stored.getContentHash() != null
+                && stored.getContentHash().equals(contentHash)
+                && stored.getEdited() != null
+                && edited != null
+                && stored.getEdited().isEqual(edited);
+    }
+}
@@ -1,88 +1,109 @@
 package com.starwars.backend.integration;
 
 import com.starwars.backend.Utils;
-import com.starwars.backend.dto.CharacterDTO;
+import com.starwars.backend.dto.SwapiCharacter;
 import com.starwars.backend.dto.SwapiResponse;
-import com.starwars.backend.persisntence.entities.*;
+import com.starwars.backend.dto.SyncChanges;
 import com.starwars.backend.persisntence.entities.Character;
+import com.starwars.backend.persisntence.entities.Film;
+import com.starwars.backend.persisntence.entities.Planet;
+import com.starwars.backend.persisntence.entities.Species;
 import com.starwars.backend.persisntence.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SyncCharacterService {
 
-    private final RestTemplate restTemplate;
+    private final SwapiPageFetcher swapiPageFetcher;
+    private final SyncBatchWriter syncBatchWriter;
+    private final SyncChangeDetector syncChangeDetector;
     private final CharacterRepository characterRepository;
     private final PlanetRepository planetRepository;
     private final FilmRepository filmRepository;
     private final SpeciesRepository speciesRepository;
-    private final VehicleRepository vehicleRepository;
-    private final StarshipRepository starshipRepository;
 
     @Transactional
     public void syncCharacters() {
-        log.info("Starting character sync from SWAPI...");
-        String url = Utils.URL_PEOPLE;
-
-        boolean errorOccurred = false;
-
-        while (url != null && !errorOccurred) {
-            try {
-                var response = restTemplate.exchange(
-                        url,
-                        HttpMethod.GET,
-                        HttpEntity.EMPTY,
-                        new ParameterizedTypeReference<SwapiResponse<CharacterDTO>>() {}
-                ).getBody();
-
-                var results = response.results();
-
-                if (results != null) {
-                    for (CharacterDTO dto : results) {
-                        Integer swapiId = Utils.extractSwapiId(dto.url());
+        persistCharacters(fetchCharacters());
+    }
 
-                        if (swapiId != null) {
-                            Character character = characterRepository.findBySwapiId(swapiId)
-                                    .orElseGet(Character::new);
+    public List<SwapiCharacter> fetchCharacters() {
+        log.info("Starting character sync from SWAPI...");
+        return swapiPageFetcher.fetchAll(SwapiResource.CHARACTERS, Utils.URL_PEOPLE,
+                new ParameterizedTypeReference<SwapiResponse<SwapiCharacter>>() {});
+    }
 
-                            character.setSwapiId(swapiId);
-                            mapBasicFields(character, dto);
-                            mapRelations(character, dto);
+    @Transactional
+    public SyncChanges persistCharacters(List<SwapiCharacter> characters) {
+        SwapiIdIndex<Planet> planets = new SwapiIdIndex<>(planetRepository::findBySwapiIdIn, Planet::getSwapiId)
+                .loadId(characters, SwapiCharacter::homeworld);
+        SwapiIdIndex<Film> films = new SwapiIdIndex<>(filmRepository::findBySwapiIdIn, Film::getSwapiId)
+                .loadIds(characters, SwapiCharacter::films);
+        SwapiIdIndex<Species> species = new SwapiIdIndex<>(speciesRepository::findBySwapiIdIn, Species::getSwapiId)
+                .loadIds(characters, SwapiCharacter::species);
+
+        SyncChanges changes = syncBatchWriter.write(characters, chunk -> {
+            SwapiIdIndex<Character> existing = new SwapiIdIndex<>(characterRepository::findBySwapiIdIn, Character::getSwapiId)
+                    .loadReference(chunk, SwapiCharacter::url);
+            return chunk.stream()
+                    .map(dto -> processCharacter(dto, existing, planets, films, species))
+                    .reduce(SyncChanges.NONE, SyncChanges::plus);
+        });
+
+        log.info("Character sync completed: {}", changes);
+        return changes;
+    }
 
-                            characterRepository.save(character);
-                            log.info("Character saved/updated (swapiId={})", swapiId);
-                        } else {
-                            log.warn("Skipping character with null swapiId, url: {}", dto.url());
-                        }
-                    }
+    private SyncChanges processCharacter(SwapiCharacter dto, SwapiIdIndex<Character> existing, SwapiIdIndex<Planet> planets,
+                                         SwapiIdIndex<Film> films, SwapiIdIndex<Species> species) {
+        int swapiId = Utils.parseSwapiId(dto.url());
 
-                    url = response.next();
-                } else {
-                    log.warn("Response received without 'results' field at URL: {}", url);
-                    url = null;
-                }
+        if (swapiId == Utils.NO_SWAPI_ID) {
+            log.warn("Skipping character without a swapiId, url: {}", dto.url());
+            return SyncChanges.NONE;
+        }
 
-            } catch (Exception e) {
-                log.error("Error fetching characters from SWAPI at URL {}: {}", url, e.getMessage(), e);
-                errorOccurred = true;
-            }
+        String contentHash = syncChangeDetector.hash(dto);
+        Character character = existing.get(swapiId);
+        if (syncChangeDetector.isUnchanged(character, dto.edited(), contentHash)) {
+            return SyncChanges.UNCHANGED;
         }
 
-        log.info("Character sync completed.");
+        boolean created = character == null;
+        if (created) {
+            character = new Character();
+            character.setSwapiId(swapiId);
+        }
+        mapBasicFields(character, dto);
+        Planet homeworld = dto.homeworld() == null ? null : planets.get(dto.homeworld());
+        if (homeworld != null) character.setHomeworld(homeworld);
+        Set<Film> characterFilms = films.resolveAll(dto.films());
+        character.setFilms(characterFilms);
+        Set<Species> characterSpecies = species.resolveAll(dto.species());
+        character.setSpecies(characterSpecies);
+        boolean resolved = (homeworld != null || dto.homeworld() == null)
+                && SwapiIdIndex.allResolved(characterFilms, dto.films())
+                && SwapiIdIndex.allResolved(characterSpecies, dto.species());
+        character.setContentHash(resolved ? contentHash : null);
+
+        if (created) {
+            characterRepository.save(character);
+        }
+        log.info("Character saved/updated (swapiId={})", swapiId);
+        return (created ? SyncChanges.CREATED : SyncChanges.CHANGED)
+                .withRelations((homeworld != null ? 1 : 0) + characterFilms.size() + characterSpecies.size());
     }
 
-    private void mapBasicFields(Character character, CharacterDTO dto) {
+    private void mapBasicFields(Character character, SwapiCharacter dto) {
         character.setName(dto.name());
         character.setBirthYear(dto.birthYear());
         character.setGender(dto.gender());
@@ -94,93 +115,5 @@ public class SyncCharacterService {
         character.setCreated(dto.created());
         character.setEdited(dto.edited());
         character.setUrl(dto.url());
-
-        if (dto.homeworld() != null && !dto.homeworld().isBlank()) {
-            try {
-                Integer planetId = Utils.extractSwapiId(dto.homeworld());
-                planetRepository.findBySwapiId(planetId).ifPresent(character::setHomeworld);
-            } catch (Exception ex) {
-                log.error("Error mapping homeworld for character '{}': {}", dto.name(), ex.getMessage());
-            }
-        }
-    }
-
-    private void mapRelations(Character character, CharacterDTO dto) {
-        mapFilms(character, dto);
-        mapSpecies(character, dto);
-        mapVehicles(character, dto);
-        mapStarships(character, dto);
-    }
-
-    private void mapFilms(Character character, CharacterDTO dto) {
-        character.getFilms().clear();
-        if (dto.films() != null) {
-            for (String filmUrl : dto.films()) {
-                try {
-                    Integer filmId = Utils.extractSwapiId(filmUrl);
-                    filmRepository.findBySwapiId(filmId).ifPresent(film -> {
-                        character.getFilms().add(film);
-                        film.getCharacters().add(character);
-                        log.debug("Mapped film '{}' to character '{}'", film.getTitle(), character.getName());
-                    });
-                } catch (Exception ex) {
-                    log.error("Error mapping film '{}' to character '{}': {}", filmUrl, character.getName(), ex.getMessage());
-                }
-            }
-        }
-    }
-
-    private void mapSpecies(Character character, CharacterDTO dto) {
-        character.getSpecies().clear();
-        if (dto.species() != null) {
-            for (String speciesUrl : dto.species()) {
-                try {
-                    Integer speciesId = Utils.extractSwapiId(speciesUrl);
-                    speciesRepository.findBySwapiId(speciesId).ifPresent(species -> {
-                        character.getSpecies().add(species);
-                        species.getCharacters().add(character);
-                        log.debug("Mapped species '{}' to character '{}'", species.getName(), character.getName());
-                    });
-                } catch (Exception ex) {
-                    log.error("Error mapping species '{}' to character '{}': {}", speciesUrl, character.getName(), ex.getMessage());
-                }
-            }
-        }
-    }
-
-    private void mapVehicles(Character character, CharacterDTO dto) {
-        character.getVehicles().clear();
-        if (dto.vehicles() != null) {
-            for (String vehicleUrl : dto.vehicles()) {
-                try {
-                    Integer vehicleId = Utils.extractSwapiId(vehicleUrl);
-                    vehicleRepository.findBySwapiId(vehicleId).ifPresent(vehicle -> {
-                        character.getVehicles().add(vehicle);
-                        vehicle.getPilots().add(character);
-                        log.debug("Mapped vehicle '{}' to character '{}'", vehicle.getName(), character.getName());
-                    });
-                } catch (Exception ex) {
-                    log.error("Error mapping vehicle '{}' to character '{}': {}", vehicleUrl, character.getName(), ex.getMessage());
-                }
-            }
-        }
-    }
-
-    private void mapStarships(Character character, CharacterDTO dto) {
-        character.getStarships().clear();
-        if (dto.starships() != null) {
-            for (String starshipUrl : dto.starships()) {
-                try {
-                    Integer starshipId = Utils.extractSwapiId(starshipUrl);
-                    starshipRepository.findBySwapiId(starshipId).ifPresent(starship -> {
-                        character.getStarships().add(starship);
-                        starship.getPilots().add(character);
-                        log.debug("Mapped starship '{}' to character '{}'", starship.getName(), character.getName());
-                    });
-                } catch (Exception ex) {
-                    log.error("Error mapping starship '{}' to character '{}': {}", starshipUrl, character.getName(), ex.getMessage());
-                }
-            }
-        }
     }
 }
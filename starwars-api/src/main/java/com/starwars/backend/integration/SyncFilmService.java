@@ -1,143 +1,98 @@
 package com.starwars.backend.integration;
 
 import com.starwars.backend.Utils;
-import com.starwars.backend.dto.FilmDTO;
+import com.starwars.backend.dto.SwapiFilm;
 import com.starwars.backend.dto.SwapiResponse;
+import com.starwars.backend.dto.SyncChanges;
 import com.starwars.backend.persisntence.entities.Film;
-import com.starwars.backend.persisntence.repository.CharacterRepository;
+import com.starwars.backend.persisntence.entities.Planet;
 import com.starwars.backend.persisntence.repository.FilmRepository;
 import com.starwars.backend.persisntence.repository.PlanetRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SyncFilmService {
 
-    private final RestTemplate restTemplate;
+    private final SwapiPageFetcher swapiPageFetcher;
+    private final SyncBatchWriter syncBatchWriter;
+    private final SyncChangeDetector syncChangeDetector;
     private final FilmRepository filmRepository;
-    private final CharacterRepository characterRepository;
     private final PlanetRepository planetRepository;
 
     @Transactional
     public void syncFilms() {
-        log.info("Starting film sync from SWAPI...");
-        String url = Utils.URL_FILMS;
-
-        while (url != null) {
-            try {
-                List<FilmDTO> results = fetchFilmsFromUrl(url);
-                results.forEach(this::processFilmDTO);
-                url = getNextPageUrl(url);
-            } catch (Exception e) {
-                log.error("Error fetching films from SWAPI at URL {}: {}", url, e.getMessage(), e);
-                url = null;
-            }
-        }
-
-        log.info("Film sync completed.");
+        persistFilms(fetchFilms());
     }
 
-    private List<FilmDTO> fetchFilmsFromUrl(String url) {
-        var response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                HttpEntity.EMPTY,
-                new ParameterizedTypeReference<SwapiResponse<FilmDTO>>() {}
-        ).getBody();
-
-        if (response.results() == null) {
-            log.warn("No results found at URL: {}", url);
-            return List.of();
-        }
-
-        return response.results();
+    public List<SwapiFilm> fetchFilms() {
+        log.info("Starting film sync from SWAPI...");
+        return swapiPageFetcher.fetchAll(SwapiResource.FILMS, Utils.URL_FILMS,
+                new ParameterizedTypeReference<SwapiResponse<SwapiFilm>>() {});
     }
 
-    private String getNextPageUrl(String currentUrl) {
-        var response = restTemplate.exchange(
-                currentUrl,
-                HttpMethod.GET,
-                HttpEntity.EMPTY,
-                new ParameterizedTypeReference<SwapiResponse<FilmDTO>>() {}
-        ).getBody();
-
-        return Optional.of(response)
-                .map(SwapiResponse::next)
-                .orElse(null);
+    @Transactional
+    public SyncChanges persistFilms(List<SwapiFilm> films) {
+        SwapiIdIndex<Planet> planets = new SwapiIdIndex<>(planetRepository::findBySwapiIdIn, Planet::getSwapiId)
+                .loadIds(films, SwapiFilm::planets);
+
+        SyncChanges changes = syncBatchWriter.write(films, chunk -> {
+            SwapiIdIndex<Film> existing = new SwapiIdIndex<>(filmRepository::findBySwapiIdIn, Film::getSwapiId)
+                    .loadReference(chunk, SwapiFilm::url);
+            return chunk.stream()
+                    .map(dto -> processSwapiFilm(dto, existing, planets))
+                    .reduce(SyncChanges.NONE, SyncChanges::plus);
+        });
+        log.info("Film sync completed: {}", changes);
+        return changes;
     }
 
-    private void processFilmDTO(FilmDTO dto) {
-        Integer swapiId = Utils.extractSwapiId(dto.url());
-        if (swapiId == null) {
-            log.warn("Skipping film with null swapiId, url: {}", dto.url());
-            return;
+    private SyncChanges processSwapiFilm(SwapiFilm dto, SwapiIdIndex<Film> existing, SwapiIdIndex<Planet> planets) {
+        int swapiId = Utils.parseSwapiId(dto.url());
+        if (swapiId == Utils.NO_SWAPI_ID) {
+            log.warn("Skipping film without a swapiId, url: {}", dto.url());
+            return SyncChanges.NONE;
         }
 
-        Film film = filmRepository.findBySwapiId(swapiId)
-                .orElseGet(() -> mapToFilmEntity(dto, swapiId));
-
-        film = filmRepository.saveAndFlush(film);
-
-        clearFilmRelations(film);
-        mapCharactersToFilm(film, dto, swapiId);
-        mapPlanetsToFilm(film, dto, swapiId);
-
-        filmRepository.save(film);
-
-        log.info("Film saved/updated (swapiId={})", swapiId);
-    }
-
-
-    private void clearFilmRelations(Film film) {
-        if (film.getCharacters() == null) film.setCharacters(new HashSet<>());
-        else film.getCharacters().clear();
-
-        if (film.getPlanets() == null) film.setPlanets(new HashSet<>());
-        else film.getPlanets().clear();
-    }
+        String contentHash = syncChangeDetector.hash(dto);
+        Film film = existing.get(swapiId);
+        if (syncChangeDetector.isUnchanged(film, dto.edited(), contentHash)) {
+            return SyncChanges.UNCHANGED;
+        }
 
-    private void mapCharactersToFilm(Film film, FilmDTO dto, Integer swapiId) {
-        for (String characterUrl : dto.characters()) {
-            try {
-                Integer charSwapiId = Utils.extractSwapiId(characterUrl);
-                characterRepository.findBySwapiId(charSwapiId).ifPresent(character -> {
-                    film.getCharacters().add(character);
-                    if (character.getFilms() == null) character.setFilms(new HashSet<>());
-                    character.getFilms().add(film);
-                });
-            } catch (Exception ex) {
-                log.error("Error mapping character {} to film {}: {}", characterUrl, swapiId, ex.getMessage());
-            }
+        boolean created = film == null;
+        if (created) {
+            film = Film.builder()
+                    .swapiId(swapiId)
+                    .characters(new HashSet<>())
+                    .planets(new HashSet<>())
+                    .build();
         }
-    }
+        mapFields(film, dto);
+        Set<Planet> filmPlanets = planets.resolveAll(dto.planets());
+        film.setPlanets(filmPlanets);
+        film.setContentHash(SwapiIdIndex.allResolved(filmPlanets, dto.planets()) ? contentHash : null);
 
-    private void mapPlanetsToFilm(Film film, FilmDTO dto, Integer swapiId) {
-        for (String planetUrl : dto.planets()) {
-            try {
-                Integer planetId = Utils.extractSwapiId(planetUrl);
-                planetRepository.findBySwapiId(planetId).ifPresent(planet -> film.getPlanets().add(planet));
-            } catch (Exception ex) {
-                log.error("Error mapping planet {} to film {}: {}", planetUrl, swapiId, ex.getMessage());
-            }
+        if (created) {
+            filmRepository.save(film);
         }
+        log.info("Film saved/updated (swapiId={})", swapiId);
+        return (created ? SyncChanges.CREATED : SyncChanges.CHANGED).withRelations(filmPlanets.size());
     }
 
-    private Film mapToFilmEntity(FilmDTO dto, Integer swapiId) {
+    private void mapFields(Film film, SwapiFilm dto) {
         OffsetDateTime releaseDate = null;
         if (dto.releaseDate() != null) {
             try {
@@ -148,19 +103,14 @@ public class SyncFilmService {
             }
         }
 
-        return Film.builder()
-                .swapiId(swapiId)
-                .title(dto.title())
-                .episodeId(dto.episodeId())
-                .openingCrawl(dto.openingCrawl())
-                .director(dto.director())
-                .producer(dto.producer())
-                .releaseDate(releaseDate)
-                .created(dto.created())
-                .edited(dto.edited())
-                .url(dto.url())
-                .characters(new HashSet<>())
-                .planets(new HashSet<>())
-                .build();
+        film.setTitle(dto.title());
+        film.setEpisodeId(dto.episodeId());
+        film.setOpeningCrawl(dto.openingCrawl());
+        film.setDirector(dto.director());
+        film.setProducer(dto.producer());
+        film.setReleaseDate(releaseDate);
+        film.setCreated(dto.created());
+        film.setEdited(dto.edited());
+        film.setUrl(dto.url());
     }
 }
@@ -0,0 +1,135 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.dto.SyncJobResponse;
+import com.starwars.backend.dto.SyncReport;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one SWAPI sync run. Counters are updated from the fetch and persist
+ * threads while the job runs and read by {@code GET /swapi/resync/{id}}. A run that
+ * persisted everything it fetched but could not fetch some pages ends {@link State#PARTIAL},
+ * with the affected resources in its error.
+ */
+@Getter
+public class SyncJob {
+
+    public enum State { RUNNING, SUCCEEDED, PARTIAL, FAILED }
+
+    public enum Kind {
+        SYNC("SWAPI sync"),
+        SNAPSHOT_IMPORT("SWAPI snapshot import"),
+        SNAPSHOT_REFRESH("SWAPI snapshot refresh");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Kind kind;
+    private final OffsetDateTime startedAt = OffsetDateTime.now();
+    private final long startNanos = System.nanoTime();
+    private final Map<SwapiResource, Progress> resources = new EnumMap<>(SwapiResource.class);
+
+    private volatile State state = State.RUNNING;
+    private volatile OffsetDateTime finishedAt;
+    private volatile Duration elapsed;
+    private volatile String error;
+
+    public SyncJob() {
+        this(Kind.SYNC);
+    }
+
+    public SyncJob(Kind kind) {
+        this.kind = kind;
+        for (SwapiResource resource : SwapiResource.values()) {
+            resources.put(resource, new Progress());
+        }
+    }
+
+    void pageFetched(SwapiResource resource, int records) {
+        Progress progress = resources.get(resource);
+        progress.pages.incrementAndGet();
+        progress.records.addAndGet(records);
+    }
+
+    void fetchFailed(SwapiResource resource, String message) {
+        resources.get(resource).errors.add(message);
+    }
+
+    void stageCompleted(SwapiResource resource, SyncReport.StageReport report) {
+        Progress progress = resources.get(resource);
+        progress.written = report.changes().written();
+        progress.unchanged = report.changes().unchanged();
+        progress.elapsed = report.fetch().plus(report.persist());
+        progress.completed = true;
+    }
+
+    void succeeded() {
+        finish(State.SUCCEEDED, null);
+    }
+
+    void partial() {
+        finish(State.PARTIAL, "Some SWAPI pages could not be fetched: " + failedResources());
+    }
+
+    void failed(Throwable cause) {
+        finish(State.FAILED, cause.getMessage());
+    }
+
+    boolean hasFetchErrors() {
+        return resources.values().stream().anyMatch(progress -> !progress.errors.isEmpty());
+    }
+
+    public boolean isRunning() {
+        return state == State.RUNNING;
+    }
+
+    public SyncJobResponse toResponse() {
+        Map<SwapiResource, SyncJobResponse.ResourceProgress> progress = new EnumMap<>(SwapiResource.class);
+        resources.forEach((resource, p) -> progress.put(resource, new SyncJobResponse.ResourceProgress(
+                p.pages.get(), p.records.get(), p.written, p.unchanged, p.completed,
+                p.elapsed == null ? 0 : p.elapsed.toMillis(), List.copyOf(p.errors))));
+        Duration total = elapsed != null ? elapsed : Duration.ofNanos(System.nanoTime() - startNanos);
+        return new SyncJobResponse(id, kind, state, startedAt, finishedAt, total.toMillis(), error, progress);
+    }
+
+    private List<SwapiResource> failedResources() {
+        return resources.entrySet().stream()
+                .filter(entry -> !entry.getValue().errors.isEmpty())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void finish(State finalState, String message) {
+        elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        finishedAt = OffsetDateTime.now();
+        error = message;
+        state = finalState;
+    }
+
+    private static class Progress {
+        private final AtomicInteger pages = new AtomicInteger();
+        private final AtomicInteger records = new AtomicInteger();
+        private final ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+        private volatile int written;
+        private volatile int unchanged;
+        private volatile Duration elapsed;
+        private volatile boolean completed;
+    }
+}
@@ -0,0 +1,92 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.exception.SyncJobConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Single entry point for running SWAPI syncs, snapshot imports and snapshot refreshes.
+ * At most one runs per process. Submitting while a job of the same kind is running joins
+ * that job; submitting a different kind is rejected, since the running job would not do
+ * what the caller asked for.
+ */
+@Component
+@Slf4j
+public class SyncJobManager {
+
+    private static final int MAX_RETAINED_JOBS = 20;
+
+    private final SwapiSyncService swapiSyncService;
+    private final TaskExecutor applicationTaskExecutor;
+
+    private final Map<String, SyncJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SyncJob> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    };
+    private SyncJob running;
+
+    public SyncJobManager(SwapiSyncService swapiSyncService, TaskExecutor applicationTaskExecutor) {
+        this.swapiSyncService = swapiSyncService;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    public SyncJob submit() {
+        return submit(SyncJob.Kind.SYNC, swapiSyncService::syncAllData);
+    }
+
+    public SyncJob submitSnapshotImport(SwapiSnapshot.Contents snapshot) {
+        return submit(SyncJob.Kind.SNAPSHOT_IMPORT, job -> swapiSyncService.importSnapshot(job, snapshot));
+    }
+
+    public SyncJob submitSnapshotRefresh() {
+        return submit(SyncJob.Kind.SNAPSHOT_REFRESH, swapiSyncService::refreshSnapshot);
+    }
+
+    public synchronized Optional<SyncJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private synchronized SyncJob submit(SyncJob.Kind kind, Consumer<SyncJob> sync) {
+        if (running != null) {
+            if (running.getKind() != kind) {
+                throw new SyncJobConflictException("Cannot start " + kind.label() + ", "
+                        + running.getKind().label() + " " + running.getId() + " is running");
+            }
+            log.info("{} {} already running, joining it", kind.label(), running.getId());
+            return running;
+        }
+
+        SyncJob job = new SyncJob(kind);
+        running = job;
+        jobs.put(job.getId(), job);
+        try {
+            applicationTaskExecutor.execute(() -> run(job, sync));
+        } catch (RuntimeException e) {
+            running = null;
+            job.failed(e);
+            throw e;
+        }
+        log.info("{} {} submitted", kind.label(), job.getId());
+        return job;
+    }
+
+    private void run(SyncJob job, Consumer<SyncJob> sync) {
+        try {
+            sync.accept(job);
+        } catch (Exception e) {
+            log.error("{} {} failed: {}", job.getKind().label(), job.getId(), e.getMessage(), e);
+        } finally {
+            synchronized (this) {
+                running = null;
+            }
+        }
+    }
+}
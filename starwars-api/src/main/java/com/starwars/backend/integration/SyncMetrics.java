@@ -0,0 +1,158 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.dto.SyncChanges;
+import com.starwars.backend.dto.SyncReport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the SWAPI sync pipeline. Every meter is tagged by resource type
+ * and at most one small fixed tag, so the series count stays bounded.
+ */
+@Component
+public class SyncMetrics {
+
+    private final Map<SwapiResource, Meters> meters = new EnumMap<>(SwapiResource.class);
+    private final Map<SwapiResilience.State, Counter> circuitTransitions = new EnumMap<>(SwapiResilience.State.class);
+
+    public SyncMetrics(MeterRegistry registry) {
+        for (SwapiResource resource : SwapiResource.values()) {
+            meters.put(resource, new Meters(registry, resource.name().toLowerCase()));
+        }
+        for (SwapiResilience.State state : SwapiResilience.State.values()) {
+            circuitTransitions.put(state, Counter.builder("swapi.sync.circuit.transitions")
+                    .description("SWAPI circuit breaker state changes, by target state")
+                    .tag("state", state.name().toLowerCase())
+                    .register(registry));
+        }
+    }
+
+    <T> T timeRequest(SwapiResource resource, Supplier<T> request) {
+        Meters m = meters.get(resource);
+        long start = System.nanoTime();
+        try {
+            T response = request.get();
+            m.requestSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return response;
+        } catch (RuntimeException ex) {
+            m.requestError.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    void retried(SwapiResource resource) {
+        meters.get(resource).retries.increment();
+    }
+
+    void rejected(SwapiResource resource) {
+        meters.get(resource).rejections.increment();
+    }
+
+    void circuitTransition(SwapiResilience.State state) {
+        circuitTransitions.get(state).increment();
+    }
+
+    void pageFetched(SwapiResource resource) {
+        meters.get(resource).pages.increment();
+    }
+
+    void fetchFailed(SwapiResource resource) {
+        meters.get(resource).fetchFailures.increment();
+    }
+
+    void persistFailed(SwapiResource resource) {
+        meters.get(resource).persistFailures.increment();
+    }
+
+    void stageCompleted(SwapiResource resource, SyncReport.StageReport report) {
+        Meters m = meters.get(resource);
+        SyncChanges changes = report.changes();
+        m.fetch.record(report.fetch());
+        m.persist.record(report.persist());
+        m.created.increment(changes.created());
+        m.changed.increment(changes.changed());
+        m.unchanged.increment(changes.unchanged());
+        m.relations.increment(changes.relations());
+    }
+
+    private static final class Meters {
+
+        final Timer requestSuccess;
+        final Timer requestError;
+        final Counter retries;
+        final Counter rejections;
+        final Counter pages;
+        final Counter fetchFailures;
+        final Counter persistFailures;
+        final Timer fetch;
+        final Timer persist;
+        final Counter created;
+        final Counter changed;
+        final Counter unchanged;
+        final Counter relations;
+
+        Meters(MeterRegistry registry, String resource) {
+            requestSuccess = request(registry, resource, "success");
+            requestError = request(registry, resource, "error");
+            retries = Counter.builder("swapi.sync.retries")
+                    .description("SWAPI requests retried after a transient failure")
+                    .tag("resource", resource)
+                    .register(registry);
+            rejections = Counter.builder("swapi.sync.rejected")
+                    .description("SWAPI requests rejected by the open circuit breaker")
+                    .tag("resource", resource)
+                    .register(registry);
+            pages = Counter.builder("swapi.sync.pages")
+                    .description("SWAPI pages fetched")
+                    .tag("resource", resource)
+                    .register(registry);
+            fetchFailures = failures(registry, resource, "fetch");
+            persistFailures = failures(registry, resource, "persist");
+            fetch = stage(registry, resource, "fetch");
+            persist = stage(registry, resource, "persist");
+            created = records(registry, resource, "created");
+            changed = records(registry, resource, "changed");
+            unchanged = records(registry, resource, "unchanged");
+            relations = Counter.builder("swapi.sync.relations")
+                    .description("Relation links resolved while writing records")
+                    .tag("resource", resource)
+                    .register(registry);
+        }
+
+        private static Timer request(MeterRegistry registry, String resource, String outcome) {
+            return Timer.builder("swapi.sync.requests")
+                    .description("SWAPI HTTP page requests")
+                    .tags("resource", resource, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        private static Counter failures(MeterRegistry registry, String resource, String stage) {
+            return Counter.builder("swapi.sync.failures")
+                    .description("Failed sync fetches and writes")
+                    .tags("resource", resource, "stage", stage)
+                    .register(registry);
+        }
+
+        private static Timer stage(MeterRegistry registry, String resource, String stage) {
+            return Timer.builder("swapi.sync.stage")
+                    .description("Time spent fetching and writing one resource type")
+                    .tags("resource", resource, "stage", stage)
+                    .register(registry);
+        }
+
+        private static Counter records(MeterRegistry registry, String resource, String result) {
+            return Counter.builder("swapi.sync.records")
+                    .description("Records processed by the sync, by result")
+                    .tags("resource", resource, "result", result)
+                    .register(registry);
+        }
+    }
+}
@@ -1,142 +1,107 @@
 package com.starwars.backend.integration;
 
 import com.starwars.backend.Utils;
-import com.starwars.backend.dto.SpeciesDTO;
 import com.starwars.backend.dto.SwapiResponse;
+import com.starwars.backend.dto.SwapiSpecies;
+import com.starwars.backend.dto.SyncChanges;
+import com.starwars.backend.persisntence.entities.Film;
 import com.starwars.backend.persisntence.entities.Species;
-import com.starwars.backend.persisntence.repository.CharacterRepository;
 import com.starwars.backend.persisntence.repository.FilmRepository;
 import com.starwars.backend.persisntence.repository.SpeciesRepository;
-import java.util.Collections;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SyncSpeciesService {
 
-    private final RestTemplate restTemplate;
+    private final SwapiPageFetcher swapiPageFetcher;
+    private final SyncBatchWriter syncBatchWriter;
+    private final SyncChangeDetector syncChangeDetector;
     private final SpeciesRepository speciesRepository;
-    private final CharacterRepository characterRepository;
     private final FilmRepository filmRepository;
 
     @Transactional
     public void syncSpecies() {
-        log.info("Starting species sync from SWAPI...");
-        String url = Utils.URL_SPECIES;
-
-        while (url != null) {
-            try {
-                List<SpeciesDTO> results = fetchSpeciesFromUrl(url);
-                if (results != null) {
-                    results.forEach(this::processSpecies);
-                }
-                url = getNextPageUrl(url);
-            } catch (Exception e) {
-                log.error("Error fetching species from SWAPI at URL {}: {}", url, e.getMessage(), e);
-                url = null;
-            }
-        }
-
-        log.info("Species sync completed.");
+        persistSpecies(fetchSpecies());
     }
 
-    private List<SpeciesDTO> fetchSpeciesFromUrl(String currentUrl) {
-        var response = restTemplate.exchange(
-                currentUrl,
-                HttpMethod.GET,
-                HttpEntity.EMPTY,
-                new ParameterizedTypeReference<SwapiResponse<SpeciesDTO>>() {}
-        ).getBody();
-
-        if (response.results() == null) {
-            log.warn("No results found at URL: {}", currentUrl);
-            return Collections.emptyList();
-        }
-
-        return response.results();
+    public List<SwapiSpecies> fetchSpecies() {
+        log.info("Starting species sync from SWAPI...");
+        return swapiPageFetcher.fetchAll(SwapiResource.SPECIES, Utils.URL_SPECIES,
+                new ParameterizedTypeReference<SwapiResponse<SwapiSpecies>>() {});
     }
 
-    private String getNextPageUrl(String currentUrl) {
-        var response = restTemplate.exchange(
-                currentUrl,
-                HttpMethod.GET,
-                HttpEntity.EMPTY,
-                new ParameterizedTypeReference<SwapiResponse<SpeciesDTO>>() {}
-        ).getBody();
-
-        return Optional.of(response)
-                .map(SwapiResponse::next)
-                .orElse(null);
+    @Transactional
+    public SyncChanges persistSpecies(List<SwapiSpecies> species) {
+        SwapiIdIndex<Film> films = new SwapiIdIndex<>(filmRepository::findBySwapiIdIn, Film::getSwapiId)
+                .loadIds(species, SwapiSpecies::films);
+
+        SyncChanges changes = syncBatchWriter.write(species, chunk -> {
+            SwapiIdIndex<Species> existing = new SwapiIdIndex<>(speciesRepository::findBySwapiIdIn, Species::getSwapiId)
+                    .loadReference(chunk, SwapiSpecies::url);
+            return chunk.stream()
+                    .map(dto -> processSpecies(dto, existing, films))
+                    .reduce(SyncChanges.NONE, SyncChanges::plus);
+        });
+        log.info("Species sync completed: {}", changes);
+        return changes;
     }
 
-    private void processSpecies(SpeciesDTO dto) {
-        Integer swapiId = Utils.extractSwapiId(dto.url());
-        if (swapiId == null) {
-            log.warn("Skipping species with null swapiId, url: {}", dto.url());
-            return;
+    private SyncChanges processSpecies(SwapiSpecies dto, SwapiIdIndex<Species> existing, SwapiIdIndex<Film> films) {
+        int swapiId = Utils.parseSwapiId(dto.url());
+        if (swapiId == Utils.NO_SWAPI_ID) {
+            log.warn("Skipping species without a swapiId, url: {}", dto.url());
+            return SyncChanges.NONE;
         }
 
-        Species species = speciesRepository.findBySwapiId(swapiId)
-                .orElseGet(() -> mapToSpeciesEntity(dto, swapiId));
-
-        speciesRepository.saveAndFlush(species);
-
-        species.getCharacters().clear();
-        species.getFilms().clear();
-
-        for (String characterUrl : dto.people()) {
-            Integer charId = Utils.extractSwapiId(characterUrl);
-            characterRepository.findBySwapiId(charId).ifPresent(character -> {
-                species.getCharacters().add(character);
-                if (character.getSpecies() == null) character.setSpecies(new HashSet<>());
-                character.getSpecies().add(species);
-            });
+        String contentHash = syncChangeDetector.hash(dto);
+        Species species = existing.get(swapiId);
+        if (syncChangeDetector.isUnchanged(species, dto.edited(), contentHash)) {
+            return SyncChanges.UNCHANGED;
         }
 
-        for (String filmUrl : dto.films()) {
-            Integer filmId = Utils.extractSwapiId(filmUrl);
-            filmRepository.findBySwapiId(filmId).ifPresent(film -> {
-                species.getFilms().add(film);
-                if (film.getSpecies() == null) film.setSpecies(new HashSet<>());
-                film.getSpecies().add(species);
-            });
+        boolean created = species == null;
+        if (created) {
+            species = Species.builder()
+                    .swapiId(swapiId)
+                    .characters(new HashSet<>())
+                    .films(new HashSet<>())
+                    .build();
         }
+        mapFields(species, dto);
+        Set<Film> speciesFilms = films.resolveAll(dto.films());
+        species.setFilms(speciesFilms);
+        species.setContentHash(SwapiIdIndex.allResolved(speciesFilms, dto.films()) ? contentHash : null);
 
-        speciesRepository.save(species);
+        if (created) {
+            speciesRepository.save(species);
+        }
         log.info("Species saved/updated (swapiId={})", swapiId);
+        return (created ? SyncChanges.CREATED : SyncChanges.CHANGED).withRelations(speciesFilms.size());
     }
 
-
-    private Species mapToSpeciesEntity(SpeciesDTO dto, Integer swapiId) {
-        return Species.builder()
-                .swapiId(swapiId)
-                .name(dto.name())
-                .classification(dto.classification())
-                .designation(dto.designation())
-                .averageHeight(dto.averageHeight())
-                .skinColors(dto.skinColors())
-                .hairColors(dto.hairColors())
-                .eyeColors(dto.eyeColors())
-                .averageLifespan(dto.averageLifespan())
-                .language(dto.language())
-                .created(dto.created())
-                .edited(dto.edited())
-                .url(dto.url())
-                .homeworld(dto.homeworld())
-                .characters(new HashSet<>())
-                .films(new HashSet<>())
-                .build();
+    private void mapFields(Species species, SwapiSpecies dto) {
+        species.setName(dto.name());
+        species.setClassification(dto.classification());
+        species.setDesignation(dto.designation());
+        species.setAverageHeight(dto.averageHeight());
+        species.setSkinColors(dto.skinColors());
+        species.setHairColors(dto.hairColors());
+        species.setEyeColors(dto.eyeColors());
+        species.setAverageLifespan(dto.averageLifespan());
+        species.setLanguage(dto.language());
+        species.setCreated(dto.created());
+        species.setEdited(dto.edited());
+        species.setUrl(dto.url());
+        species.setHomeworld(dto.homeworld());
     }
 }
@@ -1,8 +1,11 @@
 package com.starwars.backend.integration;
 
 import com.starwars.backend.Utils;
-import com.starwars.backend.dto.StarshipDTO;
 import com.starwars.backend.dto.SwapiResponse;
+import com.starwars.backend.dto.SwapiStarship;
+import com.starwars.backend.dto.SyncChanges;
+import com.starwars.backend.persisntence.entities.Character;
+import com.starwars.backend.persisntence.entities.Film;
 import com.starwars.backend.persisntence.entities.Starship;
 import com.starwars.backend.persisntence.repository.CharacterRepository;
 import com.starwars.backend.persisntence.repository.FilmRepository;
@@ -10,136 +13,109 @@ import com.starwars.backend.persisntence.repository.StarshipRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.*;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SyncStarshipService {
 
-    private final RestTemplate restTemplate;
+    private final SwapiPageFetcher swapiPageFetcher;
+    private final SyncBatchWriter syncBatchWriter;
+    private final SyncChangeDetector syncChangeDetector;
     private final StarshipRepository starshipRepository;
     private final CharacterRepository characterRepository;
     private final FilmRepository filmRepository;
 
     @Transactional
     public void syncStarships() {
-        log.info("Starting starship sync from SWAPI...");
-        String url = Utils.URL_STARSHIP;
-
-        while (url != null) {
-            try {
-                List<StarshipDTO> results = fetchStarshipsFromUrl(url);
-                if (results != null) {
-                    results.forEach(this::processStarship);
-                }
-                url = getNextPageUrl(url);
-            } catch (Exception e) {
-                log.error("Error fetching starships from SWAPI at URL {}: {}", url, e.getMessage(), e);
-                url = null;
-            }
-        }
-
-        log.info("Starship sync completed.");
+        persistStarships(fetchStarships());
     }
 
-    private List<StarshipDTO> fetchStarshipsFromUrl(String currentUrl) {
-        var response = restTemplate.exchange(
-                currentUrl,
-                HttpMethod.GET,
-                HttpEntity.EMPTY,
-                new ParameterizedTypeReference<SwapiResponse<StarshipDTO>>() {}
-        ).getBody();
-
-        if (response.results() == null) {
-            log.warn("No results found at URL: {}", currentUrl);
-            return Collections.emptyList();
-        }
-
-        return response.results();
+    public List<SwapiStarship> fetchStarships() {
+        log.info("Starting starship sync from SWAPI...");
+        return swapiPageFetcher.fetchAll(SwapiResource.STARSHIPS, Utils.URL_STARSHIP,
+                new ParameterizedTypeReference<SwapiResponse<SwapiStarship>>() {});
     }
 
-    private String getNextPageUrl(String currentUrl) {
-        var response = restTemplate.exchange(
-                currentUrl,
-                HttpMethod.GET,
-                HttpEntity.EMPTY,
-                new ParameterizedTypeReference<SwapiResponse<StarshipDTO>>() {}
-        ).getBody();
-
-        return Optional.of(response)
-                .map(SwapiResponse::next)
-                .orElse(null);
+    @Transactional
+    public SyncChanges persistStarships(List<SwapiStarship> starships) {
+        SwapiIdIndex<Character> pilots = new SwapiIdIndex<>(characterRepository::findBySwapiIdIn, Character::getSwapiId)
+                .loadIds(starships, SwapiStarship::pilots);
+        SwapiIdIndex<Film> films = new SwapiIdIndex<>(filmRepository::findBySwapiIdIn, Film::getSwapiId)
+                .loadIds(starships, SwapiStarship::films);
+
+        SyncChanges changes = syncBatchWriter.write(starships, chunk -> {
+            SwapiIdIndex<Starship> existing = new SwapiIdIndex<>(starshipRepository::findBySwapiIdIn, Starship::getSwapiId)
+                    .loadReference(chunk, SwapiStarship::url);
+            return chunk.stream()
+                    .map(dto -> processStarship(dto, existing, pilots, films))
+                    .reduce(SyncChanges.NONE, SyncChanges::plus);
+        });
+        log.info("Starship sync completed: {}", changes);
+        return changes;
     }
 
-    private void processStarship(StarshipDTO dto) {
-        Integer swapiId = Utils.extractSwapiId(dto.url());
-
-        if (swapiId == null) {
-            log.warn("Skipping starship with null swapiId, url: {}", dto.url());
-            return;
+    private SyncChanges processStarship(SwapiStarship dto, SwapiIdIndex<Starship> existing,
+                                        SwapiIdIndex<Character> pilots, SwapiIdIndex<Film> films) {
+        int swapiId = Utils.parseSwapiId(dto.url());
+        if (swapiId == Utils.NO_SWAPI_ID) {
+            log.warn("Skipping starship without a swapiId, url: {}", dto.url());
+            return SyncChanges.NONE;
         }
 
-        Starship starship = starshipRepository.findBySwapiId(swapiId)
-                .orElseGet(() -> mapToStarshipEntity(dto, swapiId));
-
-        starship.getPilots().clear();
-        starship.getFilms().clear();
-
-        if (dto.pilots() != null) {
-            for (String pilotUrl : dto.pilots()) {
-                Integer pilotId = Utils.extractSwapiId(pilotUrl);
-                characterRepository.findBySwapiId(pilotId).ifPresent(character -> {
-                    starship.getPilots().add(character);
-                    if (character.getStarships() == null) character.setStarships(new HashSet<>());
-                    character.getStarships().add(starship);
-                });
-            }
+        String contentHash = syncChangeDetector.hash(dto);
+        Starship starship = existing.get(swapiId);
+        if (syncChangeDetector.isUnchanged(starship, dto.edited(), contentHash)) {
+            return SyncChanges.UNCHANGED;
         }
 
-        if (dto.films() != null) {
-            for (String filmUrl : dto.films()) {
-                Integer filmId = Utils.extractSwapiId(filmUrl);
-                filmRepository.findBySwapiId(filmId).ifPresent(film -> {
-                    starship.getFilms().add(film);
-                    if (film.getStarships() == null) film.setStarships(new HashSet<>());
-                    film.getStarships().add(starship);
-                });
-            }
+        boolean created = starship == null;
+        if (created) {
+            starship = Starship.builder()
+                    .swapiId(swapiId)
+                    .pilots(new HashSet<>())
+                    .films(new HashSet<>())
+                    .build();
+        }
+        mapFields(starship, dto);
+        Set<Character> starshipPilots = pilots.resolveAll(dto.pilots());
+        starship.setPilots(starshipPilots);
+        Set<Film> starshipFilms = films.resolveAll(dto.films());
+        starship.setFilms(starshipFilms);
+        boolean resolved = SwapiIdIndex.allResolved(starshipPilots, dto.pilots())
+                && SwapiIdIndex.allResolved(starshipFilms, dto.films());
+        starship.setContentHash(resolved ? contentHash : null);
+
+        if (created) {
+            starshipRepository.save(starship);
         }
-
-        starshipRepository.save(starship);
         log.info("Starship saved/updated (swapiId={})", swapiId);
+        return (created ? SyncChanges.CREATED : SyncChanges.CHANGED)
+                .withRelations(starshipPilots.size() + starshipFilms.size());
     }
 
-    private Starship mapToStarshipEntity(StarshipDTO dto, Integer swapiId) {
-        return Starship.builder()
-                .swapiId(swapiId)
-                .name(dto.name())
-                .model(dto.model())
-                .manufacturer(dto.manufacturer())
-                .costInCredits(dto.costInCredits())
-                .length(dto.length())
-                .maxAtmospheringSpeed(dto.maxAtmospheringSpeed())
-                .crew(dto.crew())
-                .passengers(dto.passengers())
-                .cargoCapacity(dto.cargoCapacity())
-                .consumables(dto.consumables())
-                .hyperdriveRating(dto.hyperdriveRating())
-                .mglt(dto.mglt())
-                .starshipClass(dto.starshipClass())
-                .created(dto.created())
-                .edited(dto.edited())
-                .url(dto.url())
-                .pilots(new HashSet<>())
-                .films(new HashSet<>())
-                .build();
+    private void mapFields(Starship starship, SwapiStarship dto) {
+        starship.setName(dto.name());
+        starship.setModel(dto.model());
+        starship.setManufacturer(dto.manufacturer());
+        starship.setCostInCredits(dto.costInCredits());
+        starship.setLength(dto.length());
+        starship.setMaxAtmospheringSpeed(dto.maxAtmospheringSpeed());
+        starship.setCrew(dto.crew());
+        starship.setPassengers(dto.passengers());
+        starship.setCargoCapacity(dto.cargoCapacity());
+        starship.setConsumables(dto.consumables());
+        starship.setHyperdriveRating(dto.hyperdriveRating());
+        starship.setMglt(dto.mglt());
+        starship.setStarshipClass(dto.starshipClass());
+        starship.setCreated(dto.created());
+        starship.setEdited(dto.edited());
+        starship.setUrl(dto.url());
     }
-
 }
@@ -0,0 +1,104 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.dto.SyncReport;
+import com.starwars.backend.persisntence.entities.SyncRun;
+import com.starwars.backend.persisntence.repository.SyncRunRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * Tracks the state of the current SWAPI sync in memory and records every successful
+ * run in {@code sync_runs}, so a restart can tell whether the database is already warm.
+ * A run that could not fetch every page is reported as {@link Phase#PARTIAL} and not
+ * recorded, so the next start syncs again.
+ */
+@Component
+@RequiredArgsConstructor
+public class SyncStatus {
+
+    public enum Phase { IDLE, RUNNING, SUCCEEDED, PARTIAL, FAILED, SKIPPED }
+
+    public record Snapshot(Phase phase, OffsetDateTime since, String error) {}
+
+    private final SyncRunRepository syncRunRepository;
+
+    private volatile Snapshot current = new Snapshot(Phase.IDLE, OffsetDateTime.now(), null);
+    private volatile SyncJob job;
+
+    public Snapshot current() {
+        return current;
+    }
+
+    public Optional<SyncRun> lastRun() {
+        return syncRunRepository.findTopByOrderByFinishedAtDesc();
+    }
+
+    public void skipped() {
+        current = new Snapshot(Phase.SKIPPED, OffsetDateTime.now(), null);
+    }
+
+    void started(SyncJob job) {
+        this.job = job;
+        current = new Snapshot(Phase.RUNNING, job.getStartedAt(), null);
+    }
+
+    void pageFetched(SwapiResource resource, int records) {
+        SyncJob running = job;
+        if (running != null) {
+            running.pageFetched(resource, records);
+        }
+    }
+
+    void fetchFailed(SwapiResource resource, String message) {
+        SyncJob running = job;
+        if (running != null) {
+            running.fetchFailed(resource, message);
+        }
+    }
+
+    void stageCompleted(SwapiResource resource, SyncReport.StageReport report) {
+        SyncJob running = job;
+        if (running != null) {
+            running.stageCompleted(resource, report);
+        }
+    }
+
+    void succeeded(SyncJob job, SyncReport report) {
+        record(job, report, job.getStartedAt(), OffsetDateTime.now());
+    }
+
+    /**
+     * Records a snapshot import as a run that finished when the snapshot was taken, so an
+     * import of an old snapshot does not make the database look fresh to the next start.
+     */
+    void imported(SyncJob job, SyncReport report, OffsetDateTime createdAt) {
+        record(job, report, createdAt, createdAt);
+    }
+
+    void failed(SyncJob job, Throwable cause) {
+        job.failed(cause);
+        this.job = null;
+        current = new Snapshot(Phase.FAILED, OffsetDateTime.now(), cause.getMessage());
+    }
+
+    private void record(SyncJob job, SyncReport report, OffsetDateTime startedAt, OffsetDateTime finishedAt) {
+        if (job.hasFetchErrors()) {
+            job.partial();
+            this.job = null;
+            current = new Snapshot(Phase.PARTIAL, OffsetDateTime.now(), job.getError());
+            return;
+        }
+        syncRunRepository.save(SyncRun.builder()
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .records(report.stages().values().stream().mapToInt(SyncReport.StageReport::records).sum())
+                .written(report.written())
+                .build());
+        job.succeeded();
+        this.job = null;
+        current = new Snapshot(Phase.SUCCEEDED, OffsetDateTime.now(), null);
+    }
+}
@@ -2,7 +2,10 @@ package com.starwars.backend.integration;
 
 import com.starwars.backend.Utils;
 import com.starwars.backend.dto.SwapiResponse;
-import com.starwars.backend.dto.VehicleDTO;
+import com.starwars.backend.dto.SwapiVehicle;
+import com.starwars.backend.dto.SyncChanges;
+import com.starwars.backend.persisntence.entities.Character;
+import com.starwars.backend.persisntence.entities.Film;
 import com.starwars.backend.persisntence.entities.Vehicle;
 import com.starwars.backend.persisntence.repository.CharacterRepository;
 import com.starwars.backend.persisntence.repository.FilmRepository;
@@ -10,147 +13,107 @@ import com.starwars.backend.persisntence.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SyncVehicleService {
 
-    private final RestTemplate restTemplate;
+    private final SwapiPageFetcher swapiPageFetcher;
+    private final SyncBatchWriter syncBatchWriter;
+    private final SyncChangeDetector syncChangeDetector;
     private final VehicleRepository vehicleRepository;
     private final CharacterRepository characterRepository;
     private final FilmRepository filmRepository;
 
     @Transactional
     public void syncVehicles() {
-        log.info("Starting vehicle sync from SWAPI...");
-        String url = Utils.URL_VEHICLES;
-
-        while (url != null) {
-            try {
-                List<VehicleDTO> results = fetchVehiclesFromUrl(url);
-                results.forEach(this::processVehicle);
-                url = getNextPageUrl(url);
-            } catch (Exception e) {
-                log.error("Error fetching vehicles from SWAPI at URL {}: {}", url, e.getMessage(), e);
-                break;
-            }
-        }
-
-        log.info("Vehicle sync completed.");
+        persistVehicles(fetchVehicles());
     }
 
-    private List<VehicleDTO> fetchVehiclesFromUrl(String url) {
-        var response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                HttpEntity.EMPTY,
-                new ParameterizedTypeReference<SwapiResponse<VehicleDTO>>() {}
-        ).getBody();
-
-        if (response.results() == null) {
-            log.warn("Response received without 'results' field at URL: {}", url);
-            return Collections.emptyList();
-        }
-
-        return response.results();
+    public List<SwapiVehicle> fetchVehicles() {
+        log.info("Starting vehicle sync from SWAPI...");
+        return swapiPageFetcher.fetchAll(SwapiResource.VEHICLES, Utils.URL_VEHICLES,
+                new ParameterizedTypeReference<SwapiResponse<SwapiVehicle>>() {});
     }
 
-    private String getNextPageUrl(String currentUrl) {
-        var response = restTemplate.exchange(
-                currentUrl,
-                HttpMethod.GET,
-                HttpEntity.EMPTY,
-                new ParameterizedTypeReference<SwapiResponse<VehicleDTO>>() {}
-        ).getBody();
-
-        return Optional.of(response)
-                .map(SwapiResponse::next)
-                .orElse(null);
+    @Transactional
+    public SyncChanges persistVehicles(List<SwapiVehicle> vehicles) {
+        SwapiIdIndex<Character> pilots = new SwapiIdIndex<>(characterRepository::findBySwapiIdIn, Character::getSwapiId)
+                .loadIds(vehicles, SwapiVehicle::pilots);
+        SwapiIdIndex<Film> films = new SwapiIdIndex<>(filmRepository::findBySwapiIdIn, Film::getSwapiId)
+                .loadIds(vehicles, SwapiVehicle::films);
+
+        SyncChanges changes = syncBatchWriter.write(vehicles, chunk -> {
+            SwapiIdIndex<Vehicle> existing = new SwapiIdIndex<>(vehicleRepository::findBySwapiIdIn, Vehicle::getSwapiId)
+                    .loadReference(chunk, SwapiVehicle::url);
+            return chunk.stream()
+                    .map(dto -> processVehicle(dto, existing, pilots, films))
+                    .reduce(SyncChanges.NONE, SyncChanges::plus);
+        });
+        log.info("Vehicle sync completed: {}", changes);
+        return changes;
     }
 
-    private void processVehicle(VehicleDTO dto) {
-        Integer swapiId = Utils.extractSwapiId(dto.url());
-        if (swapiId == null) {
-            log.warn("Skipping vehicle with null swapiId, url: {}", dto.url());
-            return;
+    private SyncChanges processVehicle(SwapiVehicle dto, SwapiIdIndex<Vehicle> existing,
+                                       SwapiIdIndex<Character> pilots, SwapiIdIndex<Film> films) {
+        int swapiId = Utils.parseSwapiId(dto.url());
+        if (swapiId == Utils.NO_SWAPI_ID) {
+            log.warn("Skipping vehicle without a swapiId, url: {}", dto.url());
+            return SyncChanges.NONE;
         }
 
-        Vehicle vehicle = vehicleRepository.findBySwapiId(swapiId)
-                .orElseGet(() -> {
-                    Vehicle v = mapToVehicleEntity(dto, swapiId);
-                    v.setFilms(new HashSet<>());
-                    v.setPilots(new HashSet<>());
-                    return v;
-                });
-
-        vehicle.getFilms().clear();
-        vehicle.getPilots().clear();
-
-        mapFilms(vehicle, dto);
-        mapPilots(vehicle, dto);
-
-        vehicleRepository.save(vehicle);
-        log.info("Vehicle saved/updated (swapiId={}): {}", swapiId, vehicle.getName());
-    }
-
-    private void mapFilms(Vehicle vehicle, VehicleDTO dto) {
-        for (String filmUrl : dto.films()) {
-            try {
-                Integer filmId = Utils.extractSwapiId(filmUrl);
-                filmRepository.findBySwapiId(filmId).ifPresent(film -> {
-                    vehicle.getFilms().add(film);
-                    film.getVehicles().add(vehicle);
-                });
-            } catch (Exception e) {
-                log.error("Error mapping film {} to vehicle {}: {}", filmUrl, vehicle.getSwapiId(), e.getMessage());
-            }
+        String contentHash = syncChangeDetector.hash(dto);
+        Vehicle vehicle = existing.get(swapiId);
+        if (syncChangeDetector.isUnchanged(vehicle, dto.edited(), contentHash)) {
+            return SyncChanges.UNCHANGED;
         }
-    }
 
-    private void mapPilots(Vehicle vehicle, VehicleDTO dto) {
-        for (String pilotUrl : dto.pilots()) {
-            try {
-                Integer pilotId = Utils.extractSwapiId(pilotUrl);
-                characterRepository.findBySwapiId(pilotId).ifPresent(pilot -> {
-                    vehicle.getPilots().add(pilot);
-                    pilot.getVehicles().add(vehicle);
-                });
-            } catch (Exception e) {
-                log.error("Error mapping pilot {} to vehicle {}: {}", pilotUrl, vehicle.getSwapiId(), e.getMessage());
-            }
+        boolean created = vehicle == null;
+        if (created) {
+            vehicle = Vehicle.builder()
+                    .swapiId(swapiId)
+                    .films(new HashSet<>())
+                    .pilots(new HashSet<>())
+                    .build();
+        }
+        mapFields(vehicle, dto);
+        Set<Character> vehiclePilots = pilots.resolveAll(dto.pilots());
+        vehicle.setPilots(vehiclePilots);
+        Set<Film> vehicleFilms = films.resolveAll(dto.films());
+        vehicle.setFilms(vehicleFilms);
+        boolean resolved = SwapiIdIndex.allResolved(vehiclePilots, dto.pilots())
+                && SwapiIdIndex.allResolved(vehicleFilms, dto.films());
+        vehicle.setContentHash(resolved ? contentHash : null);
+
+        if (created) {
+            vehicleRepository.save(vehicle);
         }
+        log.info("Vehicle saved/updated (swapiId={})", swapiId);
+        return (created ? SyncChanges.CREATED : SyncChanges.CHANGED)
+                .withRelations(vehiclePilots.size() + vehicleFilms.size());
     }
 
-    private Vehicle mapToVehicleEntity(VehicleDTO dto, Integer swapiId) {
-        return Vehicle.builder()
-                .swapiId(swapiId)
-                .name(dto.name())
-                .model(dto.model())
-                .manufacturer(dto.manufacturer())
-                .costInCredits(dto.costInCredits())
-                .length(dto.length())
-                .maxAtmospheringSpeed(dto.maxAtmospheringSpeed())
-                .crew(dto.crew())
-                .passengers(dto.passengers())
-                .cargoCapacity(dto.cargoCapacity())
-                .consumables(dto.consumables())
-                .vehicleClass(dto.vehicleClass())
-                .created(dto.created())
-                .edited(dto.edited())
-                .url(dto.url())
-                .films(new HashSet<>())
-                .pilots(new HashSet<>())
-                .build();
+    private void mapFields(Vehicle vehicle, SwapiVehicle dto) {
+        vehicle.setName(dto.name());
+        vehicle.setModel(dto.model());
+        vehicle.setManufacturer(dto.manufacturer());
+        vehicle.setCostInCredits(dto.costInCredits());
+        vehicle.setLength(dto.length());
+        vehicle.setMaxAtmospheringSpeed(dto.maxAtmospheringSpeed());
+        vehicle.setCrew(dto.crew());
+        vehicle.setPassengers(dto.passengers());
+        vehicle.setCargoCapacity(dto.cargoCapacity());
+        vehicle.setConsumables(dto.consumables());
+        vehicle.setVehicleClass(dto.vehicleClass());
+        vehicle.setCreated(dto.created());
+        vehicle.setEdited(dto.edited());
+        vehicle.setUrl(dto.url());
     }
 }
@@ -48,7 +48,8 @@ public interface CharacterMapper {
             @Mapping(target = "starships", ignore = true),
             @Mapping(target = "created", ignore = true),
             @Mapping(target = "edited", ignore = true),
-            @Mapping(target = "swapiId", ignore = true)
+            @Mapping(target = "swapiId", ignore = true),
+            @Mapping(target = "contentHash", ignore = true)
     })
     Character toEntity(CharacterFormDTO dto);
 
@@ -10,16 +10,20 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "characters")
+@Table(name = "characters", indexes = {
+        @Index(name = "idx_characters_name_id", columnList = "name, id"),
+        @Index(name = "idx_characters_created_id", columnList = "created, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Character {
+public class Character implements SwapiSyncable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "characters_seq")
+    @SequenceGenerator(name = "characters_seq", sequenceName = "characters_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -75,4 +79,7 @@ public class Character {
     private OffsetDateTime edited;
 
     private String url;
+
+    @Column(length = 64)
+    private String contentHash;
 }
@@ -2,24 +2,33 @@ package com.starwars.backend.persisntence.entities;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.starwars.backend.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.OffsetDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "films")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.FILMS_REGION)
+@Table(name = "films", indexes = {
+        @Index(name = "idx_films_title_id", columnList = "title, id"),
+        @Index(name = "idx_films_created_id", columnList = "created, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Film {
+public class Film implements SwapiSyncable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "films_seq")
+    @SequenceGenerator(name = "films_seq", sequenceName = "films_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -46,6 +55,9 @@ public class Film {
 
     private String url;
 
+    @Column(length = 64)
+    private String contentHash;
+
     @ManyToMany(mappedBy = "films")
     @JsonBackReference
     private Set<Character> characters = new HashSet<>();
@@ -63,6 +75,7 @@ public class Film {
     private Set<Species> species = new HashSet<>();
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.FILM_RELATIONS_REGION)
     @JoinTable(
             name = "planet_films",
             joinColumns = @JoinColumn(name = "film_id"),
@@ -2,24 +2,33 @@ package com.starwars.backend.persisntence.entities;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.starwars.backend.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.OffsetDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "planets")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PLANETS_REGION)
+@Table(name = "planets", indexes = {
+        @Index(name = "idx_planets_name_id", columnList = "name, id"),
+        @Index(name = "idx_planets_created_id", columnList = "created, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Planet {
+public class Planet implements SwapiSyncable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "planets_seq")
+    @SequenceGenerator(name = "planets_seq", sequenceName = "planets_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -49,6 +58,9 @@ public class Planet {
 
     private String url;
 
+    @Column(length = 64)
+    private String contentHash;
+
     @OneToMany(mappedBy = "homeworld")
     @JsonManagedReference
     private Set<Character> residents = new HashSet<>();
@@ -2,24 +2,33 @@ package com.starwars.backend.persisntence.entities;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.starwars.backend.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.OffsetDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "species")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.SPECIES_REGION)
+@Table(name = "species", indexes = {
+        @Index(name = "idx_species_name_id", columnList = "name, id"),
+        @Index(name = "idx_species_created_id", columnList = "created, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Species {
+public class Species implements SwapiSyncable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "species_seq")
+    @SequenceGenerator(name = "species_seq", sequenceName = "species_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -49,6 +58,9 @@ public class Species {
 
     private String url;
 
+    @Column(length = 64)
+    private String contentHash;
+
     @Column(name = "homeworld")
     private String homeworld;
 
@@ -57,6 +69,7 @@ public class Species {
     private Set<Character> characters = new HashSet<>();
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.SPECIES_RELATIONS_REGION)
     @JoinTable(
             name = "species_films",
             joinColumns = @JoinColumn(name = "species_id"),
@@ -1,24 +1,33 @@
 package com.starwars.backend.persisntence.entities;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.starwars.backend.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.OffsetDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "starships")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.STARSHIPS_REGION)
+@Table(name = "starships", indexes = {
+        @Index(name = "idx_starships_name_id", columnList = "name, id"),
+        @Index(name = "idx_starships_created_id", columnList = "created, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Starship {
+public class Starship implements SwapiSyncable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "starships_seq")
+    @SequenceGenerator(name = "starships_seq", sequenceName = "starships_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -56,6 +65,9 @@ public class Starship {
 
     private String url;
 
+    @Column(length = 64)
+    private String contentHash;
+
 
     @ManyToMany
     @JoinTable(
@@ -67,6 +79,7 @@ public class Starship {
     private Set<Character> pilots = new HashSet<>();
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.STARSHIP_RELATIONS_REGION)
     @JoinTable(
             name = "starship_films",
             joinColumns = @JoinColumn(name = "starship_id"),
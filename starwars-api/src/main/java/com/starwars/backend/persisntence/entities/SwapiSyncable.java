@@ -0,0 +1,12 @@
+package com.starwars.backend.persisntence.entities;
+
+import java.time.OffsetDateTime;
+
+public interface SwapiSyncable {
+
+    Integer getSwapiId();
+
+    OffsetDateTime getEdited();
+
+    String getContentHash();
+}
@@ -1,24 +1,33 @@
 package com.starwars.backend.persisntence.entities;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.starwars.backend.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.OffsetDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "vehicles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.VEHICLES_REGION)
+@Table(name = "vehicles", indexes = {
+        @Index(name = "idx_vehicles_name_id", columnList = "name, id"),
+        @Index(name = "idx_vehicles_created_id", columnList = "created, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Vehicle {
+public class Vehicle implements SwapiSyncable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicles_seq")
+    @SequenceGenerator(name = "vehicles_seq", sequenceName = "vehicles_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -52,6 +61,9 @@ public class Vehicle {
 
     private String url;
 
+    @Column(length = 64)
+    private String contentHash;
+
     @ManyToMany
     @JoinTable(
             name = "character_vehicle",
@@ -62,6 +74,7 @@ public class Vehicle {
     private Set<Character> pilots = new HashSet<>();
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.VEHICLE_RELATIONS_REGION)
     @JoinTable(
             name = "vehicle_films",
             joinColumns = @JoinColumn(name = "vehicle_id"),
@@ -0,0 +1,20 @@
+package com.starwars.backend.persisntence.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps the results of a reference data read (and of its count query) in Hibernate's query
+ * cache. Cached results are invalidated as soon as one of the tables they read is written.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+public @interface CachedQuery {
+}
@@ -1,21 +1,55 @@
 package com.starwars.backend.persisntence.repository;
 
+import com.starwars.backend.dto.CharacterRow;
+import com.starwars.backend.dto.RelationName;
+import com.starwars.backend.dto.SupportOption;
 import com.starwars.backend.persisntence.entities.Character;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CharacterRepository extends JpaRepository<Character, Long> {
 
-    Page<Character> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    String CHARACTER_ROWS = "SELECT new com.starwars.backend.dto.CharacterRow(c.id, c.name, c.birthYear, c.gender, c.height, c.mass, c.hairColor, c.skinColor, c.eyeColor, h.id, h.name, c.created, c.edited, c.url) FROM Character c LEFT JOIN c.homeworld h";
+
+    String CHARACTER_MATCH = "LOWER(c.name) LIKE :pattern ESCAPE '\\'";
+
+    String CHARACTER_SEARCH = " WHERE " + CHARACTER_MATCH;
 
     Optional<Character> findBySwapiId(Integer swapiId);
 
+    @Query("SELECT c FROM Character c LEFT JOIN FETCH c.homeworld WHERE c.swapiId IN :swapiIds")
+    List<Character> findBySwapiIdIn(@Param("swapiIds") Collection<Integer> swapiIds);
+
+    @Query("SELECT new com.starwars.backend.dto.SupportOption(c.id, c.name) FROM Character c WHERE c.name IS NOT NULL ORDER BY c.id")
+    List<SupportOption> findSupportOptions();
+
     @Query("SELECT MAX(c.swapiId) FROM Character c")
     Long findMaxSwapiId();
-}
\ No newline at end of file
+
+    @Query(value = CHARACTER_ROWS, countQuery = "SELECT COUNT(c) FROM Character c")
+    Page<CharacterRow> findRows(Pageable pageable);
+
+    @Query(value = CHARACTER_ROWS + CHARACTER_SEARCH, countQuery = "SELECT COUNT(c) FROM Character c" + CHARACTER_SEARCH)
+    Page<CharacterRow> findRowsMatching(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT new com.starwars.backend.dto.RelationName(c.id, f.id, f.title) FROM Character c JOIN c.films f WHERE c.id IN :ids ORDER BY c.id, f.id")
+    List<RelationName> findFilmNames(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.starwars.backend.dto.RelationName(c.id, s.id, s.name) FROM Character c JOIN c.species s WHERE c.id IN :ids ORDER BY c.id, s.id")
+    List<RelationName> findSpeciesNames(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.starwars.backend.dto.RelationName(c.id, v.id, v.name) FROM Character c JOIN c.vehicles v WHERE c.id IN :ids ORDER BY c.id, v.id")
+    List<RelationName> findVehicleNames(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.starwars.backend.dto.RelationName(c.id, s.id, s.name) FROM Character c JOIN c.starships s WHERE c.id IN :ids ORDER BY c.id, s.id")
+    List<RelationName> findStarshipNames(@Param("ids") Collection<Long> ids);
+}
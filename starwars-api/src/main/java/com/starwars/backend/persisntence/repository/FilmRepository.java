@@ -1,17 +1,62 @@
 package com.starwars.backend.persisntence.repository;
 
+import com.starwars.backend.dto.FilmRow;
+import com.starwars.backend.dto.RelationName;
+import com.starwars.backend.dto.FilmSupportOption;
 import com.starwars.backend.persisntence.entities.Film;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FilmRepository extends JpaRepository<Film, Long> {
 
+    String FILM_ROWS = "SELECT new com.starwars.backend.dto.FilmRow(f.id, f.title, f.episodeId, f.openingCrawl, f.director, f.producer, f.releaseDate, f.created, f.edited, f.url) FROM Film f";
+
+    String FILM_MATCH = "LOWER(f.title) LIKE :pattern ESCAPE '\\'";
+
+    String FILM_SEARCH = " WHERE " + FILM_MATCH;
+
     Optional<Film> findBySwapiId(Integer swapiId);
 
-    Page<Film> findByTitleContainingIgnoreCase(String name, Pageable pageable);
+    List<Film> findBySwapiIdIn(Collection<Integer> swapiIds);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.FilmSupportOption(f.id, f.title) FROM Film f WHERE f.title IS NOT NULL ORDER BY f.id")
+    List<FilmSupportOption> findSupportOptions();
+
+    @CachedQuery
+    @Query(value = FILM_ROWS, countQuery = "SELECT COUNT(f) FROM Film f")
+    Page<FilmRow> findRows(Pageable pageable);
+
+    @CachedQuery
+    @Query(value = FILM_ROWS + FILM_SEARCH, countQuery = "SELECT COUNT(f) FROM Film f" + FILM_SEARCH)
+    Page<FilmRow> findRowsMatching(@Param("pattern") String pattern, Pageable pageable);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(f.id, c.id, c.name) FROM Film f JOIN f.characters c WHERE f.id IN :ids ORDER BY f.id, c.id")
+    List<RelationName> findCharacterNames(@Param("ids") Collection<Long> ids);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(f.id, p.id, p.name) FROM Film f JOIN f.planets p WHERE f.id IN :ids ORDER BY f.id, p.id")
+    List<RelationName> findPlanetNames(@Param("ids") Collection<Long> ids);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(f.id, s.id, s.name) FROM Film f JOIN f.starships s WHERE f.id IN :ids ORDER BY f.id, s.id")
+    List<RelationName> findStarshipNames(@Param("ids") Collection<Long> ids);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(f.id, v.id, v.name) FROM Film f JOIN f.vehicles v WHERE f.id IN :ids ORDER BY f.id, v.id")
+    List<RelationName> findVehicleNames(@Param("ids") Collection<Long> ids);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(f.id, s.id, s.name) FROM Film f JOIN f.species s WHERE f.id IN :ids ORDER BY f.id, s.id")
+    List<RelationName> findSpeciesNames(@Param("ids") Collection<Long> ids);
 }
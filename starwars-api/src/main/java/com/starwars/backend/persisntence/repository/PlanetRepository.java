@@ -1,17 +1,50 @@
 package com.starwars.backend.persisntence.repository;
 
+import com.starwars.backend.dto.PlanetRow;
+import com.starwars.backend.dto.RelationName;
+import com.starwars.backend.dto.SupportOption;
 import com.starwars.backend.persisntence.entities.Planet;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PlanetRepository extends JpaRepository<Planet, Long> {
 
+    String PLANET_ROWS = "SELECT new com.starwars.backend.dto.PlanetRow(p.id, p.name, p.rotationPeriod, p.orbitalPeriod, p.diameter, p.climate, p.gravity, p.terrain, p.surfaceWater, p.population, p.created, p.edited, p.url) FROM Planet p";
+
+    String PLANET_MATCH = "LOWER(p.name) LIKE :pattern ESCAPE '\\'";
+
+    String PLANET_SEARCH = " WHERE " + PLANET_MATCH;
+
     Optional<Planet> findBySwapiId(Integer swapiId);
 
-    Page<Planet> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    List<Planet> findBySwapiIdIn(Collection<Integer> swapiIds);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.SupportOption(p.id, p.name) FROM Planet p WHERE p.name IS NOT NULL ORDER BY p.id")
+    List<SupportOption> findSupportOptions();
+
+    @CachedQuery
+    @Query(value = PLANET_ROWS, countQuery = "SELECT COUNT(p) FROM Planet p")
+    Page<PlanetRow> findRows(Pageable pageable);
+
+    @CachedQuery
+    @Query(value = PLANET_ROWS + PLANET_SEARCH, countQuery = "SELECT COUNT(p) FROM Planet p" + PLANET_SEARCH)
+    Page<PlanetRow> findRowsMatching(@Param("pattern") String pattern, Pageable pageable);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(c.homeworld.id, c.id, c.name) FROM Character c WHERE c.homeworld.id IN :ids ORDER BY c.homeworld.id, c.id")
+    List<RelationName> findResidentNames(@Param("ids") Collection<Long> ids);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(p.id, f.id, f.title) FROM Planet p JOIN p.films f WHERE p.id IN :ids ORDER BY p.id, f.id")
+    List<RelationName> findFilmNames(@Param("ids") Collection<Long> ids);
 }
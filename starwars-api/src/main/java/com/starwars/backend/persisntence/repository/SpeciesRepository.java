@@ -1,17 +1,54 @@
 package com.starwars.backend.persisntence.repository;
 
+import com.starwars.backend.dto.SpeciesRow;
+import com.starwars.backend.dto.RelationName;
+import com.starwars.backend.dto.SupportOption;
 import com.starwars.backend.persisntence.entities.Species;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SpeciesRepository extends JpaRepository<Species, Long> {
 
-    Page<Species> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    String SPECIES_ROWS = "SELECT new com.starwars.backend.dto.SpeciesRow(s.id, s.name, s.classification, s.designation, s.averageHeight, s.skinColors, s.hairColors, s.eyeColors, s.averageLifespan, s.language, s.created, s.edited, s.url) FROM Species s";
+
+    String SPECIES_MATCH = "LOWER(s.name) LIKE :pattern ESCAPE '\\'";
+
+    String SPECIES_SEARCH = " WHERE " + SPECIES_MATCH;
 
     Optional<Species> findBySwapiId(Integer swapiId);
+
+    List<Species> findBySwapiIdIn(Collection<Integer> swapiIds);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.SupportOption(s.id, s.name) FROM Species s WHERE s.name IS NOT NULL ORDER BY s.id")
+    List<SupportOption> findSupportOptions();
+
+    @CachedQuery
+    @Query(value = SPECIES_ROWS, countQuery = "SELECT COUNT(s) FROM Species s")
+    Page<SpeciesRow> findRows(Pageable pageable);
+
+    @CachedQuery
+    @Query(value = SPECIES_ROWS + SPECIES_SEARCH, countQuery = "SELECT COUNT(s) FROM Species s" + SPECIES_SEARCH)
+    Page<SpeciesRow> findRowsMatching(@Param("pattern") String pattern, Pageable pageable);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(s.id, c.id, c.name) FROM Species s JOIN s.characters c WHERE s.id IN :ids ORDER BY s.id, c.id")
+    List<RelationName> findCharacterNames(@Param("ids") Collection<Long> ids);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(s.id, f.id, f.title) FROM Species s JOIN s.films f WHERE s.id IN :ids ORDER BY s.id, f.id")
+    List<RelationName> findFilmNames(@Param("ids") Collection<Long> ids);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(s.id, c.id, h.name) FROM Species s JOIN s.characters c JOIN c.homeworld h WHERE s.id IN :ids AND h.name IS NOT NULL ORDER BY s.id, c.id")
+    List<RelationName> findCharacterHomeworldNames(@Param("ids") Collection<Long> ids);
 }
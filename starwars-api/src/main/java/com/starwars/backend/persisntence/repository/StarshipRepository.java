@@ -1,19 +1,50 @@
 package com.starwars.backend.persisntence.repository;
 
+import com.starwars.backend.dto.StarshipRow;
+import com.starwars.backend.dto.RelationName;
+import com.starwars.backend.dto.SupportOption;
 import com.starwars.backend.persisntence.entities.Starship;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StarshipRepository extends JpaRepository<Starship, Long> {
 
-    Page<Starship> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    String STARSHIP_ROWS = "SELECT new com.starwars.backend.dto.StarshipRow(s.id, s.name, s.model, s.manufacturer, s.costInCredits, s.length, s.maxAtmospheringSpeed, s.crew, s.passengers, s.cargoCapacity, s.consumables, s.hyperdriveRating, s.mglt, s.starshipClass, s.created, s.edited, s.url) FROM Starship s";
 
-    Page<Starship> findAll(Pageable pageable);
+    String STARSHIP_MATCH = "LOWER(s.name) LIKE :pattern ESCAPE '\\'";
+
+    String STARSHIP_SEARCH = " WHERE " + STARSHIP_MATCH;
 
     Optional<Starship> findBySwapiId(Integer swapiId);
+
+    List<Starship> findBySwapiIdIn(Collection<Integer> swapiIds);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.SupportOption(s.id, s.name) FROM Starship s WHERE s.name IS NOT NULL ORDER BY s.id")
+    List<SupportOption> findSupportOptions();
+
+    @CachedQuery
+    @Query(value = STARSHIP_ROWS, countQuery = "SELECT COUNT(s) FROM Starship s")
+    Page<StarshipRow> findRows(Pageable pageable);
+
+    @CachedQuery
+    @Query(value = STARSHIP_ROWS + STARSHIP_SEARCH, countQuery = "SELECT COUNT(s) FROM Starship s" + STARSHIP_SEARCH)
+    Page<StarshipRow> findRowsMatching(@Param("pattern") String pattern, Pageable pageable);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(s.id, c.id, c.name) FROM Starship s JOIN s.pilots c WHERE s.id IN :ids ORDER BY s.id, c.id")
+    List<RelationName> findPilotNames(@Param("ids") Collection<Long> ids);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(s.id, f.id, f.title) FROM Starship s JOIN s.films f WHERE s.id IN :ids ORDER BY s.id, f.id")
+    List<RelationName> findFilmNames(@Param("ids") Collection<Long> ids);
 }
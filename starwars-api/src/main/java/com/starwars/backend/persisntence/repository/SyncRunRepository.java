@@ -0,0 +1,13 @@
+package com.starwars.backend.persisntence.repository;
+
+import com.starwars.backend.persisntence.entities.SyncRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SyncRunRepository extends JpaRepository<SyncRun, Long> {
+
+    Optional<SyncRun> findTopByOrderByFinishedAtDesc();
+}
@@ -1,19 +1,50 @@
 package com.starwars.backend.persisntence.repository;
 
+import com.starwars.backend.dto.VehicleRow;
+import com.starwars.backend.dto.RelationName;
+import com.starwars.backend.dto.SupportOption;
 import com.starwars.backend.persisntence.entities.Vehicle;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
 
-    Page<Vehicle> findAll(Pageable pageable);
+    String VEHICLE_ROWS = "SELECT new com.starwars.backend.dto.VehicleRow(v.id, v.name, v.model, v.manufacturer, v.costInCredits, v.vehicleClass, v.length, v.maxAtmospheringSpeed, v.crew, v.passengers, v.cargoCapacity, v.consumables, v.created, v.edited, v.url) FROM Vehicle v";
+
+    String VEHICLE_MATCH = "LOWER(v.name) LIKE :pattern ESCAPE '\\'";
+
+    String VEHICLE_SEARCH = " WHERE " + VEHICLE_MATCH;
 
     Optional<Vehicle> findBySwapiId(Integer swapiId);
 
-    Page<Vehicle> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    List<Vehicle> findBySwapiIdIn(Collection<Integer> swapiIds);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.SupportOption(v.id, v.name) FROM Vehicle v WHERE v.name IS NOT NULL ORDER BY v.id")
+    List<SupportOption> findSupportOptions();
+
+    @CachedQuery
+    @Query(value = VEHICLE_ROWS, countQuery = "SELECT COUNT(v) FROM Vehicle v")
+    Page<VehicleRow> findRows(Pageable pageable);
+
+    @CachedQuery
+    @Query(value = VEHICLE_ROWS + VEHICLE_SEARCH, countQuery = "SELECT COUNT(v) FROM Vehicle v" + VEHICLE_SEARCH)
+    Page<VehicleRow> findRowsMatching(@Param("pattern") String pattern, Pageable pageable);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(v.id, c.id, c.name) FROM Vehicle v JOIN v.pilots c WHERE v.id IN :ids ORDER BY v.id, c.id")
+    List<RelationName> findPilotNames(@Param("ids") Collection<Long> ids);
+
+    @CachedQuery
+    @Query("SELECT new com.starwars.backend.dto.RelationName(v.id, f.id, f.title) FROM Vehicle v JOIN v.films f WHERE v.id IN :ids ORDER BY v.id, f.id")
+    List<RelationName> findFilmNames(@Param("ids") Collection<Long> ids);
 }
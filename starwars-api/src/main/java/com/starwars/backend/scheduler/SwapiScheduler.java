@@ -1,6 +1,8 @@
 package com.starwars.backend.scheduler;
 
-import com.starwars.backend.integration.SwapiSyncService;
+import com.starwars.backend.exception.SyncJobConflictException;
+import com.starwars.backend.integration.SyncJob;
+import com.starwars.backend.integration.SyncJobManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -11,17 +13,19 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class SwapiScheduler {
 
-    private final SwapiSyncService swapiSyncService;
+    private final SyncJobManager syncJobManager;
 
     @Scheduled(cron = "0 0 4 * * *")
     public void scheduledSync() {
         log.info("Scheduled SWAPI sync started at 04:00 AM");
 
         try {
-            swapiSyncService.syncAllData();
-            log.info("Scheduled SWAPI sync completed successfully");
+            SyncJob job = syncJobManager.submit();
+            log.info("Scheduled SWAPI sync running as job {}", job.getId());
+        } catch (SyncJobConflictException e) {
+            log.warn("Scheduled SWAPI sync skipped: {}", e.getMessage());
         } catch (Exception e) {
-            log.error("Scheduled SWAPI sync failed: {}", e.getMessage(), e);
+            log.error("Scheduled SWAPI sync failed to start: {}", e.getMessage(), e);
         }
     }
 }
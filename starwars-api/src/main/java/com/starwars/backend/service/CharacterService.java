@@ -1,21 +1,26 @@
 package com.starwars.backend.service;
 
+import com.starwars.backend.Utils;
+import com.starwars.backend.dto.CharacterRow;
+import com.starwars.backend.dto.CursorPage;
 import com.starwars.backend.dto.form.CharacterFormDTO;
+import com.starwars.backend.event.DatasetChangedEvent;
 import com.starwars.backend.exception.*;
+import com.starwars.backend.integration.SwapiResource;
 import com.starwars.backend.mapper.CharacterMapper;
 import com.starwars.backend.persisntence.entities.Character;
 import com.starwars.backend.persisntence.repository.*;
 import com.starwars.backend.persisntence.entities.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +28,11 @@ import java.util.stream.Collectors;
 @Slf4j
 public class CharacterService {
 
+    private static final KeysetQuery<CharacterRow> SCROLL = KeysetQuery.of(CharacterRow.class,
+                    CharacterRepository.CHARACTER_ROWS, "c", CharacterRepository.CHARACTER_MATCH, CharacterRow::id)
+            .key("name", "c.name", String.class, CharacterRow::name)
+            .key("created", "c.created", OffsetDateTime.class, CharacterRow::created);
+
     private final CharacterRepository characterRepository;
     private final PlanetRepository planetRepository;
     private final FilmRepository filmRepository;
@@ -31,28 +41,87 @@ public class CharacterService {
     private final StarshipRepository starshipRepository;
 
     private final CharacterMapper characterMapper;
+    private final KeysetPager keysetPager;
+    private final ReadMetrics readMetrics;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<CharacterFormDTO> getCharacters(String search, Pageable pageable) {
+        return readMetrics.page(SwapiResource.CHARACTERS, search, () -> findCharacters(search, pageable));
+    }
+
+    private Page<CharacterFormDTO> findCharacters(String search, Pageable pageable) {
         try {
             Pageable fixedPageable = PageRequest.of(pageable.getPageNumber(), 15, pageable.getSort());
 
-            Page<Character> characters;
+            Page<CharacterRow> characters;
             if (search != null && !search.isBlank()) {
                 log.info("Searching characters with name containing '{}'", search);
-                characters = characterRepository.findByNameContainingIgnoreCase(search, fixedPageable);
+                characters = characterRepository.findRowsMatching(Utils.containsPattern(search), fixedPageable);
             } else {
                 log.info("Fetching all characters without search filter");
-                characters = characterRepository.findAll(fixedPageable);
+                characters = characterRepository.findRows(fixedPageable);
             }
 
-            return characters.map(characterMapper::toDto);
+            return new PageImpl<>(toDtos(characters.getContent()), characters.getPageable(), characters.getTotalElements());
         } catch (Exception ex) {
             log.error("Error while retrieving characters from database", ex);
             throw new CharacterRetrievalException("Unable to retrieve characters", ex);
         }
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<CharacterFormDTO> scrollCharacters(String search, Sort sort, String cursor, int size) {
+        return readMetrics.scroll(SwapiResource.CHARACTERS, search, () -> findCharactersSlice(search, sort, cursor, size));
+    }
+
+    private CursorPage<CharacterFormDTO> findCharactersSlice(String search, Sort sort, String cursor, int size) {
+        String pattern = search != null && !search.isBlank() ? Utils.containsPattern(search) : null;
+        try {
+            return keysetPager.scroll(SCROLL, pattern, sort, cursor, size).withContent(this::toDtos);
+        } catch (InvalidCursorException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Error while scrolling characters from database", ex);
+            throw new CharacterRetrievalException("Unable to retrieve characters", ex);
+        }
+    }
+
+    private List<CharacterFormDTO> toDtos(List<CharacterRow> rows) {
+        List<Long> ids = rows.stream().map(CharacterRow::id).toList();
+        RelationIndex films = RelationIndex.load(ids, characterRepository::findFilmNames);
+        RelationIndex species = RelationIndex.load(ids, characterRepository::findSpeciesNames);
+        RelationIndex vehicles = RelationIndex.load(ids, characterRepository::findVehicleNames);
+        RelationIndex starships = RelationIndex.load(ids, characterRepository::findStarshipNames);
+
+        return rows.stream().map(row -> {
+            CharacterFormDTO dto = new CharacterFormDTO();
+            dto.setId(row.id());
+            dto.setName(row.name());
+            dto.setBirthYear(row.birthYear());
+            dto.setGender(row.gender());
+            dto.setHeight(row.height());
+            dto.setMass(row.mass());
+            dto.setHairColor(row.hairColor());
+            dto.setSkinColor(row.skinColor());
+            dto.setEyeColor(row.eyeColor());
+            dto.setHomeworldId(row.homeworldId());
+            dto.setHomeworld(row.homeworld());
+            dto.setFilms(films.names(row.id()));
+            dto.setFilmIds(films.ids(row.id()));
+            dto.setSpecies(species.names(row.id()));
+            dto.setSpeciesIds(species.ids(row.id()));
+            dto.setVehicles(vehicles.names(row.id()));
+            dto.setVehicleIds(vehicles.ids(row.id()));
+            dto.setStarships(starships.names(row.id()));
+            dto.setStarshipIds(starships.ids(row.id()));
+            dto.setCreated(row.created());
+            dto.setEdited(row.edited());
+            dto.setUrl(row.url());
+            return dto;
+        }).toList();
+    }
+
     @Transactional
     public CharacterFormDTO  createCharacter(CharacterFormDTO dto) {
         try {
@@ -69,6 +138,8 @@ public class CharacterService {
             fillRelations(character, dto);
             Character saved = characterRepository.save(character);
             log.info("Character saved with ID: {}", saved.getId());
+            eventPublisher.publishEvent(DatasetChangedEvent.rowSaved(
+                    "character created", SwapiResource.CHARACTERS, saved.getId(), saved.getName()));
             return characterMapper.toDto(saved);
 
         } catch (Exception ex) {
@@ -96,6 +167,8 @@ public class CharacterService {
             fillRelations(updated, dto);
             Character saved = characterRepository.save(updated);
             log.info("Character updated with ID: {}", saved.getId());
+            eventPublisher.publishEvent(DatasetChangedEvent.rowSaved(
+                    "character updated", SwapiResource.CHARACTERS, saved.getId(), saved.getName()));
             return saved;
         } catch (Exception ex) {
             log.error("Failed to update character", ex);
@@ -113,6 +186,7 @@ public class CharacterService {
             }
             characterRepository.deleteById(id);
             log.info("Character deleted successfully");
+            eventPublisher.publishEvent(DatasetChangedEvent.rowDeleted("character deleted", SwapiResource.CHARACTERS, id));
         } catch (Exception ex) {
             log.error("Failed to delete character", ex);
             throw new CharacterDeletionException("Unable to delete character", ex);
@@ -147,35 +221,4 @@ public class CharacterService {
         log.debug("Next SWAPI ID calculated: {}", next);
         return next;
     }
-
-    public Map<String, Object> getSupportData() {
-        Map<String, Object> response = new HashMap<>();
-
-        response.put("films", filmRepository.findAll().stream()
-                .filter(f -> f.getId() != null && f.getTitle() != null)
-                .map(f -> Map.of("id", f.getId(), "title", f.getTitle()))
-                .toList());
-
-        response.put("species", speciesRepository.findAll().stream()
-                .filter(s -> s.getId() != null && s.getName() != null)
-                .map(s -> Map.of("id", s.getId(), "name", s.getName()))
-                .toList());
-
-        response.put("vehicles", vehicleRepository.findAll().stream()
-                .filter(v -> v.getId() != null && v.getName() != null)
-                .map(v -> Map.of("id", v.getId(), "name", v.getName()))
-                .toList());
-
-        response.put("starships", starshipRepository.findAll().stream()
-                .filter(s -> s.getId() != null && s.getName() != null)
-                .map(s -> Map.of("id", s.getId(), "name", s.getName()))
-                .toList());
-
-        response.put("planets", planetRepository.findAll().stream()
-                .filter(p -> p.getId() != null && p.getName() != null)
-                .map(p -> Map.of("id", p.getId(), "name", p.getName()))
-                .toList());
-
-        return response;
-    }
-}
\ No newline at end of file
+}
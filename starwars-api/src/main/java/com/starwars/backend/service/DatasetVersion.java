@@ -0,0 +1,37 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.event.DatasetChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the data behind the read endpoints, bumped after every committed
+ * {@link DatasetChangedEvent}. The strong ETag also carries the process start time, so
+ * versions handed out before a restart never match the new process's data.
+ */
+@Component
+public class DatasetVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private volatile String etag = etag(0);
+
+    public long current() {
+        return version.get();
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDatasetChanged(DatasetChangedEvent event) {
+        etag = etag(version.incrementAndGet());
+    }
+
+    private String etag(long value) {
+        return "\"" + epoch + "-" + value + "\"";
+    }
+}
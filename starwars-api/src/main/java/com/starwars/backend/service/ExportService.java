@@ -0,0 +1,215 @@
+package com.starwars.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams every row of an entity table as NDJSON or CSV. Rows come from a forward-only
+ * JDBC cursor read {@link #FETCH_SIZE} at a time inside a read-only transaction (which is
+ * what makes the PostgreSQL driver use a server-side cursor) and go straight into a
+ * Jackson generator on the response stream, so memory stays flat whatever the table size
+ * and no entities are materialized.
+ */
+@Service
+@Slf4j
+public class ExportService {
+
+    static final int FETCH_SIZE = 500;
+
+    private record Column(String field, String sql) {
+    }
+
+    private record Table(String name, List<Column> columns) {
+
+        String select() {
+            return "SELECT " + String.join(", ", columns.stream().map(Column::sql).toList()) + " FROM " + name + " ORDER BY id";
+        }
+    }
+
+    private static final Map<String, Table> TABLES = Map.of(
+            "planets", table("planets", "id", "swapiId", "name", "rotationPeriod", "orbitalPeriod", "diameter",
+                    "climate", "gravity", "terrain", "surfaceWater", "population", "created", "edited", "url"),
+            "films", table("films", "id", "swapiId", "title", "episodeId", "openingCrawl", "director", "producer",
+                    "releaseDate", "created", "edited", "url"),
+            "species", table("species", "id", "swapiId", "name", "classification", "designation", "averageHeight",
+                    "skinColors", "hairColors", "eyeColors", "averageLifespan", "language", "homeworld", "created",
+                    "edited", "url"),
+            "characters", table("characters", "id", "swapiId", "name", "birthYear", "gender", "height", "mass",
+                    "hairColor", "skinColor", "eyeColor", "homeworldId=planet_id", "created", "edited", "url"),
+            "starships", table("starships", "id", "swapiId", "name", "model", "manufacturer", "costInCredits",
+                    "length", "maxAtmospheringSpeed", "crew", "passengers", "cargoCapacity", "consumables",
+                    "hyperdriveRating", "mglt", "starshipClass", "created", "edited", "url"),
+            "vehicles", table("vehicles", "id", "swapiId", "name", "model", "manufacturer", "costInCredits",
+                    "length", "maxAtmospheringSpeed", "crew", "passengers", "cargoCapacity", "consumables",
+                    "vehicleClass", "created", "edited", "url")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    public ExportService(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper,
+                         @Value("${swapi.export.timeout:30m}") Duration timeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    public boolean supports(String type) {
+        return TABLES.containsKey(type);
+    }
+
+    /**
+     * How long one export may stream before the request times out. Whole tables take far
+     * longer than the regular async request timeout allows.
+     */
+    public Duration timeout() {
+        return timeout;
+    }
+
+    public long export(String type, ExportFormat format, OutputStream out) throws IOException {
+        Table table = TABLES.get(type);
+        if (table == null) {
+            throw new IllegalArgumentException("Unknown export type " + type);
+        }
+
+        try (JsonGenerator generator = generator(table, format, out)) {
+            Long rows = transactionTemplate.execute(status -> {
+                RowWriter writer = new RowWriter(table, format, generator);
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(table.select(),
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                }, writer::write);
+                return writer.rows;
+            });
+            generator.flush();
+            log.info("Exported {} {} rows as {}", rows, type, format);
+            return rows == null ? 0 : rows;
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private JsonGenerator generator(Table table, ExportFormat format, OutputStream out) throws IOException {
+        JsonGenerator generator;
+        if (format == ExportFormat.CSV) {
+            CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+            table.columns().forEach(column -> schema.addColumn(column.field()));
+            generator = csvMapper.getFactory().createGenerator(out);
+            generator.setSchema(schema.build());
+        } else {
+            generator = objectMapper.getFactory().createGenerator(out);
+            generator.setRootValueSeparator(null);
+        }
+        return generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private static final class RowWriter {
+
+        private final Table table;
+        private final ExportFormat format;
+        private final JsonGenerator generator;
+        private int[] types;
+        private long rows;
+
+        RowWriter(Table table, ExportFormat format, JsonGenerator generator) {
+            this.table = table;
+            this.format = format;
+            this.generator = generator;
+        }
+
+        void write(ResultSet rs) throws SQLException {
+            if (types == null) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                types = new int[metaData.getColumnCount()];
+                for (int i = 0; i < types.length; i++) {
+                    types[i] = metaData.getColumnType(i + 1);
+                }
+            }
+            try {
+                generator.writeStartObject();
+                for (int i = 0; i < types.length; i++) {
+                    generator.writeFieldName(table.columns().get(i).field());
+                    writeValue(rs, i + 1, types[i]);
+                }
+                generator.writeEndObject();
+                if (format == ExportFormat.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            rows++;
+        }
+
+        private void writeValue(ResultSet rs, int index, int type) throws SQLException, IOException {
+            switch (type) {
+                case Types.BIGINT, Types.INTEGER, Types.SMALLINT -> {
+                    long value = rs.getLong(index);
+                    if (rs.wasNull()) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeNumber(value);
+                    }
+                }
+                case Types.TIMESTAMP_WITH_TIMEZONE, Types.TIMESTAMP -> {
+                    OffsetDateTime value = rs.getObject(index, OffsetDateTime.class);
+                    if (value == null) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeString(value.toString());
+                    }
+                }
+                default -> {
+                    String value = rs.getString(index);
+                    if (value == null) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeString(value);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Table table(String name, String... fields) {
+        List<Column> columns = new ArrayList<>(fields.length);
+        for (String field : fields) {
+            int mapped = field.indexOf('=');
+            columns.add(mapped < 0
+                    ? new Column(field, field.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase())
+                    : new Column(field.substring(0, mapped), field.substring(mapped + 1)));
+        }
+        return new Table(name, List.copyOf(columns));
+    }
+}
@@ -1,31 +1,47 @@
 package com.starwars.backend.service;
 
+import com.starwars.backend.Utils;
+import com.starwars.backend.dto.CursorPage;
 import com.starwars.backend.dto.FilmDTO;
+import com.starwars.backend.dto.FilmRow;
 import com.starwars.backend.exception.FilmRetrievalException;
-import com.starwars.backend.persisntence.entities.Character;
-import com.starwars.backend.persisntence.entities.Film;
-import com.starwars.backend.persisntence.entities.Planet;
-import com.starwars.backend.persisntence.entities.Species;
-import com.starwars.backend.persisntence.entities.Starship;
-import com.starwars.backend.persisntence.entities.Vehicle;
+import com.starwars.backend.exception.InvalidCursorException;
 import com.starwars.backend.persisntence.repository.FilmRepository;
+import com.starwars.backend.integration.SwapiResource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FilmService {
 
+    private static final KeysetQuery<FilmRow> SCROLL = KeysetQuery.of(FilmRow.class,
+                    FilmRepository.FILM_ROWS, "f", FilmRepository.FILM_MATCH, FilmRow::id)
+            .key("title", "f.title", String.class, FilmRow::title)
+            .key("created", "f.created", OffsetDateTime.class, FilmRow::created)
+            .cacheable();
+
     private final FilmRepository filmRepository;
+    private final KeysetPager keysetPager;
+    private final ReadMetrics readMetrics;
 
     @Transactional(readOnly = true)
     public Page<FilmDTO> getFilms(String search, Pageable pageable) {
+        return readMetrics.page(SwapiResource.FILMS, search, () -> findFilms(search, pageable));
+    }
+
+    private Page<FilmDTO> findFilms(String search, Pageable pageable) {
         Pageable fixedPageable = PageRequest.of(
                 pageable.getPageNumber(),
                 15,
@@ -33,33 +49,52 @@ public class FilmService {
         );
 
         try {
-            Page<Film> films;
+            Page<FilmRow> films;
 
             if (search != null && !search.isBlank()) {
-                films = filmRepository.findByTitleContainingIgnoreCase(search, fixedPageable);
+                films = filmRepository.findRowsMatching(Utils.containsPattern(search), fixedPageable);
             } else {
-                films = filmRepository.findAll(fixedPageable);
+                films = filmRepository.findRows(fixedPageable);
             }
 
-            return films.map(film -> new FilmDTO(
-                    film.getTitle(),
-                    film.getEpisodeId(),
-                    film.getOpeningCrawl(),
-                    film.getDirector(),
-                    film.getProducer(),
-                    film.getReleaseDate() != null ? film.getReleaseDate().toLocalDate().toString() : null,
-                    film.getCharacters().stream().map(Character::getName).toList(),
-                    film.getPlanets().stream().map(Planet::getName).toList(),
-                    film.getStarships().stream().map(Starship::getName).toList(),
-                    film.getVehicles().stream().map(Vehicle::getName).toList(),
-                    film.getSpecies().stream().map(Species::getName).toList(),
-                    film.getCreated(),
-                    film.getEdited(),
-                    film.getUrl()
-            ));
+            return new PageImpl<>(toDtos(films.getContent()), films.getPageable(), films.getTotalElements());
         } catch (Exception ex) {
             log.error("Failed to retrieve films from the database", ex);
             throw new FilmRetrievalException("Unable to retrieve films at this time", ex);
         }
     }
+
+    @Transactional(readOnly = true)
+    public CursorPage<FilmDTO> scrollFilms(String search, Sort sort, String cursor, int size) {
+        return readMetrics.scroll(SwapiResource.FILMS, search, () -> findFilmsSlice(search, sort, cursor, size));
+    }
+
+    private CursorPage<FilmDTO> findFilmsSlice(String search, Sort sort, String cursor, int size) {
+        String pattern = search != null && !search.isBlank() ? Utils.containsPattern(search) : null;
+        try {
+            return keysetPager.scroll(SCROLL, pattern, sort, cursor, size).withContent(this::toDtos);
+        } catch (InvalidCursorException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Failed to scroll films from the database", ex);
+            throw new FilmRetrievalException("Unable to retrieve films at this time", ex);
+        }
+    }
+
+    private List<FilmDTO> toDtos(List<FilmRow> rows) {
+        List<Long> ids = rows.stream().map(FilmRow::id).toList();
+        RelationIndex characters = RelationIndex.load(ids, filmRepository::findCharacterNames);
+        RelationIndex planets = RelationIndex.load(ids, filmRepository::findPlanetNames);
+        RelationIndex starships = RelationIndex.load(ids, filmRepository::findStarshipNames);
+        RelationIndex vehicles = RelationIndex.load(ids, filmRepository::findVehicleNames);
+        RelationIndex species = RelationIndex.load(ids, filmRepository::findSpeciesNames);
+
+        return rows.stream().map(row -> row.toDto(
+                characters.names(row.id()),
+                planets.names(row.id()),
+                starships.names(row.id()),
+                vehicles.names(row.id()),
+                species.names(row.id())
+        )).toList();
+    }
 }
@@ -0,0 +1,60 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a slice: the sort key, its direction and the
+ * row's sort value and id, encoded as an opaque url-safe token.
+ */
+record KeysetCursor(String property, Sort.Direction direction, Object key, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        String token = property + SEPARATOR + direction + SEPARATOR + id + SEPARATOR + encodeKey(key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", 4);
+            if (parts.length != 4) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            return new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]), decodeKey(parts[3]), Long.parseLong(parts[2]));
+        } catch (InvalidCursorException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException("Malformed cursor", ex);
+        }
+    }
+
+    private static String encodeKey(Object key) {
+        return switch (key) {
+            case null -> "-";
+            case String value -> "s" + value;
+            case OffsetDateTime value -> "t" + value;
+            case Number value -> "n" + value.longValue();
+            default -> throw new IllegalArgumentException("Unsupported cursor key " + key.getClass());
+        };
+    }
+
+    private static Object decodeKey(String encoded) {
+        if (encoded.equals("-")) {
+            return null;
+        }
+        String value = encoded.substring(1);
+        return switch (encoded.charAt(0)) {
+            case 's' -> value;
+            case 't' -> OffsetDateTime.parse(value);
+            case 'n' -> Long.parseLong(value);
+            default -> throw new InvalidCursorException("Malformed cursor key");
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.dto.CursorPage;
+import com.starwars.backend.exception.InvalidCursorException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs keyset (seek) pagination over a {@link KeysetQuery}. Each slice is a range
+ * query on {@code (sort key, id)} that reads one row past the requested size to
+ * detect the end, so deep slices cost the same as the first and no
+ * {@code COUNT(*)} is issued. A slice that runs into the block of null keys reads
+ * that block with a second range query.
+ *
+ * <p>Nullable sort keys follow PostgreSQL's native index order: nulls last when
+ * ascending and first when descending.
+ */
+@Component
+public class KeysetPager {
+
+    public static final int DEFAULT_SIZE = 15;
+    public static final int MAX_SIZE = 100;
+
+    private final EntityManager entityManager;
+
+    public KeysetPager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    <R> CursorPage<R> scroll(KeysetQuery<R> query, String pattern, Sort sort, String cursor, int size) {
+        int limit = Math.clamp(size, 1, MAX_SIZE);
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(KeysetQuery.ID));
+        KeysetQuery.Key<R> key = query.key(order.getProperty());
+        if (key == null) {
+            throw new InvalidCursorException("Unsupported sort property '" + order.getProperty() + "'");
+        }
+
+        KeysetCursor position = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        if (position != null && (!position.property().equals(order.getProperty()) || position.direction() != order.getDirection())) {
+            throw new InvalidCursorException("Cursor does not match the requested sort");
+        }
+
+        if (position != null && position.key() != null && !key.type().isInstance(position.key())) {
+            throw new InvalidCursorException("Cursor key does not match sort property '" + order.getProperty() + "'");
+        }
+
+        boolean ascending = order.isAscending();
+        List<R> rows;
+        if (position == null) {
+            rows = fetch(query, key, ascending, pattern, null, null, limit + 1);
+        } else {
+            rows = new ArrayList<>(limit + 1);
+            for (String seek : seekPredicates(key, query.alias(), ascending, position.key() == null)) {
+                rows.addAll(fetch(query, key, ascending, pattern, seek, position, limit + 1 - rows.size()));
+                if (rows.size() > limit) {
+                    break;
+                }
+            }
+        }
+
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, limit, null);
+        }
+        rows = rows.subList(0, limit);
+        R lastRow = rows.getLast();
+        String next = new KeysetCursor(order.getProperty(), order.getDirection(),
+                key.value().apply(lastRow), query.id(lastRow)).encode();
+        return new CursorPage<>(List.copyOf(rows), limit, next);
+    }
+
+    private <R> List<R> fetch(KeysetQuery<R> query, KeysetQuery.Key<R> key, boolean ascending, String pattern,
+                              String seek, KeysetCursor position, int maxResults) {
+        String alias = query.alias();
+        List<String> predicates = new ArrayList<>(2);
+        if (pattern != null) {
+            predicates.add(query.searchPredicate());
+        }
+        if (seek != null) {
+            predicates.add(seek);
+        }
+
+        StringBuilder jpql = new StringBuilder(query.select());
+        if (!predicates.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        String direction = ascending ? "ASC" : "DESC";
+        jpql.append(" ORDER BY ").append(key.path()).append(' ').append(direction);
+        if (key.nullable()) {
+            jpql.append(ascending ? " NULLS LAST" : " NULLS FIRST");
+        }
+        if (!query.isId(key)) {
+            jpql.append(", ").append(alias).append(".id ").append(direction);
+        }
+
+        TypedQuery<R> typed = entityManager.createQuery(jpql.toString(), query.rowType()).setMaxResults(maxResults);
+        if (query.isCacheable()) {
+            typed.setHint(HibernateHints.HINT_CACHEABLE, true);
+        }
+        if (pattern != null) {
+            typed.setParameter("pattern", pattern);
+        }
+        if (seek != null && seek.contains(":afterId")) {
+            typed.setParameter("afterId", position.id());
+        }
+        if (seek != null && seek.contains(":afterKey")) {
+            typed.setParameter("afterKey", position.key());
+        }
+        return typed.getResultList();
+    }
+
+    /**
+     * The predicates that select the rows after the cursor, one query each, in slice order.
+     * Each one is a plain range on {@code (sort key, id)} or on the block of null keys; the
+     * two are never OR-ed together, which would stop PostgreSQL from range-scanning the index.
+     */
+    private static List<String> seekPredicates(KeysetQuery.Key<?> key, String alias, boolean ascending, boolean afterNull) {
+        String id = alias + ".id";
+        String comparison = ascending ? ">" : "<";
+        if (!key.nullable()) {
+            return List.of(id + " " + comparison + " :afterId");
+        }
+        String column = key.path();
+        if (afterNull) {
+            // Inside the block of null keys: ascending has nothing after it, descending continues into non-null keys.
+            String nulls = "(" + column + " IS NULL AND " + id + " " + comparison + " :afterId)";
+            return ascending ? List.of(nulls) : List.of(nulls, column + " IS NOT NULL");
+        }
+        String tuple = "(" + column + ", " + id + ") " + comparison + " (:afterKey, :afterId)";
+        return ascending ? List.of(tuple, column + " IS NULL") : List.of(tuple);
+    }
+}
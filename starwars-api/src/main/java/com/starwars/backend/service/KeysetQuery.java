@@ -0,0 +1,84 @@
+package com.starwars.backend.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Describes how one resource's list rows can be scrolled: the row select, the
+ * search predicate and the sortable columns, each paired with an accessor that
+ * reads the value back from a row to build the next cursor.
+ */
+final class KeysetQuery<R> {
+
+    static final String ID = "id";
+
+    record Key<R>(String path, boolean nullable, Class<?> type, Function<R, Object> value) {
+    }
+
+    private final Class<R> rowType;
+    private final String select;
+    private final String alias;
+    private final String searchPredicate;
+    private final Function<R, Long> id;
+    private final Map<String, Key<R>> keys = new LinkedHashMap<>();
+    private boolean cacheable;
+
+    private KeysetQuery(Class<R> rowType, String select, String alias, String searchPredicate, Function<R, Long> id) {
+        this.rowType = rowType;
+        this.select = select;
+        this.alias = alias;
+        this.searchPredicate = searchPredicate;
+        this.id = id;
+        keys.put(ID, new Key<>(alias + ".id", false, Long.class, id::apply));
+    }
+
+    static <R> KeysetQuery<R> of(Class<R> rowType, String select, String alias, String searchPredicate, Function<R, Long> id) {
+        return new KeysetQuery<>(rowType, select, alias, searchPredicate, id);
+    }
+
+    <T> KeysetQuery<R> key(String property, String path, Class<T> type, Function<R, T> value) {
+        keys.put(property, new Key<>(path, true, type, value::apply));
+        return this;
+    }
+
+    /**
+     * Keeps the slices in Hibernate's query cache, for read-mostly reference data.
+     */
+    KeysetQuery<R> cacheable() {
+        this.cacheable = true;
+        return this;
+    }
+
+    Class<R> rowType() {
+        return rowType;
+    }
+
+    String select() {
+        return select;
+    }
+
+    String alias() {
+        return alias;
+    }
+
+    String searchPredicate() {
+        return searchPredicate;
+    }
+
+    boolean isCacheable() {
+        return cacheable;
+    }
+
+    Key<R> key(String property) {
+        return keys.get(property);
+    }
+
+    boolean isId(Key<R> key) {
+        return key == keys.get(ID);
+    }
+
+    long id(R row) {
+        return id.apply(row);
+    }
+}
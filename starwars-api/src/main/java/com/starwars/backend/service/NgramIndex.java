@@ -0,0 +1,251 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Immutable trigram inverted index over the names of one entity type. Postings are
+ * sorted {@code int[]} arrays of document ordinals. A query intersects the postings of
+ * its trigrams and confirms each candidate with a substring check, so a collision
+ * between trigram keys costs one comparison but never yields a wrong hit.
+ * <p>
+ * Single-row changes produce a new index with {@link #with} and {@link #without}, which
+ * share everything but the touched postings. A removed document keeps its ordinal as a
+ * tombstone until the next {@link #build}.
+ */
+final class NgramIndex {
+
+    static final int GRAM = 3;
+    static final NgramIndex EMPTY = build(List.of(), row -> 0L, row -> "");
+
+    private static final int[] NO_DOCS = new int[0];
+
+    record Match(long id, String name, int score) {
+    }
+
+    record Result(int total, List<Match> matches) {
+    }
+
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::score).reversed()
+            .thenComparingInt(match -> match.name().length())
+            .thenComparing(Match::name);
+
+    private final long[] ids;
+    private final String[] names;
+    private final String[] folded;
+    private final IntObjectMap<int[]> postings;
+    private final int live;
+
+    private NgramIndex(long[] ids, String[] names, String[] folded, IntObjectMap<int[]> postings, int live) {
+        this.ids = ids;
+        this.names = names;
+        this.folded = folded;
+        this.postings = postings;
+        this.live = live;
+    }
+
+    static <T> NgramIndex build(List<T> rows, Function<T, Long> id, Function<T, String> name) {
+        int size = rows.size();
+        long[] ids = new long[size];
+        String[] names = new String[size];
+        String[] folded = new String[size];
+        IntObjectMap<IntList> lists = new IntObjectMap<>(size * 8);
+        for (int doc = 0; doc < size; doc++) {
+            T row = rows.get(doc);
+            ids[doc] = id.apply(row);
+            names[doc] = name.apply(row);
+            folded[doc] = fold(names[doc]);
+            for (int i = 0; i + GRAM <= folded[doc].length(); i++) {
+                lists.computeIfAbsent(key(folded[doc], i), k -> new IntList()).addOnce(doc);
+            }
+        }
+        IntObjectMap<int[]> postings = new IntObjectMap<>(lists.size());
+        lists.forEach((key, list) -> postings.put(key, list.toArray()));
+        return new NgramIndex(ids, names, folded, postings, size);
+    }
+
+    static String fold(String text) {
+        return text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    int size() {
+        return live;
+    }
+
+    /**
+     * Returns an index in which document {@code id} is named {@code name}, replacing its
+     * previous name if it had one.
+     */
+    NgramIndex with(long id, String name) {
+        int doc = indexOf(id);
+        IntObjectMap<int[]> next = new IntObjectMap<>(postings);
+        String[] nextNames = names.clone();
+        String[] nextFolded = folded.clone();
+        if (doc >= 0) {
+            unlink(next, nextNames, nextFolded, doc);
+        }
+        int added = ids.length;
+        long[] nextIds = Arrays.copyOf(ids, added + 1);
+        nextNames = Arrays.copyOf(nextNames, added + 1);
+        nextFolded = Arrays.copyOf(nextFolded, added + 1);
+        nextIds[added] = id;
+        nextNames[added] = name;
+        nextFolded[added] = fold(name);
+        for (int i = 0; i + GRAM <= nextFolded[added].length(); i++) {
+            int key = key(nextFolded[added], i);
+            int[] list = next.get(key);
+            if (list == null) {
+                next.put(key, new int[]{added});
+            } else if (list.length == 0 || list[list.length - 1] != added) {
+                int[] grown = Arrays.copyOf(list, list.length + 1);
+                grown[list.length] = added;
+                next.put(key, grown);
+            }
+        }
+        return new NgramIndex(nextIds, nextNames, nextFolded, next, doc >= 0 ? live : live + 1);
+    }
+
+    /**
+     * Returns an index without document {@code id}, or this index if it has no such document.
+     */
+    NgramIndex without(long id) {
+        int doc = indexOf(id);
+        if (doc < 0) {
+            return this;
+        }
+        IntObjectMap<int[]> next = new IntObjectMap<>(postings);
+        String[] nextNames = names.clone();
+        String[] nextFolded = folded.clone();
+        unlink(next, nextNames, nextFolded, doc);
+        return new NgramIndex(ids, nextNames, nextFolded, next, live - 1);
+    }
+
+    /**
+     * Finds names containing {@code query}, which must already be {@link #fold folded},
+     * returning the total match count and the best {@code limit} matches.
+     */
+    Result search(String query, int limit) {
+        int[] candidates = candidates(query);
+        List<Match> matches = new ArrayList<>();
+        for (int doc : candidates) {
+            if (folded[doc] == null) {
+                continue;
+            }
+            int at = folded[doc].indexOf(query);
+            if (at >= 0) {
+                matches.add(new Match(ids[doc], names[doc], score(folded[doc], query, at)));
+            }
+        }
+        matches.sort(RANKING);
+        return new Result(matches.size(), matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches);
+    }
+
+    private int[] candidates(String query) {
+        if (query.length() < GRAM) {
+            int[] all = new int[ids.length];
+            Arrays.setAll(all, doc -> doc);
+            return all;
+        }
+        int[][] lists = new int[query.length() - GRAM + 1][];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(key(query, i));
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+        int[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, lists[i]);
+        }
+        return result;
+    }
+
+    private int indexOf(long id) {
+        for (int doc = 0; doc < ids.length; doc++) {
+            if (ids[doc] == id && folded[doc] != null) {
+                return doc;
+            }
+        }
+        return -1;
+    }
+
+    private static void unlink(IntObjectMap<int[]> postings, String[] names, String[] folded, int doc) {
+        for (int i = 0; i + GRAM <= folded[doc].length(); i++) {
+            int key = key(folded[doc], i);
+            int[] list = postings.get(key);
+            int at = Arrays.binarySearch(list, doc);
+            if (at < 0) {
+                continue;
+            }
+            int[] shrunk = list.length == 1 ? NO_DOCS : new int[list.length - 1];
+            System.arraycopy(list, 0, shrunk, 0, at);
+            System.arraycopy(list, at + 1, shrunk, at, list.length - at - 1);
+            postings.put(key, shrunk);
+        }
+        names[doc] = null;
+        folded[doc] = null;
+    }
+
+    private static int score(String name, String query, int firstIndex) {
+        if (name.length() == query.length()) {
+            return 100;
+        }
+        if (firstIndex == 0) {
+            return 75;
+        }
+        for (int at = firstIndex; at >= 0; at = name.indexOf(query, at + 1)) {
+            if (!Character.isLetterOrDigit(name.charAt(at - 1))) {
+                return 50;
+            }
+        }
+        return 25;
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] out = new int[Math.min(left.length, right.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                out[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return size == out.length ? out : Arrays.copyOf(out, size);
+    }
+
+    private static int key(String text, int at) {
+        return (text.charAt(at) << 20) ^ (text.charAt(at + 1) << 10) ^ text.charAt(at + 2);
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void addOnce(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
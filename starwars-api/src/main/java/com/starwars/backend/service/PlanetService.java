@@ -1,28 +1,47 @@
 package com.starwars.backend.service;
 
+import com.starwars.backend.Utils;
+import com.starwars.backend.dto.CursorPage;
 import com.starwars.backend.dto.PlanetDTO;
+import com.starwars.backend.dto.PlanetRow;
+import com.starwars.backend.exception.InvalidCursorException;
 import com.starwars.backend.exception.PlanetRetrievalException;
-import com.starwars.backend.persisntence.entities.Character;
-import com.starwars.backend.persisntence.entities.Film;
-import com.starwars.backend.persisntence.entities.Planet;
 import com.starwars.backend.persisntence.repository.PlanetRepository;
+import com.starwars.backend.integration.SwapiResource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PlanetService {
 
+    private static final KeysetQuery<PlanetRow> SCROLL = KeysetQuery.of(PlanetRow.class,
+                    PlanetRepository.PLANET_ROWS, "p", PlanetRepository.PLANET_MATCH, PlanetRow::id)
+            .key("name", "p.name", String.class, PlanetRow::name)
+            .key("created", "p.created", OffsetDateTime.class, PlanetRow::created)
+            .cacheable();
+
     private final PlanetRepository planetRepository;
+    private final KeysetPager keysetPager;
+    private final ReadMetrics readMetrics;
 
     @Transactional(readOnly = true)
     public Page<PlanetDTO> getPlanets(String search, Pageable pageable) {
+        return readMetrics.page(SwapiResource.PLANETS, search, () -> findPlanets(search, pageable));
+    }
+
+    private Page<PlanetDTO> findPlanets(String search, Pageable pageable) {
         Pageable fixedPageable = PageRequest.of(
                 pageable.getPageNumber(),
                 15,
@@ -30,33 +49,43 @@ public class PlanetService {
         );
 
         try {
-            Page<Planet> planets;
+            Page<PlanetRow> planets;
 
             if (search != null && !search.isBlank()) {
-                planets = planetRepository.findByNameContainingIgnoreCase(search, fixedPageable);
+                planets = planetRepository.findRowsMatching(Utils.containsPattern(search), fixedPageable);
             } else {
-                planets = planetRepository.findAll(fixedPageable);
+                planets = planetRepository.findRows(fixedPageable);
             }
 
-            return planets.map(planet -> new PlanetDTO(
-                    planet.getName(),
-                    planet.getRotationPeriod(),
-                    planet.getOrbitalPeriod(),
-                    planet.getDiameter(),
-                    planet.getClimate(),
-                    planet.getGravity(),
-                    planet.getTerrain(),
-                    planet.getSurfaceWater(),
-                    planet.getPopulation(),
-                    planet.getResidents().stream().map(Character::getName).toList(),
-                    planet.getFilms().stream().map(Film::getTitle).toList(),
-                    planet.getCreated(),
-                    planet.getEdited(),
-                    planet.getUrl()
-            ));
+            return new PageImpl<>(toDtos(planets.getContent()), planets.getPageable(), planets.getTotalElements());
         } catch (Exception ex) {
             log.error("Failed to fetch planets from the database", ex);
             throw new PlanetRetrievalException("Unable to retrieve planets at this time", ex);
         }
     }
+
+    @Transactional(readOnly = true)
+    public CursorPage<PlanetDTO> scrollPlanets(String search, Sort sort, String cursor, int size) {
+        return readMetrics.scroll(SwapiResource.PLANETS, search, () -> findPlanetsSlice(search, sort, cursor, size));
+    }
+
+    private CursorPage<PlanetDTO> findPlanetsSlice(String search, Sort sort, String cursor, int size) {
+        String pattern = search != null && !search.isBlank() ? Utils.containsPattern(search) : null;
+        try {
+            return keysetPager.scroll(SCROLL, pattern, sort, cursor, size).withContent(this::toDtos);
+        } catch (InvalidCursorException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Failed to scroll planets from the database", ex);
+            throw new PlanetRetrievalException("Unable to retrieve planets at this time", ex);
+        }
+    }
+
+    private List<PlanetDTO> toDtos(List<PlanetRow> rows) {
+        List<Long> ids = rows.stream().map(PlanetRow::id).toList();
+        RelationIndex residents = RelationIndex.load(ids, planetRepository::findResidentNames);
+        RelationIndex films = RelationIndex.load(ids, planetRepository::findFilmNames);
+
+        return rows.stream().map(row -> row.toDto(residents.names(row.id()), films.names(row.id()))).toList();
+    }
 }
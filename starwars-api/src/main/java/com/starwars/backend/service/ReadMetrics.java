@@ -0,0 +1,54 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.dto.CursorPage;
+import com.starwars.backend.integration.SwapiResource;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Micrometer meters for the list services: latency and result size per resource, list mode
+ * and whether a search term was given. Search terms themselves are never used as tags.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadMetrics {
+
+    private final MeterRegistry registry;
+
+    public <T> Page<T> page(SwapiResource resource, String search, Supplier<Page<T>> query) {
+        return record(resource, "page", search, query, Page::getNumberOfElements);
+    }
+
+    public <T> CursorPage<T> scroll(SwapiResource resource, String search, Supplier<CursorPage<T>> query) {
+        return record(resource, "scroll", search, query, slice -> slice.content().size());
+    }
+
+    private <R> R record(SwapiResource resource, String mode, String search, Supplier<R> query, ToIntFunction<R> size) {
+        String type = resource.name().toLowerCase();
+        String searched = Boolean.toString(search != null && !search.isBlank());
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            R result = query.get();
+            DistributionSummary.builder("starwars.list.results")
+                    .description("Rows returned per list call")
+                    .tags("resource", type, "mode", mode, "search", searched)
+                    .register(registry)
+                    .record(size.applyAsInt(result));
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("starwars.list.requests")
+                    .description("List service calls")
+                    .tags("resource", type, "mode", mode, "search", searched, "outcome", outcome)
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.dto.RelationName;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Groups the relation rows loaded for one page by owner id.
+ */
+final class RelationIndex {
+
+    private final Map<Long, List<RelationName>> byOwner = new HashMap<>();
+
+    static RelationIndex load(List<Long> ownerIds, Function<Collection<Long>, List<RelationName>> query) {
+        return new RelationIndex(ownerIds.isEmpty() ? List.of() : query.apply(ownerIds));
+    }
+
+    RelationIndex(List<RelationName> relations) {
+        for (RelationName relation : relations) {
+            byOwner.computeIfAbsent(relation.ownerId(), id -> new ArrayList<>()).add(relation);
+        }
+    }
+
+    List<String> names(Long ownerId) {
+        List<RelationName> relations = byOwner.getOrDefault(ownerId, List.of());
+        List<String> names = new ArrayList<>(relations.size());
+        for (RelationName relation : relations) {
+            names.add(relation.name());
+        }
+        return names;
+    }
+
+    Set<Long> ids(Long ownerId) {
+        List<RelationName> relations = byOwner.getOrDefault(ownerId, List.of());
+        Set<Long> ids = new LinkedHashSet<>(relations.size() * 2);
+        for (RelationName relation : relations) {
+            ids.add(relation.id());
+        }
+        return ids;
+    }
+
+    String firstName(Long ownerId, String fallback) {
+        List<RelationName> relations = byOwner.get(ownerId);
+        return relations == null || relations.isEmpty() ? fallback : relations.getFirst().name();
+    }
+}
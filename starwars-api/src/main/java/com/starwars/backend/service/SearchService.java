@@ -0,0 +1,205 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.dto.FilmSupportOption;
+import com.starwars.backend.dto.SearchGroup;
+import com.starwars.backend.dto.SearchHit;
+import com.starwars.backend.dto.SearchResults;
+import com.starwars.backend.dto.SupportOption;
+import com.starwars.backend.event.DatasetChangedEvent;
+import com.starwars.backend.integration.SwapiResource;
+import com.starwars.backend.persisntence.repository.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Cross-entity name search served from an in-process trigram index with one
+ * {@link NgramIndex} segment per SWAPI resource type. Lookups only read the current
+ * segments and never touch the database. A {@link DatasetChangedEvent} for a single row
+ * patches that row into its segment; any other change reloads the segments of the changed
+ * types on a background task, and a segment that fails to reload keeps serving its old
+ * contents until a later retry succeeds.
+ */
+@Service
+@Slf4j
+public class SearchService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private static final Comparator<SearchGroup> BEST_FIRST =
+            Comparator.comparingInt((SearchGroup group) -> group.hits().getFirst().score()).reversed();
+
+    private final Map<SwapiResource, Supplier<NgramIndex>> loaders = new EnumMap<>(SwapiResource.class);
+    private final TaskExecutor applicationTaskExecutor;
+    private final Set<SwapiResource> stale = EnumSet.allOf(SwapiResource.class);
+    private final Set<SwapiResource> loading = EnumSet.noneOf(SwapiResource.class);
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile Map<SwapiResource, NgramIndex> segments = Collections.emptyMap();
+    private volatile long generation;
+
+    public SearchService(PlanetRepository planetRepository,
+                         FilmRepository filmRepository,
+                         SpeciesRepository speciesRepository,
+                         CharacterRepository characterRepository,
+                         StarshipRepository starshipRepository,
+                         VehicleRepository vehicleRepository,
+                         TaskExecutor applicationTaskExecutor) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+        loaders.put(SwapiResource.PLANETS, () -> options(planetRepository.findSupportOptions()));
+        loaders.put(SwapiResource.FILMS, () -> NgramIndex.build(filmRepository.findSupportOptions(),
+                FilmSupportOption::id, FilmSupportOption::title));
+        loaders.put(SwapiResource.SPECIES, () -> options(speciesRepository.findSupportOptions()));
+        loaders.put(SwapiResource.CHARACTERS, () -> options(characterRepository.findSupportOptions()));
+        loaders.put(SwapiResource.STARSHIPS, () -> options(starshipRepository.findSupportOptions()));
+        loaders.put(SwapiResource.VEHICLES, () -> options(vehicleRepository.findSupportOptions()));
+    }
+
+    /**
+     * Strong ETag of the index generation being served. It changes when the segments do,
+     * not when the dataset version does, because segments are rebuilt after the commit.
+     */
+    public String etag() {
+        return "\"" + epoch + "-" + generation + "\"";
+    }
+
+    public SearchResults search(String query, int limit) {
+        String folded = query == null ? "" : NgramIndex.fold(query);
+        if (folded.isEmpty()) {
+            return new SearchResults(query, 0, List.of());
+        }
+
+        int max = Math.clamp(limit, 1, MAX_LIMIT);
+        List<SearchGroup> groups = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<SwapiResource, NgramIndex> segment : segments.entrySet()) {
+            NgramIndex.Result result = segment.getValue().search(folded, max);
+            if (result.total() == 0) {
+                continue;
+            }
+            List<SearchHit> hits = new ArrayList<>(result.matches().size());
+            for (NgramIndex.Match match : result.matches()) {
+                hits.add(new SearchHit(match.id(), match.name(), match.score()));
+            }
+            groups.add(new SearchGroup(segment.getKey().name().toLowerCase(Locale.ROOT), result.total(), hits));
+            total += result.total();
+        }
+        groups.sort(BEST_FIRST);
+        return new SearchResults(query, total, groups);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatasetChanged(DatasetChangedEvent event) {
+        if (event.row() != null && patch(event.row())) {
+            return;
+        }
+        synchronized (this) {
+            stale.addAll(event.resources());
+        }
+        applicationTaskExecutor.execute(this::refresh);
+    }
+
+    @Scheduled(fixedDelayString = "${swapi.search.retry-delay:30s}", initialDelayString = "${swapi.search.retry-delay:30s}")
+    public void retryStaleSegments() {
+        synchronized (this) {
+            if (stale.isEmpty()) {
+                return;
+            }
+        }
+        applicationTaskExecutor.execute(this::refresh);
+    }
+
+    /**
+     * Reloads the stale segments. The repositories are queried outside the lock, so row
+     * patches are not held up by a reload. A type that changes again while it loads is
+     * reloaded once more, and one that fails to load waits for {@link #retryStaleSegments}.
+     */
+    void refresh() {
+        Set<SwapiResource> batch;
+        synchronized (this) {
+            batch = EnumSet.copyOf(stale);
+            batch.removeAll(loading);
+            if (batch.isEmpty()) {
+                return;
+            }
+            stale.removeAll(batch);
+            loading.addAll(batch);
+        }
+        Map<SwapiResource, NgramIndex> loaded = new EnumMap<>(SwapiResource.class);
+        for (SwapiResource resource : batch) {
+            try {
+                NgramIndex segment = loaders.get(resource).get();
+                loaded.put(resource, segment);
+                log.debug("Search index segment {} rebuilt with {} names", resource, segment.size());
+            } catch (RuntimeException ex) {
+                log.warn("Search index segment {} could not be rebuilt: {}", resource, ex.getMessage());
+            }
+        }
+        boolean changedWhileLoading = false;
+        synchronized (this) {
+            loading.removeAll(batch);
+            Map<SwapiResource, NgramIndex> next = new EnumMap<>(SwapiResource.class);
+            next.putAll(segments);
+            for (SwapiResource resource : batch) {
+                if (!loaded.containsKey(resource)) {
+                    stale.add(resource);
+                } else if (stale.contains(resource)) {
+                    changedWhileLoading = true;
+                } else {
+                    next.put(resource, loaded.get(resource));
+                }
+            }
+            publish(next);
+        }
+        if (changedWhileLoading) {
+            applicationTaskExecutor.execute(this::refresh);
+        }
+    }
+
+    private synchronized boolean patch(DatasetChangedEvent.Row row) {
+        NgramIndex segment = segments.get(row.resource());
+        if (segment == null || stale.contains(row.resource()) || loading.contains(row.resource())) {
+            return false;
+        }
+        Map<SwapiResource, NgramIndex> next = new EnumMap<>(SwapiResource.class);
+        next.putAll(segments);
+        next.put(row.resource(), row.deleted() ? segment.without(row.id()) : segment.with(row.id(), row.name()));
+        publish(next);
+        return true;
+    }
+
+    /**
+     * Installs new segments before bumping the generation, so a caller that reads
+     * {@link #etag()} and then searches can get newer results than the tag, never older.
+     */
+    private void publish(Map<SwapiResource, NgramIndex> next) {
+        segments = Collections.unmodifiableMap(next);
+        generation++;
+    }
+
+    private static NgramIndex options(List<SupportOption> options) {
+        return NgramIndex.build(options, SupportOption::id, SupportOption::name);
+    }
+}
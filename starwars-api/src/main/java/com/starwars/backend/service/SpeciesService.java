@@ -1,29 +1,47 @@
 package com.starwars.backend.service;
 
+import com.starwars.backend.Utils;
+import com.starwars.backend.dto.CursorPage;
 import com.starwars.backend.dto.SpeciesDTO;
+import com.starwars.backend.dto.SpeciesRow;
+import com.starwars.backend.exception.InvalidCursorException;
 import com.starwars.backend.exception.SpeciesRetrievalException;
-import com.starwars.backend.persisntence.entities.Character;
-import com.starwars.backend.persisntence.entities.Film;
-import com.starwars.backend.persisntence.entities.Planet;
-import com.starwars.backend.persisntence.entities.Species;
 import com.starwars.backend.persisntence.repository.SpeciesRepository;
+import com.starwars.backend.integration.SwapiResource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SpeciesService {
 
+    private static final KeysetQuery<SpeciesRow> SCROLL = KeysetQuery.of(SpeciesRow.class,
+                    SpeciesRepository.SPECIES_ROWS, "s", SpeciesRepository.SPECIES_MATCH, SpeciesRow::id)
+            .key("name", "s.name", String.class, SpeciesRow::name)
+            .key("created", "s.created", OffsetDateTime.class, SpeciesRow::created)
+            .cacheable();
+
     private final SpeciesRepository speciesRepository;
+    private final KeysetPager keysetPager;
+    private final ReadMetrics readMetrics;
 
     @Transactional(readOnly = true)
     public Page<SpeciesDTO> getSpecies(String search, Pageable pageable) {
+        return readMetrics.page(SwapiResource.SPECIES, search, () -> findSpecies(search, pageable));
+    }
+
+    private Page<SpeciesDTO> findSpecies(String search, Pageable pageable) {
         Pageable fixedPageable = PageRequest.of(
                 pageable.getPageNumber(),
                 15,
@@ -31,45 +49,50 @@ public class SpeciesService {
         );
 
         try {
-            Page<Species> species;
+            Page<SpeciesRow> species;
             if (search != null && !search.isBlank()) {
                 log.info("Searching species with name containing '{}'", search);
-                species = speciesRepository.findByNameContainingIgnoreCase(search, fixedPageable);
+                species = speciesRepository.findRowsMatching(Utils.containsPattern(search), fixedPageable);
             } else {
                 log.info("Fetching all species without search filter");
-                species = speciesRepository.findAll(fixedPageable);
+                species = speciesRepository.findRows(fixedPageable);
             }
 
-            return species.map(s -> {
-                String homeworld = s.getCharacters().stream()
-                        .map(Character::getHomeworld)
-                        .filter(p -> p != null && p.getName() != null)
-                        .map(Planet::getName)
-                        .findFirst()
-                        .orElse("Unknown");
-
-                return new SpeciesDTO(
-                        s.getName(),
-                        s.getClassification(),
-                        s.getDesignation(),
-                        s.getAverageHeight(),
-                        s.getSkinColors(),
-                        s.getHairColors(),
-                        s.getEyeColors(),
-                        s.getAverageLifespan(),
-                        s.getLanguage(),
-                        s.getCharacters().stream().map(Character::getName).toList(),
-                        s.getFilms().stream().map(Film::getTitle).toList(),
-                        s.getCreated(),
-                        s.getEdited(),
-                        s.getUrl(),
-                        homeworld
-                );
-            });
+            return new PageImpl<>(toDtos(species.getContent()), species.getPageable(), species.getTotalElements());
 
         } catch (Exception ex) {
             log.error("Failed to retrieve species from database", ex);
             throw new SpeciesRetrievalException("Unable to retrieve species", ex);
         }
     }
+
+    @Transactional(readOnly = true)
+    public CursorPage<SpeciesDTO> scrollSpecies(String search, Sort sort, String cursor, int size) {
+        return readMetrics.scroll(SwapiResource.SPECIES, search, () -> findSpeciesSlice(search, sort, cursor, size));
+    }
+
+    private CursorPage<SpeciesDTO> findSpeciesSlice(String search, Sort sort, String cursor, int size) {
+        String pattern = search != null && !search.isBlank() ? Utils.containsPattern(search) : null;
+        try {
+            return keysetPager.scroll(SCROLL, pattern, sort, cursor, size).withContent(this::toDtos);
+        } catch (InvalidCursorException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Failed to scroll species from database", ex);
+            throw new SpeciesRetrievalException("Unable to retrieve species", ex);
+        }
+    }
+
+    private List<SpeciesDTO> toDtos(List<SpeciesRow> rows) {
+        List<Long> ids = rows.stream().map(SpeciesRow::id).toList();
+        RelationIndex people = RelationIndex.load(ids, speciesRepository::findCharacterNames);
+        RelationIndex films = RelationIndex.load(ids, speciesRepository::findFilmNames);
+        RelationIndex homeworlds = RelationIndex.load(ids, speciesRepository::findCharacterHomeworldNames);
+
+        return rows.stream().map(row -> row.toDto(
+                people.names(row.id()),
+                films.names(row.id()),
+                homeworlds.firstName(row.id(), "Unknown")
+        )).toList();
+    }
 }
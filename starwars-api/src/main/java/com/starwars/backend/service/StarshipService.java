@@ -1,28 +1,47 @@
 package com.starwars.backend.service;
 
+import com.starwars.backend.Utils;
+import com.starwars.backend.dto.CursorPage;
 import com.starwars.backend.dto.StarshipDTO;
+import com.starwars.backend.dto.StarshipRow;
+import com.starwars.backend.exception.InvalidCursorException;
 import com.starwars.backend.exception.StarshipRetrievalException; // ✅ IMPORT: tu excepción personalizada
-import com.starwars.backend.persisntence.entities.Character;
-import com.starwars.backend.persisntence.entities.Film;
-import com.starwars.backend.persisntence.entities.Starship;
 import com.starwars.backend.persisntence.repository.StarshipRepository;
+import com.starwars.backend.integration.SwapiResource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StarshipService {
 
+    private static final KeysetQuery<StarshipRow> SCROLL = KeysetQuery.of(StarshipRow.class,
+                    StarshipRepository.STARSHIP_ROWS, "s", StarshipRepository.STARSHIP_MATCH, StarshipRow::id)
+            .key("name", "s.name", String.class, StarshipRow::name)
+            .key("created", "s.created", OffsetDateTime.class, StarshipRow::created)
+            .cacheable();
+
     private final StarshipRepository starshipRepository;
+    private final KeysetPager keysetPager;
+    private final ReadMetrics readMetrics;
 
     @Transactional(readOnly = true)
     public Page<StarshipDTO> getStarships(String search, Pageable pageable) {
+        return readMetrics.page(SwapiResource.STARSHIPS, search, () -> findStarships(search, pageable));
+    }
+
+    private Page<StarshipDTO> findStarships(String search, Pageable pageable) {
         Pageable fixedPageable = PageRequest.of(
                 pageable.getPageNumber(),
                 15,
@@ -30,42 +49,42 @@ public class StarshipService {
         );
 
         try {
-            Page<Starship> starships;
+            Page<StarshipRow> starships;
             if (search != null && !search.isBlank()) {
-                starships = starshipRepository.findByNameContainingIgnoreCase(search, fixedPageable);
+                starships = starshipRepository.findRowsMatching(Utils.containsPattern(search), fixedPageable);
             } else {
-                starships = starshipRepository.findAll(fixedPageable);
+                starships = starshipRepository.findRows(fixedPageable);
             }
 
-            return starships.map(s -> {
-                log.info("Starship: {}", s.getName());
-                log.info("Films: {}", s.getFilms().stream().map(Film::getTitle).toList());
-                log.info("Pilots: {}", s.getPilots().stream().map(Character::getName).toList());
-
-                return new StarshipDTO(
-                        s.getName(),
-                        s.getModel(),
-                        s.getManufacturer(),
-                        s.getCostInCredits(),
-                        s.getLength(),
-                        s.getMaxAtmospheringSpeed(),
-                        s.getCrew(),
-                        s.getPassengers(),
-                        s.getCargoCapacity(),
-                        s.getConsumables(),
-                        s.getHyperdriveRating(),
-                        s.getMglt(),
-                        s.getStarshipClass(),
-                        s.getPilots().stream().map(Character::getName).toList(),
-                        s.getFilms().stream().map(Film::getTitle).toList(),
-                        s.getCreated(),
-                        s.getEdited(),
-                        s.getUrl()
-                );
-            });
+            return new PageImpl<>(toDtos(starships.getContent()), starships.getPageable(), starships.getTotalElements());
         } catch (Exception e) {
             log.error("Failed to retrieve starships: {}", e.getMessage(), e);
             throw new StarshipRetrievalException("Error retrieving starships", e);
         }
     }
+
+    @Transactional(readOnly = true)
+    public CursorPage<StarshipDTO> scrollStarships(String search, Sort sort, String cursor, int size) {
+        return readMetrics.scroll(SwapiResource.STARSHIPS, search, () -> findStarshipsSlice(search, sort, cursor, size));
+    }
+
+    private CursorPage<StarshipDTO> findStarshipsSlice(String search, Sort sort, String cursor, int size) {
+        String pattern = search != null && !search.isBlank() ? Utils.containsPattern(search) : null;
+        try {
+            return keysetPager.scroll(SCROLL, pattern, sort, cursor, size).withContent(this::toDtos);
+        } catch (InvalidCursorException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Failed to scroll starships", ex);
+            throw new StarshipRetrievalException("Error retrieving starships", ex);
+        }
+    }
+
+    private List<StarshipDTO> toDtos(List<StarshipRow> rows) {
+        List<Long> ids = rows.stream().map(StarshipRow::id).toList();
+        RelationIndex pilots = RelationIndex.load(ids, starshipRepository::findPilotNames);
+        RelationIndex films = RelationIndex.load(ids, starshipRepository::findFilmNames);
+
+        return rows.stream().map(row -> row.toDto(pilots.names(row.id()), films.names(row.id()))).toList();
+    }
 }
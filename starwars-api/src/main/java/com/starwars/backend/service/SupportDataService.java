@@ -0,0 +1,71 @@
+package com.starwars.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.dto.SupportData;
+import com.starwars.backend.persisntence.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves the character form support data as a pre-serialized JSON payload. The payload
+ * is built once from id/name projections and rebuilt only after the {@link DatasetVersion}
+ * moves on.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SupportDataService {
+
+    private final FilmRepository filmRepository;
+    private final SpeciesRepository speciesRepository;
+    private final VehicleRepository vehicleRepository;
+    private final StarshipRepository starshipRepository;
+    private final PlanetRepository planetRepository;
+    private final ObjectMapper objectMapper;
+    private final DatasetVersion datasetVersion;
+
+    private volatile Snapshot snapshot;
+
+    public byte[] getSupportDataJson() {
+        Snapshot current = snapshot;
+        if (current != null && current.version() == datasetVersion.current()) {
+            return current.payload();
+        }
+        return rebuild();
+    }
+
+    private synchronized byte[] rebuild() {
+        long buildVersion = datasetVersion.current();
+        Snapshot current = snapshot;
+        if (current != null && current.version() == buildVersion) {
+            return current.payload();
+        }
+
+        byte[] payload = serialize(load());
+        snapshot = new Snapshot(buildVersion, payload);
+        log.info("Support data snapshot rebuilt ({} bytes)", payload.length);
+        return payload;
+    }
+
+    private SupportData load() {
+        return new SupportData(
+                filmRepository.findSupportOptions(),
+                speciesRepository.findSupportOptions(),
+                vehicleRepository.findSupportOptions(),
+                starshipRepository.findSupportOptions(),
+                planetRepository.findSupportOptions()
+        );
+    }
+
+    private byte[] serialize(SupportData data) {
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize support data", e);
+        }
+    }
+
+    private record Snapshot(long version, byte[] payload) {}
+}
@@ -1,21 +1,65 @@
 package com.starwars.backend.service;
 
-import com.starwars.backend.integration.SwapiSyncService;
-import lombok.RequiredArgsConstructor;
+import com.starwars.backend.integration.SwapiSnapshot;
+import com.starwars.backend.integration.SyncJobManager;
+import com.starwars.backend.integration.SyncStatus;
+import com.starwars.backend.persisntence.entities.SyncRun;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
-import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
 
 @Profile("!test")
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class SwapiInitializer {
 
-    private final SwapiSyncService swapiSyncService;
+    private final SyncJobManager syncJobManager;
+    private final SyncStatus syncStatus;
+    private final SwapiSnapshot swapiSnapshot;
+    private final Duration maxAge;
 
-    @PostConstruct
+    public SwapiInitializer(SyncJobManager syncJobManager,
+                            SyncStatus syncStatus,
+                            SwapiSnapshot swapiSnapshot,
+                            @Value("${swapi.sync.max-age:24h}") Duration maxAge) {
+        this.syncJobManager = syncJobManager;
+        this.syncStatus = syncStatus;
+        this.swapiSnapshot = swapiSnapshot;
+        this.maxAge = maxAge;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
     public void init() {
-        swapiSyncService.syncAllData();
+        Optional<SyncRun> lastRun = syncStatus.lastRun();
+        if (lastRun.isPresent() && lastRun.get().getFinishedAt().isAfter(OffsetDateTime.now().minus(maxAge))) {
+            log.info("Skipping initial SWAPI sync, last sync finished at {}", lastRun.get().getFinishedAt());
+            syncStatus.skipped();
+            return;
+        }
+
+        Optional<SwapiSnapshot.Contents> snapshot = lastRun.isEmpty() ? loadSnapshot() : Optional.empty();
+        if (snapshot.isPresent()) {
+            log.info("Cold database, importing SWAPI snapshot taken at {} as job {}",
+                    snapshot.get().createdAt(), syncJobManager.submitSnapshotImport(snapshot.get()).getId());
+            return;
+        }
+
+        log.info("Initial SWAPI sync running as job {}", syncJobManager.submit().getId());
+    }
+
+    private Optional<SwapiSnapshot.Contents> loadSnapshot() {
+        try {
+            return swapiSnapshot.load();
+        } catch (RuntimeException e) {
+            log.warn("Ignoring unreadable SWAPI snapshot, falling back to a live sync: {}", e.getMessage(), e);
+            return Optional.empty();
+        }
     }
 }
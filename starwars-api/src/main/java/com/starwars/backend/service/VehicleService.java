@@ -1,28 +1,47 @@
 package com.starwars.backend.service;
 
+import com.starwars.backend.Utils;
+import com.starwars.backend.dto.CursorPage;
 import com.starwars.backend.dto.VehicleDTO;
+import com.starwars.backend.dto.VehicleRow;
+import com.starwars.backend.exception.InvalidCursorException;
 import com.starwars.backend.exception.VehicleRetrievalException;
-import com.starwars.backend.persisntence.entities.Character;
-import com.starwars.backend.persisntence.entities.Film;
-import com.starwars.backend.persisntence.entities.Vehicle;
 import com.starwars.backend.persisntence.repository.VehicleRepository;
+import com.starwars.backend.integration.SwapiResource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class VehicleService {
 
+    private static final KeysetQuery<VehicleRow> SCROLL = KeysetQuery.of(VehicleRow.class,
+                    VehicleRepository.VEHICLE_ROWS, "v", VehicleRepository.VEHICLE_MATCH, VehicleRow::id)
+            .key("name", "v.name", String.class, VehicleRow::name)
+            .key("created", "v.created", OffsetDateTime.class, VehicleRow::created)
+            .cacheable();
+
     private final VehicleRepository vehicleRepository;
+    private final KeysetPager keysetPager;
+    private final ReadMetrics readMetrics;
 
     @Transactional(readOnly = true)
     public Page<VehicleDTO> getVehicles(String search, Pageable pageable) {
+        return readMetrics.page(SwapiResource.VEHICLES, search, () -> findVehicles(search, pageable));
+    }
+
+    private Page<VehicleDTO> findVehicles(String search, Pageable pageable) {
         Pageable fixedPageable = PageRequest.of(
                 pageable.getPageNumber(),
                 15,
@@ -30,34 +49,42 @@ public class VehicleService {
         );
 
         try {
-            Page<Vehicle> vehicles;
+            Page<VehicleRow> vehicles;
             if (search != null && !search.isBlank()) {
-                vehicles = vehicleRepository.findByNameContainingIgnoreCase(search, fixedPageable);
+                vehicles = vehicleRepository.findRowsMatching(Utils.containsPattern(search), fixedPageable);
             } else {
-                vehicles = vehicleRepository.findAll(fixedPageable);
+                vehicles = vehicleRepository.findRows(fixedPageable);
             }
 
-            return vehicles.map(v -> new VehicleDTO(
-                    v.getName(),
-                    v.getModel(),
-                    v.getManufacturer(),
-                    v.getCostInCredits(),
-                    v.getVehicleClass(),
-                    v.getLength(),
-                    v.getMaxAtmospheringSpeed(),
-                    v.getCrew(),
-                    v.getPassengers(),
-                    v.getCargoCapacity(),
-                    v.getConsumables(),
-                    v.getPilots().stream().map(Character::getName).toList(),
-                    v.getFilms().stream().map(Film::getTitle).toList(),
-                    v.getCreated(),
-                    v.getEdited(),
-                    v.getUrl()
-            ));
+            return new PageImpl<>(toDtos(vehicles.getContent()), vehicles.getPageable(), vehicles.getTotalElements());
         } catch (Exception ex) {
             log.error("Failed to retrieve vehicles from the database", ex);
             throw new VehicleRetrievalException("Unable to retrieve vehicles", ex);
         }
     }
+
+    @Transactional(readOnly = true)
+    public CursorPage<VehicleDTO> scrollVehicles(String search, Sort sort, String cursor, int size) {
+        return readMetrics.scroll(SwapiResource.VEHICLES, search, () -> findVehiclesSlice(search, sort, cursor, size));
+    }
+
+    private CursorPage<VehicleDTO> findVehiclesSlice(String search, Sort sort, String cursor, int size) {
+        String pattern = search != null && !search.isBlank() ? Utils.containsPattern(search) : null;
+        try {
+            return keysetPager.scroll(SCROLL, pattern, sort, cursor, size).withContent(this::toDtos);
+        } catch (InvalidCursorException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Failed to scroll vehicles from the database", ex);
+            throw new VehicleRetrievalException("Unable to retrieve vehicles", ex);
+        }
+    }
+
+    private List<VehicleDTO> toDtos(List<VehicleRow> rows) {
+        List<Long> ids = rows.stream().map(VehicleRow::id).toList();
+        RelationIndex pilots = RelationIndex.load(ids, vehicleRepository::findPilotNames);
+        RelationIndex films = RelationIndex.load(ids, vehicleRepository::findFilmNames);
+
+        return rows.stream().map(row -> row.toDto(pilots.names(row.id()), films.names(row.id()))).toList();
+    }
 }
@@ -0,0 +1,84 @@
+package com.starwars.backend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UtilsTest {
+
+    private static final List<String> SEGMENTS = List.of(
+            "", " ", "\t", "1", "42", "007", "+5", "-3", "-0", "+", "-", "people", "1a", "a1", " 7", "7 ",
+            "2147483647", "2147483648", "-2147483648", "99999999999", "٣", "١٢");
+
+    private static final List<String> PREFIXES = List.of("", "/", "https://swapi.dev/api/people", "https://swapi.dev/api/people/");
+
+    @Test
+    void parseSwapiId_shouldReadIdsFromSwapiUrls() {
+        assertEquals(1, Utils.parseSwapiId("https://swapi.dev/api/people/1/"));
+        assertEquals(75, Utils.parseSwapiId("https://swapi.dev/api/starships/75"));
+        assertEquals(12, Utils.parseSwapiId("https://swapi.dev/api/films/12// /"));
+    }
+
+    @Test
+    void parseSwapiId_shouldReturnSentinelWhenNoIdIsPresent() {
+        for (String url : new String[]{null, "", "   ", "/", "///", "https://swapi.dev/api/people/", "https://swapi.dev/api/people/x1/"}) {
+            assertEquals(Utils.NO_SWAPI_ID, Utils.parseSwapiId(url), String.valueOf(url));
+        }
+    }
+
+    @Test
+    void parseSwapiId_shouldMatchSplitBasedParsingForEverySegmentCombination() {
+        int checked = 0;
+        for (String prefix : PREFIXES) {
+            for (String a : SEGMENTS) {
+                for (String b : SEGMENTS) {
+                    for (String tail : List.of("", "/", "//", "/ /")) {
+                        String url = prefix + a + "/" + b + tail;
+                        assertEquals(expected(url), Utils.parseSwapiId(url), url);
+                        assertEquals(expected(url), parseFromBuffer(url), url);
+                        url = prefix + a + tail;
+                        assertEquals(expected(url), Utils.parseSwapiId(url), url);
+                        assertEquals(expected(url), parseFromBuffer(url), url);
+                        checked += 2;
+                    }
+                }
+            }
+        }
+        assertTrue(checked > 7000);
+    }
+
+    /**
+     * Parses the url out of the middle of a larger buffer, the way the JSON parser hands it over.
+     */
+    private static int parseFromBuffer(String url) {
+        char[] buffer = ("9/" + url + "/9").toCharArray();
+        return Utils.parseSwapiId(buffer, 2, url.length());
+    }
+
+    /**
+     * The split-based parsing used before {@link Utils#parseSwapiId}, with null and negative
+     * results mapped to the sentinel.
+     */
+    private static int expected(String url) {
+        Integer id = splitExtractSwapiId(url);
+        return id == null || id < 0 ? Utils.NO_SWAPI_ID : id;
+    }
+
+    private static Integer splitExtractSwapiId(String url) {
+        if (url == null || url.isBlank()) return null;
+        String[] parts = url.split("/");
+        for (int i = parts.length - 1; i >= 0; i--) {
+            if (!parts[i].isBlank()) {
+                try {
+                    return Integer.parseInt(parts[i]);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,133 @@
+package com.starwars.backend.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnsafeRestTemplateConfigTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUrl;
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long handlerDelayMillis;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/api/people/", this::respond);
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort() + "/api/people/";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void restTemplate_shouldReuseOneConnectionForSequentialPages() throws Exception {
+        RestTemplate restTemplate = restTemplate(Duration.ofSeconds(5), 4);
+
+        for (int page = 1; page <= 10; page++) {
+            assertEquals("{\"count\":0}", restTemplate.getForObject(baseUrl + "?page=" + page, String.class));
+        }
+
+        assertEquals(1, clientPorts.size());
+    }
+
+    @Test
+    void restTemplate_shouldFailWhenTheReadTimeoutElapses() throws Exception {
+        handlerDelayMillis = 2_000;
+        RestTemplate restTemplate = restTemplate(Duration.ofMillis(200), 4);
+
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(baseUrl, String.class));
+    }
+
+    @Test
+    void readTimeoutInterceptor_shouldReportACancelledExchangeAsATimeout() {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create(baseUrl));
+
+        HttpTimeoutException timeout = assertThrows(HttpTimeoutException.class, () -> new ReadTimeoutInterceptor()
+                .intercept(request, new byte[0], (req, body) -> { throw new CancellationException(); }));
+
+        assertInstanceOf(CancellationException.class, timeout.getCause());
+    }
+
+    @Test
+    void restTemplate_shouldNotExceedMaxConnections() throws Exception {
+        handlerDelayMillis = 100;
+        RestTemplate restTemplate = restTemplate(Duration.ofSeconds(5), 2);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> pages = new ArrayList<>();
+            for (int page = 1; page <= 6; page++) {
+                String url = baseUrl + "?page=" + page;
+                pages.add(clients.submit(() -> restTemplate.getForObject(url, String.class)));
+            }
+            for (Future<String> page : pages) {
+                assertEquals("{\"count\":0}", page.get());
+            }
+        }
+
+        assertTrue(maxInFlight.get() <= 2);
+        assertTrue(clientPorts.size() <= 2);
+    }
+
+    private RestTemplate restTemplate(Duration readTimeout, int maxConnections) throws Exception {
+        return new UnsafeRestTemplateConfig().restTemplate(Duration.ofSeconds(2), readTimeout, maxConnections);
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            if (handlerDelayMillis > 0) {
+                Thread.sleep(handlerDelayMillis);
+            }
+            byte[] body = "{\"count\":0}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+}
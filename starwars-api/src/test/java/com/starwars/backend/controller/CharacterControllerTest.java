@@ -3,6 +3,7 @@ package com.starwars.backend.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.starwars.backend.dto.form.CharacterFormDTO;
 import com.starwars.backend.service.CharacterService;
+import com.starwars.backend.service.SupportDataService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -31,6 +32,9 @@ class CharacterControllerTest {
     @Autowired
     private CharacterService characterService;
 
+    @Autowired
+    private SupportDataService supportDataService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -40,6 +44,11 @@ class CharacterControllerTest {
         public CharacterService characterService() {
             return Mockito.mock(CharacterService.class);
         }
+
+        @Bean
+        public SupportDataService supportDataService() {
+            return Mockito.mock(SupportDataService.class);
+        }
     }
 
     private CharacterFormDTO mockDto;
@@ -99,12 +108,22 @@ class CharacterControllerTest {
     }
 
     @Test
-    void getSupportData_shouldReturnMap() throws Exception {
-        Map<String, Object> fakeData = Map.of("films", List.of(Map.of("id", 1, "title", "A New Hope")));
-        when(characterService.getSupportData()).thenReturn(fakeData);
+    void getSupportData_shouldReturnCachedPayload() throws Exception {
+        byte[] payload = objectMapper.writeValueAsBytes(Map.of("films", List.of(Map.of("id", 1, "title", "A New Hope"))));
+        when(supportDataService.getSupportDataJson()).thenReturn(payload);
 
         mockMvc.perform(get("/api/characters/support-data"))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.films[0].title").value("A New Hope"));
     }
+
+    @Test
+    void getSupportData_shouldReturnEmptyObjectOnFailure() throws Exception {
+        when(supportDataService.getSupportDataJson()).thenThrow(new IllegalStateException("db down"));
+
+        mockMvc.perform(get("/api/characters/support-data"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{}"));
+    }
 }
@@ -1,6 +1,8 @@
 package com.starwars.backend.controller;
 
+import com.starwars.backend.dto.CursorPage;
 import com.starwars.backend.dto.PlanetDTO;
+import com.starwars.backend.exception.InvalidCursorException;
 import com.starwars.backend.service.PlanetService;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.TestConfiguration;
@@ -15,6 +17,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.OffsetDateTime;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -71,4 +74,34 @@ class PlanetControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isInternalServerError());
     }
+
+    @Test
+    void scrollPlanets_shouldReturnSliceWithNextCursor() throws Exception {
+        PlanetDTO dto = new PlanetDTO(
+                "Alderaan", null, null, null, null, null, null, null, null, List.of(), List.of(),
+                OffsetDateTime.now(), OffsetDateTime.now(), "https://swapi.dev/api/planets/2/"
+        );
+        when(planetService.scrollPlanets(isNull(), eq(Sort.by("name")), eq("abc"), eq(15)))
+                .thenReturn(new CursorPage<>(List.of(dto), 15, "def"));
+
+        mockMvc.perform(get("/api/planets/scroll")
+                        .param("sort", "name")
+                        .param("cursor", "abc")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Alderaan"))
+                .andExpect(jsonPath("$.next").value("def"))
+                .andExpect(jsonPath("$.last").value(false));
+    }
+
+    @Test
+    void scrollPlanets_shouldReturnBadRequest_onInvalidCursor() throws Exception {
+        when(planetService.scrollPlanets(any(), any(), eq("bogus"), anyInt()))
+                .thenThrow(new InvalidCursorException("Malformed cursor"));
+
+        mockMvc.perform(get("/api/planets/scroll")
+                        .param("cursor", "bogus")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,78 @@
+package com.starwars.backend.controller;
+
+import com.starwars.backend.dto.SearchGroup;
+import com.starwars.backend.dto.SearchHit;
+import com.starwars.backend.dto.SearchResults;
+import com.starwars.backend.service.SearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = SearchController.class)
+@Import(SearchControllerTest.Config.class)
+class SearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SearchService searchService;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        public SearchService searchService() {
+            return mock(SearchService.class);
+        }
+    }
+
+    @Test
+    void search_shouldReturnGroupedHits() throws Exception {
+        when(searchService.search("sky", 10)).thenReturn(new SearchResults("sky", 1, List.of(
+                new SearchGroup("characters", 1, List.of(new SearchHit(1L, "Luke Skywalker", 50))))));
+
+        mockMvc.perform(get("/api/search")
+                        .param("q", "sky")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.groups[0].type").value("characters"))
+                .andExpect(jsonPath("$.groups[0].hits[0].name").value("Luke Skywalker"));
+    }
+
+    @Test
+    void search_shouldRevalidateAgainstTheIndexGeneration() throws Exception {
+        when(searchService.etag()).thenReturn("\"abc-1\"");
+        when(searchService.search("sky", 10)).thenReturn(new SearchResults("sky", 0, List.of()));
+
+        mockMvc.perform(get("/api/search").param("q", "sky"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc-1\""));
+        mockMvc.perform(get("/api/search").param("q", "sky").header("If-None-Match", "\"abc-1\""))
+                .andExpect(status().isNotModified());
+
+        when(searchService.etag()).thenReturn("\"abc-2\"");
+        mockMvc.perform(get("/api/search").param("q", "sky").header("If-None-Match", "\"abc-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc-2\""));
+    }
+
+    @Test
+    void search_shouldReturnInternalServerError_onException() throws Exception {
+        when(searchService.search("boom", 10)).thenThrow(new RuntimeException("fail"));
+
+        mockMvc.perform(get("/api/search").param("q", "boom"))
+                .andExpect(status().isInternalServerError());
+    }
+}
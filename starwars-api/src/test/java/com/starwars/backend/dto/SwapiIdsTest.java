@@ -0,0 +1,67 @@
+package com.starwars.backend.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.Utils;
+import com.starwars.backend.config.JacksonConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwapiIdsTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @Test
+    void read_shouldTurnRelationUrlsIntoIdsAndSkipUnstoredFields() throws IOException {
+        String json = """
+                {"name": "Luke Skywalker", "height": "172", "mass": "77", "hair_color": "blond",
+                 "skin_color": "fair", "eye_color": "blue", "birth_year": "19BBY", "gender": "male",
+                 "homeworld": "https://swapi.dev/api/planets/1/",
+                 "films": ["https://swapi.dev/api/films/1/", "https://swapi.dev/api/films/2/", "https://swapi.dev/api/films/3/",
+                           "https://swapi.dev/api/films/4/", "https://swapi.dev/api/films/5/", "https://swapi.dev/api/films/6/",
+                           "https://swapi.dev/api/films/7/", "https://swapi.dev/api/films/8/", "https://swapi.dev/api/films/9/"],
+                 "species": [],
+                 "vehicles": ["https://swapi.dev/api/vehicles/14/"],
+                 "starships": ["https://swapi.dev/api/starships/12/"],
+                 "created": "2014-12-09T13:50:51.644000Z", "edited": "2014-12-20T21:17:56.891000Z",
+                 "url": "https://swapi.dev/api/people/1/"}
+                """;
+
+        SwapiCharacter character = objectMapper.readValue(json, SwapiCharacter.class);
+
+        assertEquals("Luke Skywalker", character.name());
+        assertEquals(1, character.homeworld());
+        assertEquals(SwapiIds.of(1, 2, 3, 4, 5, 6, 7, 8, 9), character.films());
+        assertSame(SwapiIds.EMPTY, character.species());
+        assertEquals(OffsetDateTime.parse("2014-12-20T21:17:56.891Z"), character.edited());
+    }
+
+    @Test
+    void read_shouldKeepUrlsWithoutAnIdAsUnresolved() throws IOException {
+        SwapiIds ids = objectMapper.readValue("[\"https://swapi.dev/api/films/x/\", \"https://swapi.dev/api/films/2/\"]", SwapiIds.class);
+
+        assertEquals(SwapiIds.of(Utils.NO_SWAPI_ID, 2), ids);
+    }
+
+    @Test
+    void read_shouldTreatABlankHomeworldAsNoRelation() throws IOException {
+        SwapiCharacter character = objectMapper.readValue("{\"homeworld\": \" \", \"films\": null}", SwapiCharacter.class);
+
+        assertNull(character.homeworld());
+        assertNull(character.films());
+    }
+
+    @Test
+    void write_shouldRoundTripIdsAsNumbers() throws IOException {
+        SwapiFilm film = new SwapiFilm("A New Hope", 4, "crawl", "George Lucas", "Gary Kurtz", "1977-05-25",
+                SwapiIds.of(1, 2, 3), null, null, "https://swapi.dev/api/films/1/");
+
+        String json = objectMapper.writeValueAsString(film);
+
+        assertTrue(json.contains("\"planets\":[1,2,3]"), json);
+        assertEquals(film, objectMapper.readValue(json, SwapiFilm.class));
+    }
+}
@@ -0,0 +1,115 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.event.DatasetChangedEvent;
+import com.starwars.backend.persisntence.repository.PlanetRepository;
+import com.starwars.backend.service.*;
+import com.starwars.backend.support.SwapiDataset;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Latency and allocation per list page request, measured on the calling thread.
+ * Run with {@code mvn test -Dtest=ReadPathBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:read-path-benchmark")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class ReadPathBenchmarkTest {
+
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 1000;
+
+    @Autowired private SyncPlanetService syncPlanetService;
+    @Autowired private SyncFilmService syncFilmService;
+    @Autowired private SyncSpeciesService syncSpeciesService;
+    @Autowired private SyncCharacterService syncCharacterService;
+    @Autowired private SyncStarshipService syncStarshipService;
+    @Autowired private SyncVehicleService syncVehicleService;
+    @Autowired private PlanetRepository planetRepository;
+
+    @Autowired private FilmService filmService;
+    @Autowired private PlanetService planetService;
+    @Autowired private SpeciesService speciesService;
+    @Autowired private StarshipService starshipService;
+    @Autowired private VehicleService vehicleService;
+    @Autowired private CharacterService characterService;
+    @Autowired private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        if (planetRepository.count() == 0) {
+            syncPlanetService.persistPlanets(SwapiDataset.planets());
+            syncFilmService.persistFilms(SwapiDataset.films());
+            syncSpeciesService.persistSpecies(SwapiDataset.species());
+            syncCharacterService.persistCharacters(SwapiDataset.characters());
+            syncStarshipService.persistStarships(SwapiDataset.starships());
+            syncVehicleService.persistVehicles(SwapiDataset.vehicles());
+        }
+    }
+
+    @Test
+    void listEndpoints() {
+        Map<String, Function<Pageable, ?>> endpoints = new LinkedHashMap<>();
+        endpoints.put("films", pageable -> filmService.getFilms(null, pageable));
+        endpoints.put("planets", pageable -> planetService.getPlanets(null, pageable));
+        endpoints.put("species", pageable -> speciesService.getSpecies(null, pageable));
+        endpoints.put("starships", pageable -> starshipService.getStarships(null, pageable));
+        endpoints.put("vehicles", pageable -> vehicleService.getVehicles(null, pageable));
+        endpoints.put("characters", pageable -> characterService.getCharacters(null, pageable));
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+
+        StringBuilder report = new StringBuilder("List page benchmark (per request):");
+        endpoints.forEach((name, endpoint) -> {
+            for (int i = 0; i < WARMUP; i++) {
+                endpoint.apply(PageRequest.of(i % 2, 15));
+            }
+            long bytes = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                endpoint.apply(PageRequest.of(i % 2, 15));
+            }
+            long micros = (System.nanoTime() - start) / 1_000 / ITERATIONS;
+            long kib = (threads.getThreadAllocatedBytes(thread) - bytes) / 1024 / ITERATIONS;
+            report.append(String.format("%n  %-10s %6d us %8d KiB", name, micros, kib));
+        });
+        log.info("{}", report);
+    }
+
+    @Test
+    void crossEntitySearch() throws InterruptedException {
+        searchService.onDatasetChanged(new DatasetChangedEvent("benchmark seed"));
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (searchService.search("planet", 1).total() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        StringBuilder report = new StringBuilder("Search benchmark (per lookup):");
+        for (String query : new String[]{"a", "planet", "character 4", "film 3", "no such name"}) {
+            for (int i = 0; i < WARMUP * 10; i++) {
+                searchService.search(query, SearchService.DEFAULT_LIMIT);
+            }
+            long start = System.nanoTime();
+            int total = 0;
+            for (int i = 0; i < ITERATIONS * 10; i++) {
+                total = searchService.search(query, SearchService.DEFAULT_LIMIT).total();
+            }
+            long nanos = (System.nanoTime() - start) / (ITERATIONS * 10L);
+            report.append(String.format("%n  %-14s %4d hits %8.2f us", query, total, nanos / 1_000.0));
+        }
+        log.info("{}", report);
+    }
+}
@@ -0,0 +1,134 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.dto.CursorPage;
+import com.starwars.backend.dto.form.CharacterFormDTO;
+import com.starwars.backend.persisntence.repository.PlanetRepository;
+import com.starwars.backend.service.*;
+import com.starwars.backend.support.SelectCounter;
+import com.starwars.backend.support.SwapiDataset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:read-query-count",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.starwars.backend.support.SelectCounter"
+})
+@ActiveProfiles("test")
+class ReadQueryCountTest {
+
+    private static final int MAX_SELECTS_PER_PAGE = 8;
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 15);
+
+    @Autowired private SyncPlanetService syncPlanetService;
+    @Autowired private SyncFilmService syncFilmService;
+    @Autowired private SyncSpeciesService syncSpeciesService;
+    @Autowired private SyncCharacterService syncCharacterService;
+    @Autowired private SyncStarshipService syncStarshipService;
+    @Autowired private SyncVehicleService syncVehicleService;
+    @Autowired private PlanetRepository planetRepository;
+
+    @Autowired private FilmService filmService;
+    @Autowired private PlanetService planetService;
+    @Autowired private SpeciesService speciesService;
+    @Autowired private StarshipService starshipService;
+    @Autowired private VehicleService vehicleService;
+    @Autowired private CharacterService characterService;
+
+    @BeforeEach
+    void setUp() {
+        if (planetRepository.count() == 0) {
+            syncPlanetService.persistPlanets(SwapiDataset.planets());
+            syncFilmService.persistFilms(SwapiDataset.films());
+            syncSpeciesService.persistSpecies(SwapiDataset.species());
+            syncCharacterService.persistCharacters(SwapiDataset.characters());
+            syncStarshipService.persistStarships(SwapiDataset.starships());
+            syncVehicleService.persistVehicles(SwapiDataset.vehicles());
+        }
+    }
+
+    @Test
+    void getFilms_shouldLoadPageAndRelationsInConstantQueries() {
+        Page<?> page = countSelects("films", () -> filmService.getFilms(null, FIRST_PAGE));
+        assertThat(page.getContent()).hasSize(SwapiDataset.FILMS);
+    }
+
+    @Test
+    void getPlanets_shouldLoadPageAndRelationsInConstantQueries() {
+        Page<?> page = countSelects("planets", () -> planetService.getPlanets(null, FIRST_PAGE));
+        assertThat(page.getContent()).hasSize(15);
+    }
+
+    @Test
+    void getSpecies_shouldLoadPageAndRelationsInConstantQueries() {
+        Page<?> page = countSelects("species", () -> speciesService.getSpecies(null, FIRST_PAGE));
+        assertThat(page.getContent()).hasSize(15);
+    }
+
+    @Test
+    void getStarships_shouldLoadPageAndRelationsInConstantQueries() {
+        Page<?> page = countSelects("starships", () -> starshipService.getStarships(null, FIRST_PAGE));
+        assertThat(page.getContent()).hasSize(15);
+    }
+
+    @Test
+    void getVehicles_shouldLoadPageAndRelationsInConstantQueries() {
+        Page<?> page = countSelects("vehicles", () -> vehicleService.getVehicles(null, FIRST_PAGE));
+        assertThat(page.getContent()).hasSize(15);
+    }
+
+    @Test
+    void getCharacters_shouldLoadPageAndRelationsInConstantQueries() {
+        Page<?> page = countSelects("characters", () -> characterService.getCharacters(null, FIRST_PAGE));
+        assertThat(page.getContent()).hasSize(15);
+    }
+
+    @Test
+    void searchFilms_shouldLoadPageAndRelationsInConstantQueries() {
+        Page<?> page = countSelects("film search", () -> filmService.getFilms("Film", FIRST_PAGE));
+        assertThat(page.getContent()).hasSize(SwapiDataset.FILMS);
+    }
+
+    @Test
+    void scrollCharacters_shouldSeekEverySliceWithoutCounting() {
+        Sort byName = Sort.by("name");
+        List<Long> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            SelectCounter.reset();
+            CursorPage<CharacterFormDTO> slice = characterService.scrollCharacters(null, byName, cursor, 15);
+            // The last slice runs out of named rows and also reads the (empty) block of null names.
+            assertThat(SelectCounter.count()).isEqualTo(slice.next() == null ? 6 : 5);
+            assertThat(SelectCounter.countQueries()).isZero();
+            slice.content().forEach(character -> {
+                ids.add(character.getId());
+                names.add(character.getName());
+            });
+            cursor = slice.next();
+        } while (cursor != null);
+
+        assertThat(ids).hasSize(SwapiDataset.CHARACTERS).doesNotHaveDuplicates();
+        assertThat(names).isSorted();
+    }
+
+    private static <T extends Page<?>> T countSelects(String endpoint, Supplier<T> request) {
+        SelectCounter.reset();
+        T page = request.get();
+        int selects = SelectCounter.count();
+        System.out.printf("List %s page SELECTs: %d%n", endpoint, selects);
+        assertThat(selects).isLessThanOrEqualTo(MAX_SELECTS_PER_PAGE);
+        return page;
+    }
+}
@@ -0,0 +1,182 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.dto.CursorPage;
+import com.starwars.backend.dto.FilmDTO;
+import com.starwars.backend.dto.PlanetDTO;
+import com.starwars.backend.event.DatasetChangedEvent;
+import com.starwars.backend.persisntence.entities.Character;
+import com.starwars.backend.persisntence.entities.Film;
+import com.starwars.backend.persisntence.entities.Planet;
+import com.starwars.backend.persisntence.entities.Vehicle;
+import com.starwars.backend.persisntence.repository.CharacterRepository;
+import com.starwars.backend.persisntence.repository.FilmRepository;
+import com.starwars.backend.persisntence.repository.PlanetRepository;
+import com.starwars.backend.persisntence.repository.VehicleRepository;
+import com.starwars.backend.service.FilmService;
+import com.starwars.backend.service.PlanetService;
+import com.starwars.backend.support.SelectCounter;
+import com.starwars.backend.support.SwapiDataset;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:second-level-cache",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.starwars.backend.support.SelectCounter"
+})
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 15);
+
+    @Autowired private SyncPlanetService syncPlanetService;
+    @Autowired private SyncFilmService syncFilmService;
+    @Autowired private SyncSpeciesService syncSpeciesService;
+    @Autowired private SyncCharacterService syncCharacterService;
+    @Autowired private SyncStarshipService syncStarshipService;
+    @Autowired private SyncVehicleService syncVehicleService;
+    @Autowired private PlanetRepository planetRepository;
+    @Autowired private FilmRepository filmRepository;
+    @Autowired private CharacterRepository characterRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+
+    @Autowired private PlanetService planetService;
+    @Autowired private FilmService filmService;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        if (planetRepository.count() == 0) {
+            syncPlanetService.persistPlanets(SwapiDataset.planets());
+            syncFilmService.persistFilms(SwapiDataset.films());
+            syncSpeciesService.persistSpecies(SwapiDataset.species());
+            syncCharacterService.persistCharacters(SwapiDataset.characters());
+            syncStarshipService.persistStarships(SwapiDataset.starships());
+            syncVehicleService.persistVehicles(SwapiDataset.vehicles());
+        }
+        eventPublisher.publishEvent(new DatasetChangedEvent("test setup"));
+    }
+
+    @Test
+    void listPage_shouldBeServedFromQueryCacheUntilTheDatasetChanges() {
+        Page<PlanetDTO> first = countSelects(() -> planetService.getPlanets(null, FIRST_PAGE), selects -> assertThat(selects).isPositive());
+        Page<PlanetDTO> cached = countSelects(() -> planetService.getPlanets(null, FIRST_PAGE), selects -> assertThat(selects).isZero());
+        assertThat(cached.getContent()).isEqualTo(first.getContent());
+        assertThat(cached.getTotalElements()).isEqualTo(SwapiDataset.PLANETS);
+
+        eventPublisher.publishEvent(new DatasetChangedEvent("test sync"));
+
+        countSelects(() -> planetService.getPlanets(null, FIRST_PAGE), selects -> assertThat(selects).isPositive());
+        assertThat(meterRegistry.get("hibernate.cache.query.requests").tag("result", "hit").functionCounter().count())
+                .isPositive();
+    }
+
+    @Test
+    void scrollSlice_shouldBeServedFromQueryCache() {
+        Sort byTitle = Sort.by("title");
+        CursorPage<FilmDTO> first = countSelects(() -> filmService.scrollFilms(null, byTitle, null, 15), selects -> assertThat(selects).isPositive());
+        CursorPage<FilmDTO> cached = countSelects(() -> filmService.scrollFilms(null, byTitle, null, 15), selects -> assertThat(selects).isZero());
+
+        assertThat(cached.content()).isEqualTo(first.content());
+    }
+
+    @Test
+    void listPage_shouldSeeCharacterWritesWithoutAnEviction() {
+        planetService.getPlanets(null, FIRST_PAGE);
+        transactionTemplate.executeWithoutResult(status -> {
+            Character resident = characterRepository.findBySwapiId(1).orElseThrow();
+            resident.setName("Renamed Resident");
+        });
+
+        PlanetDTO planet = planetService.getPlanets(null, FIRST_PAGE).getContent().stream()
+                .filter(dto -> dto.url().endsWith("/planets/1/"))
+                .findFirst().orElseThrow();
+
+        assertThat(planet.residents()).contains("Renamed Resident");
+    }
+
+    @Test
+    void referenceEntityAndRelations_shouldBeReadFromSecondLevelCache() {
+        Long id = filmRepository.findBySwapiId(1).orElseThrow().getId();
+        int planets = transactionTemplate.execute(status -> filmRepository.findById(id).orElseThrow().getPlanets().size());
+
+        SelectCounter.reset();
+        Integer cachedPlanets = transactionTemplate.execute(status -> {
+            Film film = filmRepository.findById(id).orElseThrow();
+            return film.getPlanets().size();
+        });
+
+        assertThat(SelectCounter.count()).isZero();
+        assertThat(cachedPlanets).isEqualTo(planets).isPositive();
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "films", "result", "hit").functionCounter().count()).isPositive();
+    }
+
+    @Test
+    void stageEvent_shouldEvictOnlyTheChangedTypeAndQueryResults() {
+        Long filmId = filmRepository.findBySwapiId(1).orElseThrow().getId();
+        Long planetId = planetRepository.findBySwapiId(1).orElseThrow().getId();
+        Long vehicleId = vehicleRepository.findBySwapiId(4).orElseThrow().getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            filmRepository.findById(filmId).orElseThrow().getPlanets().size();
+            vehicleRepository.findById(vehicleId).orElseThrow().getFilms().size();
+        });
+        planetService.getPlanets(null, FIRST_PAGE);
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+
+        eventPublisher.publishEvent(new DatasetChangedEvent("test films stage", EnumSet.of(SwapiResource.FILMS)));
+
+        assertThat(cache.containsEntity(Film.class, filmId)).isFalse();
+        assertThat(cache.containsEntity(Planet.class, planetId)).isTrue();
+        assertThat(cache.containsEntity(Vehicle.class, vehicleId)).isTrue();
+        assertThat(cache.containsCollection(Vehicle.class.getName() + ".films", vehicleId)).isFalse();
+        countSelects(() -> planetService.getPlanets(null, FIRST_PAGE), selects -> assertThat(selects).isPositive());
+    }
+
+    @Test
+    void inverseRelations_shouldSeeWritesOnTheOwningSide() {
+        Long filmId = filmRepository.findBySwapiId(1).orElseThrow().getId();
+        Set<Long> vehicleIds = transactionTemplate.execute(status -> filmRepository.findById(filmId).orElseThrow()
+                .getVehicles().stream().map(Vehicle::getId).collect(Collectors.toSet()));
+        Long added = vehicleRepository.findAll().stream()
+                .map(Vehicle::getId)
+                .filter(id -> !vehicleIds.contains(id))
+                .findFirst().orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> vehicleRepository.findById(added).orElseThrow()
+                .getFilms().add(filmRepository.findById(filmId).orElseThrow()));
+
+        Set<Long> updated = transactionTemplate.execute(status -> filmRepository.findById(filmId).orElseThrow()
+                .getVehicles().stream().map(Vehicle::getId).collect(Collectors.toSet()));
+        assertThat(updated).contains(added).containsAll(vehicleIds);
+    }
+
+    private static <T> T countSelects(Supplier<T> request, IntConsumer check) {
+        SelectCounter.reset();
+        T result = request.get();
+        check.accept(SelectCounter.count());
+        return result;
+    }
+}
@@ -0,0 +1,144 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.dto.SwapiResponse;
+import com.starwars.backend.support.SwapiFetchers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SwapiPageFetcherTest {
+
+    private static final String BASE = "https://swapi.dev/api/people/";
+    private static final ParameterizedTypeReference<SwapiResponse<String>> TYPE = new ParameterizedTypeReference<>() {};
+
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+    }
+
+    @Test
+    void fetchPages_shouldPrefetchComputedPagesAndDeliverThemInOrder() {
+        stub(BASE, page(25, BASE + "?page=2", "a", "b", "c", "d", "e", "f", "g", "h", "i", "j"));
+        stub(BASE + "?page=2", page(25, BASE + "?page=3", "k", "l", "m", "n", "o", "p", "q", "r", "s", "t"));
+        stub(BASE + "?page=3", page(25, null, "u", "v", "w", "x", "y"));
+
+        List<List<String>> pages = new ArrayList<>();
+        SwapiFetchers.pageFetcher(restTemplate, 4).fetchPages(SwapiResource.CHARACTERS, BASE, TYPE, pages::add);
+
+        assertEquals(3, pages.size());
+        assertEquals("a", pages.get(0).getFirst());
+        assertEquals("k", pages.get(1).getFirst());
+        assertEquals("u", pages.get(2).getFirst());
+        verify(restTemplate, times(3)).exchange(anyString(), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), eq(TYPE));
+    }
+
+    @Test
+    void fetchPages_shouldNotExceedMaxInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+
+        stub(BASE, page(10, BASE + "?page=2", "1"));
+        when(restTemplate.exchange(startsWith(BASE + "?page="), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), eq(TYPE)))
+                .thenAnswer(inv -> {
+                    maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    inFlight.decrementAndGet();
+                    return ResponseEntity.ok(page(10, null, "x"));
+                });
+
+        List<String> records = SwapiFetchers.pageFetcher(restTemplate, 2)
+                .fetchAll(SwapiResource.CHARACTERS, BASE, TYPE);
+
+        assertEquals(10, records.size());
+        assertTrue(maxObserved.get() <= 2, "observed " + maxObserved.get() + " requests in flight");
+    }
+
+    @Test
+    void fetchPages_shouldFollowNextWhenPageUrlsCannotBeComputed() {
+        stub(BASE, page(3, BASE + "cursor/abc", "a"));
+        stub(BASE + "cursor/abc", page(3, BASE + "cursor/def", "b"));
+        stub(BASE + "cursor/def", page(3, null, "c"));
+
+        List<String> records = SwapiFetchers.pageFetcher(restTemplate, 4)
+                .fetchAll(SwapiResource.CHARACTERS, BASE, TYPE);
+
+        assertEquals(List.of("a", "b", "c"), records);
+    }
+
+    @Test
+    void fetchPages_shouldKeepWalkingWhenUpstreamGrewDuringCrawl() {
+        stub(BASE, page(2, BASE + "?page=2", "a"));
+        stub(BASE + "?page=2", page(3, BASE + "?page=3", "b"));
+        stub(BASE + "?page=3", page(3, null, "c"));
+
+        List<String> records = SwapiFetchers.pageFetcher(restTemplate, 4)
+                .fetchAll(SwapiResource.CHARACTERS, BASE, TYPE);
+
+        assertEquals(List.of("a", "b", "c"), records);
+    }
+
+    @Test
+    void fetchPages_shouldStopAtFirstFailedPage() {
+        stub(BASE, page(3, BASE + "?page=2", "a"));
+        stub(BASE + "?page=2", page(3, BASE + "?page=3", "b"));
+        when(restTemplate.exchange(eq(BASE + "?page=3"), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), eq(TYPE)))
+                .thenThrow(new RuntimeException("SWAPI error"));
+
+        List<String> records = SwapiFetchers.pageFetcher(restTemplate, 4)
+                .fetchAll(SwapiResource.CHARACTERS, BASE, TYPE);
+
+        assertEquals(List.of("a", "b"), records);
+    }
+
+    @Test
+    void fetchPages_shouldReturnNothingWhenFirstPageFails() {
+        when(restTemplate.exchange(eq(BASE), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), eq(TYPE)))
+                .thenThrow(new RuntimeException("SWAPI error"));
+
+        List<String> records = SwapiFetchers.pageFetcher(restTemplate, 4)
+                .fetchAll(SwapiResource.CHARACTERS, BASE, TYPE);
+
+        assertTrue(records.isEmpty());
+    }
+
+    @Test
+    void fetchPages_shouldRecordPagesRequestsAndFailures() {
+        stub(BASE, page(3, BASE + "?page=2", "a"));
+        stub(BASE + "?page=2", page(3, BASE + "?page=3", "b"));
+        when(restTemplate.exchange(eq(BASE + "?page=3"), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), eq(TYPE)))
+                .thenThrow(new RuntimeException("SWAPI error"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        SwapiFetchers.pageFetcher(restTemplate, 4, registry)
+                .fetchAll(SwapiResource.PLANETS, BASE, TYPE);
+
+        assertEquals(2, registry.get("swapi.sync.pages").tag("resource", "planets").counter().count());
+        assertEquals(2, registry.get("swapi.sync.requests").tags("resource", "planets", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("swapi.sync.requests").tags("resource", "planets", "outcome", "error").timer().count());
+        assertEquals(1, registry.get("swapi.sync.failures").tags("resource", "planets", "stage", "fetch").counter().count());
+        assertEquals(0, registry.get("swapi.sync.pages").tag("resource", "films").counter().count());
+    }
+
+    private void stub(String url, SwapiResponse<String> response) {
+        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), eq(TYPE)))
+                .thenReturn(ResponseEntity.ok(response));
+    }
+
+    private static SwapiResponse<String> page(int count, String next, String... results) {
+        return new SwapiResponse<>(count, next, null, List.of(results));
+    }
+}
@@ -0,0 +1,136 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.persisntence.repository.*;
+import com.starwars.backend.support.SwapiFetchers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class SwapiPaginationTest {
+
+    private static final String SWAPI_HOST = "https://swapi.dev";
+    private static final int COUNT = 25;
+    private static final int PAGE_SIZE = 10;
+
+    private static final Map<SwapiResource, String> PATHS = Map.of(
+            SwapiResource.PLANETS, "/api/planets",
+            SwapiResource.CHARACTERS, "/api/people",
+            SwapiResource.FILMS, "/api/films/",
+            SwapiResource.SPECIES, "/api/species/",
+            SwapiResource.STARSHIPS, "/api/starships/",
+            SwapiResource.VEHICLES, "/api/vehicles/"
+    );
+
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private Map<SwapiResource, Supplier<List<?>>> fetchers;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/", this::handle);
+        server.start();
+
+        URI local = URI.create("http://localhost:" + server.getAddress().getPort());
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add((request, body, execution) ->
+                execution.execute(redirect(request, local), body));
+
+        SwapiPageFetcher fetcher = SwapiFetchers.pageFetcher(restTemplate, 4);
+        SyncBatchWriter batchWriter = new SyncBatchWriter(mock(EntityManager.class), 50);
+        SyncChangeDetector changeDetector = new SyncChangeDetector(true);
+        CharacterRepository characterRepository = mock(CharacterRepository.class);
+        PlanetRepository planetRepository = mock(PlanetRepository.class);
+        FilmRepository filmRepository = mock(FilmRepository.class);
+        SpeciesRepository speciesRepository = mock(SpeciesRepository.class);
+        StarshipRepository starshipRepository = mock(StarshipRepository.class);
+        VehicleRepository vehicleRepository = mock(VehicleRepository.class);
+
+        fetchers = Map.of(
+                SwapiResource.PLANETS, new SyncPlanetService(fetcher, batchWriter, changeDetector, planetRepository)::fetchPlanets,
+                SwapiResource.CHARACTERS, new SyncCharacterService(fetcher, batchWriter, changeDetector, characterRepository, planetRepository, filmRepository,
+                        speciesRepository)::fetchCharacters,
+                SwapiResource.FILMS, new SyncFilmService(fetcher, batchWriter, changeDetector, filmRepository, planetRepository)::fetchFilms,
+                SwapiResource.SPECIES, new SyncSpeciesService(fetcher, batchWriter, changeDetector, speciesRepository, filmRepository)::fetchSpecies,
+                SwapiResource.STARSHIPS, new SyncStarshipService(fetcher, batchWriter, changeDetector, starshipRepository, characterRepository, filmRepository)::fetchStarships,
+                SwapiResource.VEHICLES, new SyncVehicleService(fetcher, batchWriter, changeDetector, vehicleRepository, characterRepository, filmRepository)::fetchVehicles
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @ParameterizedTest
+    @EnumSource(SwapiResource.class)
+    void fetch_shouldRequestEveryPageExactlyOnce(SwapiResource resource) {
+        List<?> records = fetchers.get(resource).get();
+
+        String path = PATHS.get(resource);
+        assertEquals(COUNT, records.size());
+        assertEquals(3, requests.size(), "unexpected requests: " + requests);
+        assertEquals(1, requests.get(path).get());
+        assertEquals(1, requests.get(path + "?page=2").get());
+        assertEquals(1, requests.get(path + "?page=3").get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getQuery();
+        requests.computeIfAbsent(query == null ? path : path + "?" + query, key -> new AtomicInteger()).incrementAndGet();
+
+        int page = query == null ? 1 : Integer.parseInt(query.substring(query.indexOf('=') + 1));
+        int first = (page - 1) * PAGE_SIZE + 1;
+        int last = Math.min(page * PAGE_SIZE, COUNT);
+
+        StringBuilder results = new StringBuilder();
+        for (int id = first; id <= last; id++) {
+            if (id > first) results.append(',');
+            results.append("{\"name\":\"record ").append(id).append("\",\"title\":\"record ").append(id)
+                    .append("\",\"url\":\"").append(SWAPI_HOST).append(path).append(id).append("/\"}");
+        }
+        String next = last < COUNT ? "\"" + SWAPI_HOST + path + "?page=" + (page + 1) + "\"" : "null";
+        byte[] body = ("{\"count\":" + COUNT + ",\"next\":" + next + ",\"previous\":null,\"results\":[" + results + "]}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static HttpRequest redirect(HttpRequest request, URI local) {
+        URI original = request.getURI();
+        URI target = URI.create(local + original.getRawPath()
+                + (original.getRawQuery() == null ? "" : "?" + original.getRawQuery()));
+        return new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                return target;
+            }
+        };
+    }
+}
@@ -0,0 +1,173 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.exception.SwapiUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwapiResilienceTest {
+
+    private static final Duration INITIAL = Duration.ofMillis(100);
+    private static final Duration MAX = Duration.ofSeconds(5);
+    private static final Duration OPEN = Duration.ofSeconds(30);
+
+    private final List<Duration> sleeps = new ArrayList<>();
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void call_shouldRetryTransientFailuresUntilSuccess() {
+        SwapiResilience resilience = resilience(4, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = resilience.call(SwapiResource.PLANETS, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ResourceAccessException("Read timed out");
+            }
+            return "page";
+        });
+
+        assertEquals("page", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, sleeps.size());
+        assertEquals(2, registry.get("swapi.sync.retries").tag("resource", "planets").counter().count());
+        assertEquals(SwapiResilience.State.CLOSED, resilience.state());
+    }
+
+    @Test
+    void call_shouldNotRetryClientErrors() {
+        SwapiResilience resilience = resilience(4, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(HttpClientErrorException.class, () -> resilience.call(SwapiResource.PLANETS, () -> {
+            attempts.incrementAndGet();
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null);
+        }));
+
+        assertEquals(1, attempts.get());
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    void call_shouldGiveUpAfterMaxAttempts() {
+        SwapiResilience resilience = resilience(3, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(HttpServerErrorException.class, () -> resilience.call(SwapiResource.FILMS, () -> {
+            attempts.incrementAndGet();
+            throw HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", HttpHeaders.EMPTY, null, null);
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(2, sleeps.size());
+    }
+
+    @Test
+    void call_shouldHonourRetryAfter() {
+        SwapiResilience resilience = resilience(2, 10);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3");
+        AtomicInteger attempts = new AtomicInteger();
+
+        resilience.call(SwapiResource.CHARACTERS, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+            }
+            return "page";
+        });
+
+        assertEquals(List.of(Duration.ofSeconds(3)), sleeps);
+    }
+
+    @Test
+    void backoff_shouldStayWithinTheExponentialCeiling() {
+        SwapiResilience resilience = resilience(10, 10);
+        RuntimeException timeout = new ResourceAccessException("timeout");
+
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            long ceiling = Math.min(INITIAL.toNanos() << (attempt - 1), MAX.toNanos());
+            for (int i = 0; i < 50; i++) {
+                Duration delay = resilience.backoff(attempt, timeout);
+                assertFalse(delay.isNegative());
+                assertTrue(delay.toNanos() <= ceiling, () -> "attempt " + delay + " exceeds " + ceiling);
+            }
+        }
+    }
+
+    @Test
+    void backoff_shouldCapRetryAfterAtMaxBackoff() {
+        SwapiResilience resilience = resilience(2, 10);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3600");
+
+        Duration delay = resilience.backoff(1,
+                HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", headers, null, null));
+
+        assertEquals(MAX, delay);
+    }
+
+    @Test
+    void call_shouldFailFastWhileCircuitIsOpenAndCloseAfterSuccessfulTrial() {
+        SwapiResilience resilience = resilience(1, 3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResourceAccessException.class, () -> resilience.call(SwapiResource.STARSHIPS, () -> {
+                attempts.incrementAndGet();
+                throw new ResourceAccessException("Connection refused");
+            }));
+        }
+        assertEquals(SwapiResilience.State.OPEN, resilience.state());
+
+        assertThrows(SwapiUnavailableException.class,
+                () -> resilience.call(SwapiResource.STARSHIPS, attempts::incrementAndGet));
+        assertEquals(3, attempts.get());
+        assertEquals(1, registry.get("swapi.sync.rejected").tag("resource", "starships").counter().count());
+
+        now.addAndGet(OPEN.toNanos());
+        assertEquals(4, resilience.call(SwapiResource.STARSHIPS, attempts::incrementAndGet));
+        assertEquals(SwapiResilience.State.CLOSED, resilience.state());
+        assertEquals(1, registry.get("swapi.sync.circuit.transitions").tag("state", "open").counter().count());
+        assertEquals(1, registry.get("swapi.sync.circuit.transitions").tag("state", "closed").counter().count());
+    }
+
+    @Test
+    void call_shouldReopenWhenTrialFails() {
+        SwapiResilience resilience = resilience(1, 1);
+
+        assertThrows(ResourceAccessException.class, () -> resilience.call(SwapiResource.VEHICLES, () -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+        now.addAndGet(OPEN.toNanos());
+        assertThrows(ResourceAccessException.class, () -> resilience.call(SwapiResource.VEHICLES, () -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+
+        assertEquals(SwapiResilience.State.OPEN, resilience.state());
+        assertThrows(SwapiUnavailableException.class, () -> resilience.call(SwapiResource.VEHICLES, () -> "page"));
+    }
+
+    private SwapiResilience resilience(int maxAttempts, int failureThreshold) {
+        return new SwapiResilience(maxAttempts, INITIAL, MAX, failureThreshold, OPEN,
+                new SyncMetrics(registry), sleeps::add, now::get, new Random(42));
+    }
+}
@@ -0,0 +1,105 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.dto.SwapiPlanet;
+import com.starwars.backend.support.SwapiDataset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwapiSnapshotTest {
+
+    private static final OffsetDateTime TAKEN_AT = OffsetDateTime.parse("2024-05-04T12:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void write_shouldRoundTripEveryResourceThroughAGzippedFile() throws IOException {
+        Path file = dir.resolve("snapshots/swapi.json.gz");
+        SwapiSnapshot.Contents contents = new SwapiSnapshot.Contents(TAKEN_AT, Map.of(
+                SwapiResource.PLANETS, SwapiDataset.planets(),
+                SwapiResource.FILMS, SwapiDataset.films(),
+                SwapiResource.SPECIES, SwapiDataset.species(),
+                SwapiResource.CHARACTERS, SwapiDataset.characters(),
+                SwapiResource.STARSHIPS, SwapiDataset.starships(),
+                SwapiResource.VEHICLES, SwapiDataset.vehicles()));
+
+        snapshot("file:" + file, file).write(contents);
+        SwapiSnapshot.Contents loaded = snapshot("file:" + file, file).load().orElseThrow();
+
+        assertEquals(TAKEN_AT, loaded.createdAt());
+        assertEquals(SwapiDataset.TOTAL_RECORDS, loaded.size());
+        for (SwapiResource resource : SwapiResource.values()) {
+            assertEquals(contents.records(resource), loaded.records(resource), resource.name());
+        }
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            String json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(json.contains("\"rotation_period\":\"24\""), "records keep the SWAPI field names");
+            assertTrue(json.contains("\"edited\":\"2014-12-20T21:17:56.891Z\""), "dates are written as ISO strings");
+        }
+        try (var leftovers = Files.list(file.getParent())) {
+            assertEquals(List.of(file), leftovers.toList());
+        }
+    }
+
+    @Test
+    void read_shouldAcceptPlainJsonAndSkipUnknownFields() throws IOException {
+        String json = """
+                {"version": 1, "source": {"host": "swapi.dev"},
+                 "planets": [{"name": "Tatooine", "climate": "arid", "unknown": [1, 2], "url": "https://swapi.dev/api/planets/1/"}],
+                 "createdAt": "2024-05-04T12:00:00Z"}
+                """;
+
+        SwapiSnapshot.Contents contents = snapshot("", dir.resolve("unused"))
+                .read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(TAKEN_AT, contents.createdAt());
+        SwapiPlanet planet = (SwapiPlanet) contents.records(SwapiResource.PLANETS).getFirst();
+        assertEquals("Tatooine", planet.name());
+        assertEquals("https://swapi.dev/api/planets/1/", planet.url());
+        assertEquals(List.of(), contents.records(SwapiResource.FILMS));
+    }
+
+    @Test
+    void read_shouldRejectANonObjectDocument() {
+        SwapiSnapshot snapshot = snapshot("", dir.resolve("unused"));
+
+        assertThrows(IOException.class,
+                () -> snapshot.read(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void load_shouldBeEmptyWhenNothingIsConfiguredOrPresent() {
+        assertTrue(snapshot("", dir.resolve("unused")).load().isEmpty());
+        assertTrue(snapshot("file:" + dir.resolve("missing.json.gz"), dir.resolve("unused")).load().isEmpty());
+        assertTrue(snapshot("classpath:missing-snapshot.json.gz", dir.resolve("unused")).load().isEmpty());
+    }
+
+    @Test
+    void write_shouldEmitEveryResourceEvenWhenEmpty() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        snapshot("", dir.resolve("unused")).write(new SwapiSnapshot.Contents(TAKEN_AT, Map.of()), out);
+
+        assertEquals("{\"createdAt\":\"2024-05-04T12:00Z\",\"planets\":[],\"films\":[],\"species\":[],"
+                + "\"characters\":[],\"starships\":[],\"vehicles\":[]}", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static SwapiSnapshot snapshot(String location, Path output) {
+        return new SwapiSnapshot(new JacksonConfig().objectMapper(), new DefaultResourceLoader(), location, output);
+    }
+}
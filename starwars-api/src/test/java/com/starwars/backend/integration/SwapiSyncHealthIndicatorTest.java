@@ -0,0 +1,74 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.persisntence.entities.SyncRun;
+import com.starwars.backend.persisntence.repository.PlanetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class SwapiSyncHealthIndicatorTest {
+
+    private SyncStatus syncStatus;
+    private PlanetRepository planetRepository;
+    private SwapiSyncHealthIndicator healthIndicator;
+
+    @BeforeEach
+    void setUp() {
+        syncStatus = mock(SyncStatus.class);
+        planetRepository = mock(PlanetRepository.class);
+        healthIndicator = new SwapiSyncHealthIndicator(syncStatus, planetRepository);
+        when(syncStatus.lastRun()).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void health_shouldBeOutOfServiceWhileColdDatabaseIsSyncing() {
+        when(syncStatus.current()).thenReturn(snapshot(SyncStatus.Phase.RUNNING, null));
+
+        Health health = healthIndicator.health();
+
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals(SyncStatus.Phase.RUNNING, health.getDetails().get("phase"));
+    }
+
+    @Test
+    void health_shouldBeDownWhenColdDatabaseSyncFails() {
+        when(syncStatus.current()).thenReturn(snapshot(SyncStatus.Phase.FAILED, "timeout"));
+
+        Health health = healthIndicator.health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("timeout", health.getDetails().get("error"));
+    }
+
+    @Test
+    void health_shouldBeUpWhileSyncingWarmDatabase() {
+        OffsetDateTime finishedAt = OffsetDateTime.now().minusHours(1);
+        when(syncStatus.current()).thenReturn(snapshot(SyncStatus.Phase.RUNNING, null));
+        when(syncStatus.lastRun()).thenReturn(Optional.of(SyncRun.builder().finishedAt(finishedAt).records(260).build()));
+
+        Health health = healthIndicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(finishedAt, health.getDetails().get("lastSuccess"));
+        verify(planetRepository, never()).count();
+    }
+
+    @Test
+    void health_shouldBeUpWhenDataPredatesSyncRuns() {
+        when(syncStatus.current()).thenReturn(snapshot(SyncStatus.Phase.FAILED, "timeout"));
+        when(planetRepository.count()).thenReturn(60L);
+
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+
+    private static SyncStatus.Snapshot snapshot(SyncStatus.Phase phase, String error) {
+        return new SyncStatus.Snapshot(phase, OffsetDateTime.now(), error);
+    }
+}
@@ -0,0 +1,256 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.dto.SwapiFilm;
+import com.starwars.backend.dto.SwapiPlanet;
+import com.starwars.backend.dto.SyncChanges;
+import com.starwars.backend.dto.SyncReport;
+import com.starwars.backend.event.DatasetChangedEvent;
+import com.starwars.backend.exception.SwapiSyncException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.stubbing.Answer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.*;
+
+class SwapiSyncServiceTest {
+
+    private SyncPlanetService syncPlanetService;
+    private SyncCharacterService syncCharacterService;
+    private SyncFilmService syncFilmService;
+    private SyncSpeciesService syncSpeciesService;
+    private SyncStarshipService syncStarshipService;
+    private SyncVehicleService syncVehicleService;
+    private ThreadPoolTaskExecutor executor;
+    private SyncStatus syncStatus;
+    private SimpleMeterRegistry meterRegistry;
+    private ApplicationEventPublisher eventPublisher;
+    private SwapiSnapshot swapiSnapshot;
+    private SwapiSyncService swapiSyncService;
+
+    private final List<SwapiResource> persistOrder = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        syncPlanetService = mock(SyncPlanetService.class);
+        syncCharacterService = mock(SyncCharacterService.class);
+        syncFilmService = mock(SyncFilmService.class);
+        syncSpeciesService = mock(SyncSpeciesService.class);
+        syncStarshipService = mock(SyncStarshipService.class);
+        syncVehicleService = mock(SyncVehicleService.class);
+        syncStatus = mock(SyncStatus.class);
+        meterRegistry = new SimpleMeterRegistry();
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        swapiSnapshot = mock(SwapiSnapshot.class);
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(6);
+        executor.setMaxPoolSize(6);
+        executor.initialize();
+
+        doAnswer(persisted(SwapiResource.PLANETS)).when(syncPlanetService).persistPlanets(anyList());
+        doAnswer(persisted(SwapiResource.FILMS)).when(syncFilmService).persistFilms(anyList());
+        doAnswer(persisted(SwapiResource.SPECIES)).when(syncSpeciesService).persistSpecies(anyList());
+        doAnswer(persisted(SwapiResource.CHARACTERS)).when(syncCharacterService).persistCharacters(anyList());
+        doAnswer(persisted(SwapiResource.STARSHIPS)).when(syncStarshipService).persistStarships(anyList());
+        doAnswer(persisted(SwapiResource.VEHICLES)).when(syncVehicleService).persistVehicles(anyList());
+
+        swapiSyncService = new SwapiSyncService(syncPlanetService, syncCharacterService, syncFilmService,
+                syncSpeciesService, syncStarshipService, syncVehicleService, executor, syncStatus,
+                new SyncMetrics(meterRegistry), swapiSnapshot, eventPublisher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void syncAllData_shouldFetchAllResourcesConcurrently() {
+        CountDownLatch allFetching = new CountDownLatch(6);
+        Runnable awaitOthers = () -> {
+            allFetching.countDown();
+            try {
+                assertTrue(allFetching.await(5, TimeUnit.SECONDS), "fetches did not run concurrently");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        when(syncPlanetService.fetchPlanets()).thenAnswer(inv -> { awaitOthers.run(); return List.of(); });
+        when(syncFilmService.fetchFilms()).thenAnswer(inv -> { awaitOthers.run(); return List.of(); });
+        when(syncSpeciesService.fetchSpecies()).thenAnswer(inv -> { awaitOthers.run(); return List.of(); });
+        when(syncCharacterService.fetchCharacters()).thenAnswer(inv -> { awaitOthers.run(); return List.of(); });
+        when(syncStarshipService.fetchStarships()).thenAnswer(inv -> { awaitOthers.run(); return List.of(); });
+        when(syncVehicleService.fetchVehicles()).thenAnswer(inv -> { awaitOthers.run(); return List.of(); });
+
+        SyncReport report = swapiSyncService.syncAllData();
+
+        assertEquals(0, allFetching.getCount());
+        assertEquals(6, report.stages().size());
+    }
+
+    @Test
+    void syncAllData_shouldPersistDependenciesFirst() {
+        stubEmptyFetches();
+
+        swapiSyncService.syncAllData();
+
+        assertEquals(6, persistOrder.size());
+        for (SwapiResource resource : SwapiResource.values()) {
+            for (SwapiResource dependency : resource.dependencies()) {
+                assertTrue(persistOrder.indexOf(dependency) < persistOrder.indexOf(resource),
+                        dependency + " should be persisted before " + resource);
+            }
+        }
+    }
+
+    @Test
+    void syncAllData_shouldReportRecordsPerStage() {
+        stubEmptyFetches();
+        when(syncFilmService.fetchFilms()).thenReturn(List.of(mock(SwapiFilm.class)));
+
+        SyncReport report = swapiSyncService.syncAllData();
+
+        assertEquals(1, report.stages().get(SwapiResource.FILMS).records());
+        assertEquals(1, report.stages().get(SwapiResource.FILMS).changes().created());
+        assertEquals(0, report.stages().get(SwapiResource.PLANETS).records());
+        assertNotNull(report.total());
+        verify(syncStatus).succeeded(any(SyncJob.class), same(report));
+        verify(syncStatus).stageCompleted(SwapiResource.FILMS, report.stages().get(SwapiResource.FILMS));
+        verify(eventPublisher).publishEvent(argThat((DatasetChangedEvent event) ->
+                event.resources().equals(EnumSet.of(SwapiResource.FILMS))));
+        assertEquals(1, meterRegistry.get("swapi.sync.records").tags("resource", "films", "result", "created").counter().count());
+        assertEquals(1, meterRegistry.get("swapi.sync.stage").tags("resource", "films", "stage", "persist").timer().count());
+    }
+
+    @Test
+    void syncAllData_shouldPublishEachStageBeforeItsDependentsPersist() {
+        stubEmptyFetches();
+        when(syncPlanetService.fetchPlanets()).thenReturn(List.of(mock(SwapiPlanet.class)));
+        when(syncFilmService.fetchFilms()).thenReturn(List.of(mock(SwapiFilm.class)));
+
+        swapiSyncService.syncAllData();
+
+        InOrder inOrder = inOrder(eventPublisher, syncFilmService, syncVehicleService);
+        inOrder.verify(eventPublisher).publishEvent(argThat((DatasetChangedEvent event) ->
+                event.resources().equals(EnumSet.of(SwapiResource.PLANETS))));
+        inOrder.verify(syncFilmService).persistFilms(anyList());
+        inOrder.verify(eventPublisher).publishEvent(argThat((DatasetChangedEvent event) ->
+                event.resources().equals(EnumSet.of(SwapiResource.FILMS))));
+        inOrder.verify(syncVehicleService).persistVehicles(anyList());
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void syncAllData_shouldNotPublishDatasetChangeWhenNothingWasWritten() {
+        stubEmptyFetches();
+
+        swapiSyncService.syncAllData();
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void syncAllData_shouldSkipDependentsAndThrowWhenPersistFails() {
+        stubEmptyFetches();
+        doThrow(new RuntimeException("db down")).when(syncFilmService).persistFilms(anyList());
+
+        assertThrows(SwapiSyncException.class, () -> swapiSyncService.syncAllData());
+
+        verify(syncSpeciesService, never()).persistSpecies(anyList());
+        verify(syncCharacterService, never()).persistCharacters(anyList());
+        verify(syncStarshipService, never()).persistStarships(anyList());
+        verify(syncVehicleService, never()).persistVehicles(anyList());
+        verify(syncStatus).failed(any(SyncJob.class), any(RuntimeException.class));
+        verify(syncStatus, never()).succeeded(any(), any());
+        verify(eventPublisher).publishEvent(any(DatasetChangedEvent.class));
+        assertEquals(1, meterRegistry.get("swapi.sync.failures").tags("resource", "films", "stage", "persist").counter().count());
+    }
+
+    @Test
+    void importSnapshot_shouldPersistSnapshotRecordsWithoutFetching() {
+        SwapiFilm film = mock(SwapiFilm.class);
+        OffsetDateTime createdAt = OffsetDateTime.now().minusDays(3);
+        SwapiSnapshot.Contents snapshot = new SwapiSnapshot.Contents(createdAt,
+                Map.of(SwapiResource.FILMS, List.of(film)));
+
+        SyncReport report = swapiSyncService.importSnapshot(new SyncJob(), snapshot);
+
+        assertEquals(6, persistOrder.size());
+        assertEquals(1, report.stages().get(SwapiResource.FILMS).records());
+        verify(syncFilmService).persistFilms(List.of(film));
+        verify(syncPlanetService).persistPlanets(List.of());
+        verify(syncFilmService, never()).fetchFilms();
+        verify(syncPlanetService, never()).fetchPlanets();
+        verify(syncStatus).imported(any(SyncJob.class), same(report), eq(createdAt));
+    }
+
+    @Test
+    void refreshSnapshot_shouldWriteEverythingThatWasFetched() {
+        stubEmptyFetches();
+        SwapiFilm film = mock(SwapiFilm.class);
+        when(syncFilmService.fetchFilms()).thenReturn(List.of(film));
+        SyncJob job = new SyncJob();
+
+        swapiSyncService.refreshSnapshot(job);
+
+        ArgumentCaptor<SwapiSnapshot.Contents> written = ArgumentCaptor.forClass(SwapiSnapshot.Contents.class);
+        verify(swapiSnapshot).write(written.capture());
+        assertEquals(job.getStartedAt(), written.getValue().createdAt());
+        assertEquals(List.of(film), written.getValue().records(SwapiResource.FILMS));
+        assertEquals(6, written.getValue().records().size());
+        verify(syncStatus).succeeded(same(job), any(SyncReport.class));
+    }
+
+    @Test
+    void refreshSnapshot_shouldFailWithoutWritingWhenAFetchFailed() {
+        stubEmptyFetches();
+        SyncJob job = new SyncJob();
+        when(syncPlanetService.fetchPlanets()).thenAnswer(inv -> {
+            job.fetchFailed(SwapiResource.PLANETS, "timeout");
+            return List.of();
+        });
+
+        assertThrows(SwapiSyncException.class, () -> swapiSyncService.refreshSnapshot(job));
+
+        verify(swapiSnapshot, never()).write(any());
+        verify(syncStatus).failed(same(job), any(SwapiSyncException.class));
+        verify(syncStatus, never()).succeeded(any(), any());
+    }
+
+    private Answer<SyncChanges> persisted(SwapiResource resource) {
+        return inv -> {
+            persistOrder.add(resource);
+            return new SyncChanges(inv.getArgument(0, List.class).size(), 0, 0);
+        };
+    }
+
+    private void stubEmptyFetches() {
+        when(syncPlanetService.fetchPlanets()).thenReturn(List.of());
+        when(syncFilmService.fetchFilms()).thenReturn(List.of());
+        when(syncSpeciesService.fetchSpecies()).thenReturn(List.of());
+        when(syncCharacterService.fetchCharacters()).thenReturn(List.of());
+        when(syncStarshipService.fetchStarships()).thenReturn(List.of());
+        when(syncVehicleService.fetchVehicles()).thenReturn(List.of());
+    }
+}
@@ -1,19 +1,20 @@
 package com.starwars.backend.integration;
 
 import com.starwars.backend.Utils;
-import com.starwars.backend.dto.CharacterDTO;
+import com.starwars.backend.dto.SwapiCharacter;
+import com.starwars.backend.dto.SwapiIds;
 import com.starwars.backend.dto.SwapiResponse;
 import com.starwars.backend.integration.SyncCharacterService;
 import com.starwars.backend.persisntence.entities.Character;
 import com.starwars.backend.persisntence.entities.Film;
 import com.starwars.backend.persisntence.entities.Planet;
 import com.starwars.backend.persisntence.entities.Species;
-import com.starwars.backend.persisntence.entities.Starship;
-import com.starwars.backend.persisntence.entities.Vehicle;
 import com.starwars.backend.persisntence.repository.*;
+import com.starwars.backend.support.SwapiFetchers;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
@@ -22,6 +23,7 @@ import org.springframework.web.client.RestTemplate;
 import java.time.OffsetDateTime;
 import java.util.*;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import org.mockito.MockitoAnnotations;
@@ -33,21 +35,21 @@ class SyncCharacterServiceTest {
     @Mock private PlanetRepository planetRepository;
     @Mock private FilmRepository filmRepository;
     @Mock private SpeciesRepository speciesRepository;
-    @Mock private VehicleRepository vehicleRepository;
-    @Mock private StarshipRepository starshipRepository;
 
-    @InjectMocks private SyncCharacterService syncCharacterService;
+    private SyncCharacterService syncCharacterService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        syncCharacterService = new SyncCharacterService(SwapiFetchers.pageFetcher(restTemplate, 4), new SyncBatchWriter(mock(EntityManager.class), 50),
+                new SyncChangeDetector(true), characterRepository, planetRepository, filmRepository, speciesRepository);
     }
 
     @Test
     void testSyncCharacters_successfulFlow() {
         String url = Utils.URL_PEOPLE;
 
-        CharacterDTO dto = new CharacterDTO(
+        SwapiCharacter dto = new SwapiCharacter(
                 "Luke Skywalker",
                 "19BBY",
                 "male",
@@ -56,17 +58,15 @@ class SyncCharacterServiceTest {
                 "blond",
                 "fair",
                 "blue",
-                "https://swapi.dev/api/planets/1/",
-                List.of("https://swapi.dev/api/films/1/"),
-                List.of("https://swapi.dev/api/species/1/"),
-                List.of("https://swapi.dev/api/vehicles/1/"),
-                List.of("https://swapi.dev/api/starships/1/"),
+                1,
+                SwapiIds.of(1),
+                SwapiIds.of(1),
                 OffsetDateTime.now(),
                 OffsetDateTime.now(),
                 "https://swapi.dev/api/people/1/"
         );
 
-        SwapiResponse<CharacterDTO> response = new SwapiResponse<>(
+        SwapiResponse<SwapiCharacter> response = new SwapiResponse<>(
                 1,
                 null,
                 null,
@@ -80,38 +80,74 @@ class SyncCharacterServiceTest {
                 any(ParameterizedTypeReference.class)
         )).thenReturn(ResponseEntity.ok(response));
 
-        when(characterRepository.findBySwapiId(1)).thenReturn(Optional.empty());
-        when(planetRepository.findBySwapiId(1)).thenReturn(Optional.of(Planet.builder().name("Tatooine").build()));
-        when(filmRepository.findBySwapiId(1)).thenReturn(Optional.of(Film.builder().title("A New Hope").characters(new HashSet<>()).build()));
-        when(speciesRepository.findBySwapiId(1)).thenReturn(Optional.of(Species.builder().name("Human").characters(new HashSet<>()).build()));
-        when(vehicleRepository.findBySwapiId(1)).thenReturn(Optional.of(Vehicle.builder().name("Speeder").pilots(new HashSet<>()).build()));
-        when(starshipRepository.findBySwapiId(1)).thenReturn(Optional.of(Starship.builder().name("X-Wing").pilots(new HashSet<>()).build()));
+        Planet tatooine = Planet.builder().swapiId(1).name("Tatooine").build();
+        Film newHope = Film.builder().swapiId(1).title("A New Hope").characters(new HashSet<>()).build();
+        Species human = Species.builder().swapiId(1).name("Human").characters(new HashSet<>()).build();
+
+        when(planetRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of(tatooine));
+        when(filmRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of(newHope));
+        when(speciesRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of(human));
 
         when(characterRepository.save(any(Character.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         syncCharacterService.syncCharacters();
 
-        verify(characterRepository).save(any(Character.class));
-        verify(filmRepository).findBySwapiId(1);
-        verify(speciesRepository).findBySwapiId(1);
-        verify(vehicleRepository).findBySwapiId(1);
-        verify(starshipRepository).findBySwapiId(1);
+        ArgumentCaptor<Character> saved = ArgumentCaptor.forClass(Character.class);
+        verify(characterRepository).save(saved.capture());
+        assertEquals(tatooine, saved.getValue().getHomeworld());
+        assertEquals(Set.of(newHope), saved.getValue().getFilms());
+        assertEquals(Set.of(human), saved.getValue().getSpecies());
+        assertNotNull(saved.getValue().getContentHash());
+        verify(characterRepository).findBySwapiIdIn(List.of(1));
+        verify(filmRepository).findBySwapiIdIn(List.of(1));
+        verify(speciesRepository).findBySwapiIdIn(List.of(1));
+        verify(filmRepository, never()).findBySwapiId(any());
+        verify(speciesRepository, never()).findBySwapiId(any());
+    }
+
+    @Test
+    void testSyncCharacters_shouldResolveSharedReferencesWithOneQueryPerType() {
+        String url = Utils.URL_PEOPLE;
+
+        List<SwapiCharacter> dtos = List.of(
+                character(1, 1, 2),
+                character(2, 2, 3),
+                character(3, 1, 3)
+        );
+
+        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new SwapiResponse<>(3, null, null, dtos)));
+        when(filmRepository.findBySwapiIdIn(List.of(1, 2, 3))).thenReturn(List.of(
+                Film.builder().swapiId(1).build(), Film.builder().swapiId(2).build(), Film.builder().swapiId(3).build()));
+        Character existing = Character.builder().swapiId(2).films(new HashSet<>()).species(new HashSet<>()).build();
+        when(characterRepository.findBySwapiIdIn(List.of(1, 2, 3))).thenReturn(List.of(existing));
+
+        syncCharacterService.syncCharacters();
+
+        ArgumentCaptor<Character> saved = ArgumentCaptor.forClass(Character.class);
+        verify(characterRepository, times(2)).save(saved.capture());
+        saved.getAllValues().forEach(character -> assertEquals(2, character.getFilms().size()));
+        assertEquals(2, existing.getFilms().size());
+        assertNotNull(existing.getContentHash());
+        verify(filmRepository, times(1)).findBySwapiIdIn(any());
+        verify(characterRepository, times(1)).findBySwapiIdIn(any());
+        verify(characterRepository, never()).findBySwapiId(any());
     }
 
     @Test
     void testSyncCharacters_withInvalidSwapiId_shouldSkipCharacter() {
         String url = Utils.URL_PEOPLE;
 
-        CharacterDTO dto = new CharacterDTO(
+        SwapiCharacter dto = new SwapiCharacter(
                 "Unknown Droid", "n/a", "n/a", "n/a", "n/a",
-                null, null, null, null, null,
+                null, null, null,
                 null, null, null,
                 OffsetDateTime.now(),
                 OffsetDateTime.now(),
                 "invalid_url"
         );
 
-        SwapiResponse<CharacterDTO> response = new SwapiResponse<>(1, null, null, List.of(dto));
+        SwapiResponse<SwapiCharacter> response = new SwapiResponse<>(1, null, null, List.of(dto));
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
@@ -123,7 +159,7 @@ class SyncCharacterServiceTest {
 
     @Test
     void testSyncCharacters_withEmptyResults_shouldNotSave() {
-        SwapiResponse<CharacterDTO> response = new SwapiResponse<>(0, null, null, null);
+        SwapiResponse<SwapiCharacter> response = new SwapiResponse<>(0, null, null, null);
         String url = Utils.URL_PEOPLE;
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
@@ -146,4 +182,28 @@ class SyncCharacterServiceTest {
         verify(characterRepository, never()).save(any());
     }
 
+    @Test
+    void testSyncCharacters_shouldNotStoreHashWhenRelationIsUnresolved() {
+        String url = Utils.URL_PEOPLE;
+
+        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new SwapiResponse<>(1, null, null,
+                        List.of(character(1, 1)))));
+
+        syncCharacterService.syncCharacters();
+
+        ArgumentCaptor<Character> saved = ArgumentCaptor.forClass(Character.class);
+        verify(characterRepository).save(saved.capture());
+        assertTrue(saved.getValue().getFilms().isEmpty());
+        assertNull(saved.getValue().getContentHash());
+    }
+
+    private static SwapiCharacter character(int id, int... films) {
+        return new SwapiCharacter(
+                "Character " + id, "n/a", "n/a", "n/a", "n/a", "n/a", "n/a", "n/a",
+                null, SwapiIds.of(films), null,
+                OffsetDateTime.now(), OffsetDateTime.now(),
+                "https://swapi.dev/api/people/" + id + "/"
+        );
+    }
 }
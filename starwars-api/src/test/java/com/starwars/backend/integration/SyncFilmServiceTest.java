@@ -1,13 +1,15 @@
 package com.starwars.backend.integration;
 
 import com.starwars.backend.Utils;
-import com.starwars.backend.dto.FilmDTO;
+import com.starwars.backend.dto.SwapiFilm;
+import com.starwars.backend.dto.SwapiIds;
 import com.starwars.backend.dto.SwapiResponse;
 import com.starwars.backend.integration.SyncFilmService;
 import com.starwars.backend.persisntence.entities.Film;
-import com.starwars.backend.persisntence.repository.CharacterRepository;
 import com.starwars.backend.persisntence.repository.FilmRepository;
 import com.starwars.backend.persisntence.repository.PlanetRepository;
+import com.starwars.backend.support.SwapiFetchers;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -20,7 +22,6 @@ import org.springframework.web.client.RestTemplate;
 import java.time.OffsetDateTime;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,49 +31,47 @@ class SyncFilmServiceTest {
     private RestTemplate restTemplate;
     private FilmRepository filmRepository;
     private SyncFilmService syncFilmService;
-    private CharacterRepository characterRepository;
     private PlanetRepository planetRepository;
 
     @BeforeEach
     void setUp() {
         restTemplate = mock(RestTemplate.class);
         filmRepository = mock(FilmRepository.class);
-        characterRepository = mock(CharacterRepository.class);
         planetRepository = mock(PlanetRepository.class);
-        syncFilmService = new SyncFilmService(restTemplate, filmRepository, characterRepository, planetRepository);
+        syncFilmService = new SyncFilmService(SwapiFetchers.pageFetcher(restTemplate, 4), new SyncBatchWriter(mock(EntityManager.class), 50),
+                new SyncChangeDetector(true), filmRepository, planetRepository);
     }
 
     @Test
     void syncFilms_shouldSaveFilm() {
         String url = Utils.URL_FILMS;
 
-        FilmDTO filmDTO = new FilmDTO(
+        SwapiFilm film = new SwapiFilm(
                 "A New Hope",
                 4,
                 "Opening crawl",
                 "George Lucas",
                 "Gary Kurtz",
                 "1977-05-25",
-                List.of(), List.of(), List.of(), List.of(), List.of(),
+                SwapiIds.EMPTY,
                 OffsetDateTime.now(),
                 OffsetDateTime.now(),
                 "https://swapi.dev/api/films/1/"
         );
 
-        SwapiResponse<FilmDTO> response = new SwapiResponse<>(1, null, null, List.of(filmDTO));
+        SwapiResponse<SwapiFilm> response = new SwapiResponse<>(1, null, null, List.of(film));
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
 
-        when(filmRepository.findBySwapiId(1)).thenReturn(Optional.empty());
-        when(filmRepository.saveAndFlush(any(Film.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(filmRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of());
         when(filmRepository.save(any(Film.class))).thenAnswer(inv -> inv.getArgument(0));
 
         ArgumentCaptor<Film> filmCaptor = ArgumentCaptor.forClass(Film.class);
 
         syncFilmService.syncFilms();
 
-        verify(filmRepository).saveAndFlush(filmCaptor.capture());
+        verify(filmRepository).save(filmCaptor.capture());
         Film saved = filmCaptor.getValue();
 
         assertEquals("A New Hope", saved.getTitle());
@@ -87,24 +86,20 @@ class SyncFilmServiceTest {
     void syncFilms_shouldSkipFilmWithInvalidSwapiId() {
         String url = Utils.URL_FILMS;
 
-        FilmDTO filmDTO = new FilmDTO(
+        SwapiFilm film = new SwapiFilm(
                 "A New Hope",
                 4,
                 "Opening crawl",
                 "George Lucas",
                 "Gary Kurtz",
                 "1977-05-25",
-                List.of(),
-                List.of(),
-                List.of(),
-                List.of(),
-                List.of(),
+                SwapiIds.EMPTY,
                 OffsetDateTime.now(),
                 OffsetDateTime.now(),
                 "invalid_url"
         );
 
-        SwapiResponse<FilmDTO> response = new SwapiResponse<>(1, null, null, List.of(filmDTO));
+        SwapiResponse<SwapiFilm> response = new SwapiResponse<>(1, null, null, List.of(film));
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
@@ -118,7 +113,7 @@ class SyncFilmServiceTest {
     void syncFilms_shouldHandleEmptyResults() {
         String url = Utils.URL_FILMS;
 
-        SwapiResponse<FilmDTO> emptyResponse = new SwapiResponse<>(0, null, null, null);
+        SwapiResponse<SwapiFilm> emptyResponse = new SwapiResponse<>(0, null, null, null);
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(emptyResponse));
@@ -144,80 +139,70 @@ class SyncFilmServiceTest {
     void syncFilms_shouldHandleInvalidReleaseDate() {
         String url = Utils.URL_FILMS;
 
-        FilmDTO filmDTO = new FilmDTO(
+        SwapiFilm film = new SwapiFilm(
                 "Phantom Menace",
                 1,
                 "Long time ago...",
                 "George Lucas",
                 "Rick McCallum",
                 "invalid-date",
-                List.of(), List.of(), List.of(), List.of(), List.of(),
+                SwapiIds.EMPTY,
                 OffsetDateTime.now(),
                 OffsetDateTime.now(),
                 "https://swapi.dev/api/films/4/"
         );
 
-        SwapiResponse<FilmDTO> response = new SwapiResponse<>(1, null, null, List.of(filmDTO));
+        SwapiResponse<SwapiFilm> response = new SwapiResponse<>(1, null, null, List.of(film));
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
 
-        when(filmRepository.findBySwapiId(4)).thenReturn(Optional.empty());
+        when(filmRepository.findBySwapiIdIn(List.of(4))).thenReturn(List.of());
 
-        when(filmRepository.saveAndFlush(any(Film.class))).thenAnswer(inv -> inv.getArgument(0));
         when(filmRepository.save(any(Film.class))).thenAnswer(inv -> inv.getArgument(0));
 
         syncFilmService.syncFilms();
 
-        verify(filmRepository).saveAndFlush(any(Film.class));
+        verify(filmRepository).save(any(Film.class));
     }
 
     @Test
     void syncFilms_shouldMapCharactersAndPlanetsIfPresent() {
         String url = Utils.URL_FILMS;
 
-        FilmDTO filmDTO = new FilmDTO(
+        SwapiFilm film = new SwapiFilm(
                 "Empire Strikes Back",
                 5,
                 "It is a dark time...",
                 "Irvin Kershner",
                 "Gary Kurtz",
                 "1980-05-21",
-                List.of("https://swapi.dev/api/people/1/"),
-                List.of("https://swapi.dev/api/planets/2/"),
-                List.of(), List.of(), List.of(),
+                SwapiIds.of(2),
                 OffsetDateTime.now(),
                 OffsetDateTime.now(),
                 "https://swapi.dev/api/films/2/"
         );
 
-        SwapiResponse<FilmDTO> response = new SwapiResponse<>(1, null, null, List.of(filmDTO));
+        SwapiResponse<SwapiFilm> response = new SwapiResponse<>(1, null, null, List.of(film));
 
-        var character = com.starwars.backend.persisntence.entities.Character.builder().films(new HashSet<>()).build();
-        var planet = com.starwars.backend.persisntence.entities.Planet.builder().films(new HashSet<>()).build();
+        var planet = com.starwars.backend.persisntence.entities.Planet.builder().swapiId(2).films(new HashSet<>()).build();
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
 
-        when(filmRepository.findBySwapiId(2)).thenReturn(Optional.empty());
-        when(characterRepository.findBySwapiId(1)).thenReturn(Optional.of(character));
-        when(planetRepository.findBySwapiId(2)).thenReturn(Optional.of(planet));
-
-        when(filmRepository.saveAndFlush(any(Film.class))).thenAnswer(inv -> {
-            Film f = inv.getArgument(0);
-            f.setSwapiId(2);
-            character.getFilms().add(f);
-            planet.getFilms().add(f);
-            return f;
-        });
+        when(filmRepository.findBySwapiIdIn(List.of(2))).thenReturn(List.of());
+        when(planetRepository.findBySwapiIdIn(List.of(2))).thenReturn(List.of(planet));
+
         when(filmRepository.save(any(Film.class))).thenAnswer(inv -> inv.getArgument(0));
 
         syncFilmService.syncFilms();
 
-        assertTrue(character.getFilms().stream().anyMatch(f -> f.getTitle().equals("Empire Strikes Back")));
-        assertTrue(planet.getFilms().stream().anyMatch(f -> f.getTitle().equals("Empire Strikes Back")));
-
-        verify(filmRepository).saveAndFlush(any(Film.class));
+        ArgumentCaptor<Film> saved = ArgumentCaptor.forClass(Film.class);
+        verify(filmRepository).save(saved.capture());
+        assertEquals("Empire Strikes Back", saved.getValue().getTitle());
+        assertTrue(saved.getValue().getPlanets().contains(planet));
+        verify(planetRepository, never()).findBySwapiId(any());
+        verify(filmRepository, never()).saveAndFlush(any(Film.class));
     }
 
 }
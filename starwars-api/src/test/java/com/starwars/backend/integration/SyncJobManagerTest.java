@@ -0,0 +1,114 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.dto.SyncChanges;
+import com.starwars.backend.dto.SyncJobResponse;
+import com.starwars.backend.dto.SyncReport;
+import com.starwars.backend.exception.SyncJobConflictException;
+import com.starwars.backend.persisntence.repository.SyncRunRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SyncJobManagerTest {
+
+    private SwapiSyncService swapiSyncService;
+    private SyncStatus syncStatus;
+    private ExecutorService executor;
+    private SyncJobManager syncJobManager;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        swapiSyncService = mock(SwapiSyncService.class);
+        syncStatus = new SyncStatus(mock(SyncRunRepository.class));
+        executor = Executors.newSingleThreadExecutor();
+        syncJobManager = new SyncJobManager(swapiSyncService, executor::execute);
+
+        when(swapiSyncService.syncAllData(any(SyncJob.class))).thenAnswer(inv -> {
+            SyncJob job = inv.getArgument(0);
+            syncStatus.started(job);
+            syncStatus.pageFetched(SwapiResource.PLANETS, 10);
+            syncStatus.pageFetched(SwapiResource.PLANETS, 10);
+            syncStatus.fetchFailed(SwapiResource.FILMS, "timeout");
+            release.await(5, TimeUnit.SECONDS);
+            SyncReport.StageReport stage = new SyncReport.StageReport(
+                    20, new SyncChanges(5, 3, 12), Duration.ofMillis(40), Duration.ofMillis(10));
+            syncStatus.stageCompleted(SwapiResource.PLANETS, stage);
+            SyncReport report = new SyncReport(Duration.ofMillis(50), Map.of(SwapiResource.PLANETS, stage));
+            syncStatus.succeeded(job, report);
+            return report;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void submit_shouldJoinRunningJob() {
+        SyncJob first = syncJobManager.submit();
+        SyncJob second = syncJobManager.submit();
+
+        assertSame(first, second);
+        assertEquals(SyncJob.State.RUNNING, first.getState());
+    }
+
+    @Test
+    void submitSnapshotRefresh_shouldBeRejectedWhileASyncIsRunning() throws Exception {
+        SyncJob sync = syncJobManager.submit();
+
+        assertThrows(SyncJobConflictException.class, () -> syncJobManager.submitSnapshotRefresh());
+        assertSame(sync, syncJobManager.submit());
+
+        release.countDown();
+        executor.submit(() -> {}).get(5, TimeUnit.SECONDS);
+        SyncJob refresh = syncJobManager.submitSnapshotRefresh();
+        assertEquals(SyncJob.Kind.SNAPSHOT_REFRESH, refresh.getKind());
+        assertEquals(SyncJob.Kind.SNAPSHOT_REFRESH, refresh.toResponse().kind());
+        executor.submit(() -> {}).get(5, TimeUnit.SECONDS);
+        verify(swapiSyncService).refreshSnapshot(refresh);
+    }
+
+    @Test
+    void submit_shouldReportProgressAndStartNewJobOnceFinished() throws Exception {
+        SyncJob first = syncJobManager.submit();
+        release.countDown();
+        executor.submit(() -> {}).get(5, TimeUnit.SECONDS);
+
+        SyncJobResponse response = syncJobManager.find(first.getId()).orElseThrow().toResponse();
+        assertEquals(SyncJob.State.PARTIAL, response.state());
+        assertEquals("Some SWAPI pages could not be fetched: [FILMS]", response.error());
+        assertNotNull(response.finishedAt());
+        SyncJobResponse.ResourceProgress planets = response.resources().get(SwapiResource.PLANETS);
+        assertEquals(2, planets.pagesFetched());
+        assertEquals(20, planets.recordsFetched());
+        assertEquals(8, planets.recordsWritten());
+        assertEquals(12, planets.recordsUnchanged());
+        assertTrue(planets.completed());
+        assertEquals(1, response.resources().get(SwapiResource.FILMS).errors().size());
+
+        SyncJob second = syncJobManager.submit();
+        assertNotSame(first, second);
+        executor.submit(() -> {}).get(5, TimeUnit.SECONDS);
+        verify(swapiSyncService, times(2)).syncAllData(any(SyncJob.class));
+    }
+
+    @Test
+    void find_shouldReturnEmptyForUnknownJob() {
+        assertTrue(syncJobManager.find("missing").isEmpty());
+    }
+}
@@ -1,17 +1,17 @@
 package com.starwars.backend.integration;
 
 import com.starwars.backend.Utils;
-import com.starwars.backend.dto.PlanetDTO;
+import com.starwars.backend.dto.SwapiPlanet;
 import com.starwars.backend.dto.SwapiResponse;
+import com.starwars.backend.dto.SyncChanges;
 import com.starwars.backend.integration.SyncPlanetService;
-import com.starwars.backend.persisntence.entities.Character;
-import com.starwars.backend.persisntence.entities.Film;
 import com.starwars.backend.persisntence.entities.Planet;
-import com.starwars.backend.persisntence.repository.CharacterRepository;
-import com.starwars.backend.persisntence.repository.FilmRepository;
 import com.starwars.backend.persisntence.repository.PlanetRepository;
+import com.starwars.backend.support.SwapiFetchers;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
@@ -19,9 +19,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,68 +30,107 @@ class SyncPlanetServiceTest {
 
     private RestTemplate restTemplate;
     private PlanetRepository planetRepository;
-    private CharacterRepository characterRepository;
-    private FilmRepository filmRepository;
     private SyncPlanetService syncPlanetService;
 
     @BeforeEach
     void setUp() {
         restTemplate = mock(RestTemplate.class);
         planetRepository = mock(PlanetRepository.class);
-        characterRepository = mock(CharacterRepository.class);
-        filmRepository = mock(FilmRepository.class);
-        syncPlanetService = new SyncPlanetService(restTemplate, planetRepository, characterRepository, filmRepository);
+        syncPlanetService = new SyncPlanetService(SwapiFetchers.pageFetcher(restTemplate, 4), new SyncBatchWriter(mock(EntityManager.class), 50),
+                new SyncChangeDetector(true), planetRepository);
     }
 
     @Test
     void syncPlanets_shouldSavePlanetCorrectly() {
         String url = Utils.URL_PLANETS;
 
-        PlanetDTO dto = new PlanetDTO(
+        SwapiPlanet dto = new SwapiPlanet(
                 "Tatooine", "23", "304", "10465", "arid", "1 standard", "desert", "1", "200000",
-                List.of("https://swapi.dev/api/people/1/"),
-                List.of("https://swapi.dev/api/films/1/"),
                 OffsetDateTime.now(),
                 OffsetDateTime.now(),
                 "https://swapi.dev/api/planets/1/"
         );
 
-        SwapiResponse<PlanetDTO> response = new SwapiResponse<>(1, null, null, List.of(dto));
-
-        Planet planet = Planet.builder().residents(new HashSet<>()).films(new HashSet<>()).build();
-        Character character = Character.builder().build();
-        Film film = Film.builder().planets(new HashSet<>()).build();
+        SwapiResponse<SwapiPlanet> response = new SwapiResponse<>(1, null, null, List.of(dto));
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
 
-        when(planetRepository.findBySwapiId(1)).thenReturn(Optional.empty());
-        when(characterRepository.findBySwapiId(1)).thenReturn(Optional.of(character));
-        when(filmRepository.findBySwapiId(1)).thenReturn(Optional.of(film));
+        when(planetRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of());
 
         syncPlanetService.syncPlanets();
 
-        verify(planetRepository).save(any());
-        Planet savedPlanet = character.getHomeworld();
-        assertNotNull(savedPlanet);
-        assertEquals("Tatooine", savedPlanet.getName());
-        assertTrue(savedPlanet.getResidents().contains(character));
-        assertTrue(film.getPlanets().stream().anyMatch(p -> p.getSwapiId() == 1));
+        ArgumentCaptor<Planet> saved = ArgumentCaptor.forClass(Planet.class);
+        verify(planetRepository).save(saved.capture());
+        assertEquals("Tatooine", saved.getValue().getName());
+        assertEquals(1, saved.getValue().getSwapiId());
+        verify(planetRepository, never()).findBySwapiId(any());
+    }
+
+    @Test
+    void syncPlanets_shouldUpdateExistingPlanetLoadedInOneQuery() {
+        String url = Utils.URL_PLANETS;
+
+        SwapiPlanet tatooine = new SwapiPlanet(
+                "Tatooine", "23", "304", "10465", "arid", "1 standard", "desert", "1", "200000",
+                OffsetDateTime.now(), OffsetDateTime.now(), "https://swapi.dev/api/planets/1/"
+        );
+        SwapiPlanet alderaan = new SwapiPlanet(
+                "Alderaan", "24", "364", "12500", "temperate", "1 standard", "grasslands", "40", "2000000000",
+                OffsetDateTime.now(), OffsetDateTime.now(), "https://swapi.dev/api/planets/2/"
+        );
+
+        Planet existing = Planet.builder().swapiId(1).name("Tatooine").residents(new HashSet<>()).films(new HashSet<>()).build();
+
+        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new SwapiResponse<>(2, null, null, List.of(tatooine, alderaan))));
+        when(planetRepository.findBySwapiIdIn(List.of(1, 2))).thenReturn(List.of(existing));
+
+        syncPlanetService.syncPlanets();
+
+        verify(planetRepository, never()).save(same(existing));
+        verify(planetRepository, times(1)).save(any());
+        verify(planetRepository, times(1)).findBySwapiIdIn(any());
+        assertEquals("arid", existing.getClimate());
+        assertNotNull(existing.getContentHash());
+    }
+
+    @Test
+    void syncPlanets_shouldSkipPlanetWhenEditedAndContentAreUnchanged() {
+        String url = Utils.URL_PLANETS;
+        OffsetDateTime edited = OffsetDateTime.parse("2014-12-20T20:58:18.411Z");
+
+        SwapiPlanet dto = new SwapiPlanet(
+                "Tatooine", "23", "304", "10465", "arid", "1 standard", "desert", "1", "200000",
+                edited, edited, "https://swapi.dev/api/planets/1/"
+        );
+
+        Planet existing = Planet.builder().swapiId(1).name("Tatooine").edited(edited.withOffsetSameInstant(ZoneOffset.ofHours(2)))
+                .contentHash(new SyncChangeDetector(true).hash(dto)).residents(new HashSet<>()).films(new HashSet<>()).build();
+
+        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new SwapiResponse<>(1, null, null, List.of(dto))));
+        when(planetRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of(existing));
+
+        SyncChanges changes = syncPlanetService.persistPlanets(syncPlanetService.fetchPlanets());
+
+        assertEquals(new SyncChanges(0, 0, 1), changes);
+        assertNull(existing.getClimate());
+        verify(planetRepository, never()).save(any());
     }
 
     @Test
     void syncPlanets_shouldSkipPlanetWithInvalidSwapiId() {
         String url = Utils.URL_PLANETS;
 
-        PlanetDTO dto = new PlanetDTO(
+        SwapiPlanet dto = new SwapiPlanet(
                 "Unknown", "0", "0", "0", "none", "none", "none", "0", "0",
-                null, null,
                 OffsetDateTime.now(),
                 OffsetDateTime.now(),
                 "invalid_url"
         );
 
-        SwapiResponse<PlanetDTO> response = new SwapiResponse<>(1, null, null, List.of(dto));
+        SwapiResponse<SwapiPlanet> response = new SwapiResponse<>(1, null, null, List.of(dto));
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
@@ -105,7 +144,7 @@ class SyncPlanetServiceTest {
     void syncPlanets_shouldHandleEmptyResults() {
         String url = Utils.URL_PLANETS;
 
-        SwapiResponse<PlanetDTO> emptyResponse = new SwapiResponse<>(0, null, null, null);
+        SwapiResponse<SwapiPlanet> emptyResponse = new SwapiResponse<>(0, null, null, null);
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(emptyResponse));
@@ -131,20 +170,19 @@ class SyncPlanetServiceTest {
     void syncPlanets_shouldStillSaveIfResidentsOrFilmsAreNull() {
         String url = Utils.URL_PLANETS;
 
-        PlanetDTO dto = new PlanetDTO(
+        SwapiPlanet dto = new SwapiPlanet(
                 "Dagobah", "23", "304", "10465", "murky", "1 standard", "swamp", "1", "0",
-                null, null,
                 OffsetDateTime.now(),
                 OffsetDateTime.now(),
                 "https://swapi.dev/api/planets/5/"
         );
 
-        SwapiResponse<PlanetDTO> response = new SwapiResponse<>(1, null, null, List.of(dto));
+        SwapiResponse<SwapiPlanet> response = new SwapiResponse<>(1, null, null, List.of(dto));
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
 
-        when(planetRepository.findBySwapiId(5)).thenReturn(Optional.empty());
+        when(planetRepository.findBySwapiIdIn(List.of(5))).thenReturn(List.of());
 
         syncPlanetService.syncPlanets();
 
@@ -0,0 +1,85 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.dto.SyncChanges;
+import com.starwars.backend.persisntence.repository.CharacterRepository;
+import com.starwars.backend.persisntence.repository.FilmRepository;
+import com.starwars.backend.support.RoundTripCounter;
+import com.starwars.backend.support.SelectCounter;
+import com.starwars.backend.support.SwapiDataset;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sync-query-count",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.starwars.backend.support.SelectCounter",
+        "spring.jpa.properties.hibernate.session.events.auto=com.starwars.backend.support.RoundTripCounter"
+})
+@ActiveProfiles("test")
+class SyncQueryCountTest {
+
+    private static final int MAX_SELECTS_PER_SYNC = 32;
+    private static final int MAX_ROUND_TRIPS_PER_SYNC = 60;
+
+    @Autowired private SyncPlanetService syncPlanetService;
+    @Autowired private SyncFilmService syncFilmService;
+    @Autowired private SyncSpeciesService syncSpeciesService;
+    @Autowired private SyncCharacterService syncCharacterService;
+    @Autowired private SyncStarshipService syncStarshipService;
+    @Autowired private SyncVehicleService syncVehicleService;
+    @Autowired private CharacterRepository characterRepository;
+    @Autowired private FilmRepository filmRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @Test
+    void fullSync_shouldIssueBoundedStatementsAndMapAllRelations() {
+        resetCounters();
+        SyncChanges initialChanges = persistAll();
+        int initialSelects = SelectCounter.count();
+        int initialRoundTrips = RoundTripCounter.count();
+
+        resetCounters();
+        SyncChanges resyncChanges = persistAll();
+        int resyncSelects = SelectCounter.count();
+        int resyncRoundTrips = RoundTripCounter.count();
+
+        System.out.printf("SWAPI sync SELECTs: initial=%d resync=%d%n", initialSelects, resyncSelects);
+        System.out.printf("SWAPI sync JDBC round-trips: initial=%d resync=%d%n", initialRoundTrips, resyncRoundTrips);
+        System.out.printf("SWAPI sync changes: initial=%s resync=%s%n", initialChanges, resyncChanges);
+        assertThat(initialChanges.created()).isEqualTo(SwapiDataset.TOTAL_RECORDS);
+        assertThat(resyncChanges.unchanged()).isEqualTo(SwapiDataset.TOTAL_RECORDS);
+        assertThat(resyncChanges.written()).isZero();
+        assertThat(initialSelects).isLessThanOrEqualTo(MAX_SELECTS_PER_SYNC);
+        assertThat(resyncSelects).isLessThanOrEqualTo(MAX_SELECTS_PER_SYNC);
+        assertThat(initialRoundTrips).isLessThanOrEqualTo(MAX_ROUND_TRIPS_PER_SYNC);
+        assertThat(resyncRoundTrips).isLessThanOrEqualTo(MAX_ROUND_TRIPS_PER_SYNC);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var luke = characterRepository.findBySwapiId(1).orElseThrow();
+            assertThat(luke.getHomeworld()).isNotNull();
+            assertThat(luke.getFilms()).hasSize(3);
+            assertThat(luke.getSpecies()).hasSize(1);
+            assertThat(luke.getStarships()).hasSize(1);
+            assertThat(luke.getVehicles()).hasSize(1);
+            assertThat(filmRepository.findBySwapiId(1).orElseThrow().getPlanets()).isNotEmpty();
+        });
+    }
+
+    private static void resetCounters() {
+        SelectCounter.reset();
+        RoundTripCounter.reset();
+    }
+
+    private SyncChanges persistAll() {
+        return syncPlanetService.persistPlanets(SwapiDataset.planets())
+                .plus(syncFilmService.persistFilms(SwapiDataset.films()))
+                .plus(syncSpeciesService.persistSpecies(SwapiDataset.species()))
+                .plus(syncCharacterService.persistCharacters(SwapiDataset.characters()))
+                .plus(syncStarshipService.persistStarships(SwapiDataset.starships()))
+                .plus(syncVehicleService.persistVehicles(SwapiDataset.vehicles()));
+    }
+}
@@ -1,17 +1,19 @@
 package com.starwars.backend.integration;
 
 import com.starwars.backend.Utils;
-import com.starwars.backend.dto.SpeciesDTO;
+import com.starwars.backend.dto.SwapiIds;
 import com.starwars.backend.dto.SwapiResponse;
+import com.starwars.backend.dto.SwapiSpecies;
 import com.starwars.backend.integration.SyncSpeciesService;
-import com.starwars.backend.persisntence.entities.Character;
 import com.starwars.backend.persisntence.entities.Film;
 import com.starwars.backend.persisntence.entities.Species;
-import com.starwars.backend.persisntence.repository.CharacterRepository;
 import com.starwars.backend.persisntence.repository.FilmRepository;
 import com.starwars.backend.persisntence.repository.SpeciesRepository;
+import com.starwars.backend.support.SwapiFetchers;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
@@ -28,7 +30,6 @@ class SyncSpeciesServiceTest {
 
     private RestTemplate restTemplate;
     private SpeciesRepository speciesRepository;
-    private CharacterRepository characterRepository;
     private FilmRepository filmRepository;
     private SyncSpeciesService syncSpeciesService;
 
@@ -36,67 +37,58 @@ class SyncSpeciesServiceTest {
     void setUp() {
         restTemplate = mock(RestTemplate.class);
         speciesRepository = mock(SpeciesRepository.class);
-        characterRepository = mock(CharacterRepository.class);
         filmRepository = mock(FilmRepository.class);
-        syncSpeciesService = new SyncSpeciesService(restTemplate, speciesRepository, characterRepository, filmRepository);
+        syncSpeciesService = new SyncSpeciesService(SwapiFetchers.pageFetcher(restTemplate, 4), new SyncBatchWriter(mock(EntityManager.class), 50),
+                new SyncChangeDetector(true), speciesRepository, filmRepository);
     }
 
     @Test
     void syncSpecies_shouldSaveSpeciesCorrectly() {
         String url = Utils.URL_SPECIES;
 
-        SpeciesDTO dto = new SpeciesDTO(
+        SwapiSpecies dto = new SwapiSpecies(
                 "Human", "mammal", "sentient", "180", "light", "brown", "blue", "80", "Galactic Basic",
-                List.of("https://swapi.dev/api/people/1/"),
-                List.of("https://swapi.dev/api/films/1/"),
+                SwapiIds.of(1),
                 OffsetDateTime.now(),
                 OffsetDateTime.now(),
                 "https://swapi.dev/api/species/1/",
                 null
         );
 
-        SwapiResponse<SpeciesDTO> response = new SwapiResponse<>(1, null, null, List.of(dto));
-
-        Species savedSpecies = Species.builder()
-                .characters(new HashSet<>())
-                .films(new HashSet<>())
-                .build();
-
-        Character character = Character.builder()
-                .species(new HashSet<>())
-                .build();
+        SwapiResponse<SwapiSpecies> response = new SwapiResponse<>(1, null, null, List.of(dto));
 
         Film film = Film.builder()
+                .swapiId(1)
                 .species(new HashSet<>())
                 .build();
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
 
-        when(speciesRepository.findBySwapiId(1)).thenReturn(Optional.empty());
-        when(speciesRepository.save(any())).thenReturn(savedSpecies);
-        when(characterRepository.findBySwapiId(1)).thenReturn(Optional.of(character));
-        when(filmRepository.findBySwapiId(1)).thenReturn(Optional.of(film));
+        when(speciesRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of());
+        when(filmRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of(film));
 
         syncSpeciesService.syncSpecies();
 
-        verify(speciesRepository, atLeastOnce()).save(any());
-        assertEquals(1, character.getSpecies().size());
-        assertEquals(1, film.getSpecies().size());
+        ArgumentCaptor<Species> saved = ArgumentCaptor.forClass(Species.class);
+        verify(speciesRepository, atLeastOnce()).save(saved.capture());
+        assertEquals("Human", saved.getValue().getName());
+        assertEquals(Set.of(film), saved.getValue().getFilms());
+        verify(filmRepository, never()).findBySwapiId(any());
     }
 
     @Test
     void syncSpecies_shouldSkipSpeciesWithInvalidSwapiId() {
         String url = Utils.URL_SPECIES;
 
-        SpeciesDTO dto = new SpeciesDTO(
+        SwapiSpecies dto = new SwapiSpecies(
                 "Unknown", "unknown", "unknown", "0", "none", "none", "none", "0", "none",
-                List.of(), List.of(),
+                SwapiIds.EMPTY,
                 OffsetDateTime.now(), OffsetDateTime.now(),
                 "invalid_url", null
         );
 
-        SwapiResponse<SpeciesDTO> response = new SwapiResponse<>(1, null, null, List.of(dto));
+        SwapiResponse<SwapiSpecies> response = new SwapiResponse<>(1, null, null, List.of(dto));
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
@@ -110,7 +102,7 @@ class SyncSpeciesServiceTest {
     void syncSpecies_shouldHandleEmptyResults() {
         String url = Utils.URL_SPECIES;
 
-        SwapiResponse<SpeciesDTO> emptyResponse = new SwapiResponse<>(0, null, null, null);
+        SwapiResponse<SwapiSpecies> emptyResponse = new SwapiResponse<>(0, null, null, null);
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(emptyResponse));
@@ -136,22 +128,21 @@ class SyncSpeciesServiceTest {
     void syncSpecies_shouldStillSaveIfPeopleOrFilmsAreEmpty() {
         String url = Utils.URL_SPECIES;
 
-        SpeciesDTO dto = new SpeciesDTO(
+        SwapiSpecies dto = new SwapiSpecies(
                 "Droid", "artificial", "sentient", "n/a", "none", "none", "none", "indefinite", "Binary",
-                Collections.emptyList(),
-                Collections.emptyList(),
+                SwapiIds.EMPTY,
                 OffsetDateTime.now(),
                 OffsetDateTime.now(),
                 "https://swapi.dev/api/species/2/",
                 null
         );
 
-        SwapiResponse<SpeciesDTO> response = new SwapiResponse<>(1, null, null, List.of(dto));
+        SwapiResponse<SwapiSpecies> response = new SwapiResponse<>(1, null, null, List.of(dto));
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
 
-        when(speciesRepository.findBySwapiId(2)).thenReturn(Optional.empty());
+        when(speciesRepository.findBySwapiIdIn(List.of(2))).thenReturn(List.of());
 
         syncSpeciesService.syncSpecies();
 
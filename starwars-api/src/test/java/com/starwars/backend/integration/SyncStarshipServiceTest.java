@@ -1,16 +1,21 @@
 package com.starwars.backend.integration;
 
 import com.starwars.backend.Utils;
-import com.starwars.backend.dto.StarshipDTO;
+import com.starwars.backend.dto.SwapiIds;
 import com.starwars.backend.dto.SwapiResponse;
+import com.starwars.backend.dto.SwapiStarship;
 import com.starwars.backend.integration.SyncStarshipService;
 import com.starwars.backend.persisntence.entities.Film;
+import com.starwars.backend.persisntence.entities.Starship;
 import com.starwars.backend.persisntence.entities.Character;
 import com.starwars.backend.persisntence.repository.StarshipRepository;
 import com.starwars.backend.persisntence.repository.FilmRepository;
 import com.starwars.backend.persisntence.repository.CharacterRepository;
+import com.starwars.backend.support.SwapiFetchers;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
@@ -37,52 +42,55 @@ class SyncStarshipServiceTest {
         starshipRepository = mock(StarshipRepository.class);
         filmRepository = mock(FilmRepository.class);
         characterRepository = mock(CharacterRepository.class);
-        syncStarshipService = new SyncStarshipService(restTemplate, starshipRepository,  characterRepository,filmRepository);
+        syncStarshipService = new SyncStarshipService(SwapiFetchers.pageFetcher(restTemplate, 4), new SyncBatchWriter(mock(EntityManager.class), 50),
+                new SyncChangeDetector(true), starshipRepository, characterRepository, filmRepository);
     }
 
     @Test
     void syncStarships_shouldSaveStarshipCorrectly() {
         String url = Utils.URL_STARSHIP;
 
-        StarshipDTO dto = new StarshipDTO(
+        SwapiStarship dto = new SwapiStarship(
                 "X-Wing", "T-65 X-wing", "Incom Corporation", "149999", "12.5", "1050",
                 "1", "0", "110", "1 week", "1.0", "100", "Starfighter",
-                List.of("https://swapi.dev/api/people/1/"),
-                List.of("https://swapi.dev/api/films/1/"),
+                SwapiIds.of(1),
+                SwapiIds.of(1),
                 OffsetDateTime.now(), OffsetDateTime.now(), "https://swapi.dev/api/starships/1/"
         );
 
-        SwapiResponse<StarshipDTO> response = new SwapiResponse<>(1, null, null, List.of(dto));
+        SwapiResponse<SwapiStarship> response = new SwapiResponse<>(1, null, null, List.of(dto));
 
-        Character pilot = Character.builder().starships(new HashSet<>()).build();
-        Film film = Film.builder().starships(new HashSet<>()).build();
+        Character pilot = Character.builder().swapiId(1).starships(new HashSet<>()).build();
+        Film film = Film.builder().swapiId(1).starships(new HashSet<>()).build();
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
 
-        when(starshipRepository.findBySwapiId(1)).thenReturn(Optional.empty());
-        when(characterRepository.findBySwapiId(1)).thenReturn(Optional.of(pilot));
-        when(filmRepository.findBySwapiId(1)).thenReturn(Optional.of(film));
+        when(starshipRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of());
+        when(characterRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of(pilot));
+        when(filmRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of(film));
 
         when(starshipRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         syncStarshipService.syncStarships();
 
-        verify(starshipRepository, times(1)).save(any());
-        assertEquals(1, pilot.getStarships().size());
-        assertEquals(1, film.getStarships().size());
+        ArgumentCaptor<Starship> saved = ArgumentCaptor.forClass(Starship.class);
+        verify(starshipRepository, times(1)).save(saved.capture());
+        assertEquals(Set.of(pilot), saved.getValue().getPilots());
+        assertEquals(Set.of(film), saved.getValue().getFilms());
+        verify(characterRepository, never()).findBySwapiId(any());
     }
 
     @Test
     void syncStarships_shouldSkipStarshipWithInvalidSwapiId() {
         String url = Utils.URL_STARSHIP;
 
-        StarshipDTO dto = new StarshipDTO(
+        SwapiStarship dto = new SwapiStarship(
                 "Unknown", "Unknown", "Unknown", "0", "0", "0", "0", "0", "0", "0", "0", "0", "Unknown",
-                List.of(), List.of(), OffsetDateTime.now(), OffsetDateTime.now(), "invalid_url"
+                SwapiIds.EMPTY, SwapiIds.EMPTY, OffsetDateTime.now(), OffsetDateTime.now(), "invalid_url"
         );
 
-        SwapiResponse<StarshipDTO> response = new SwapiResponse<>(1, null, null, List.of(dto));
+        SwapiResponse<SwapiStarship> response = new SwapiResponse<>(1, null, null, List.of(dto));
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
@@ -96,7 +104,7 @@ class SyncStarshipServiceTest {
     void syncStarships_shouldHandleEmptyResults() {
         String url = Utils.URL_STARSHIP;
 
-        SwapiResponse<StarshipDTO> emptyResponse = new SwapiResponse<>(0, null, null, null);
+        SwapiResponse<SwapiStarship> emptyResponse = new SwapiResponse<>(0, null, null, null);
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(emptyResponse));
@@ -122,19 +130,19 @@ class SyncStarshipServiceTest {
     void syncStarships_shouldStillSaveIfPilotsOrFilmsAreEmpty() {
         String url = Utils.URL_STARSHIP;
 
-        StarshipDTO dto = new StarshipDTO(
+        SwapiStarship dto = new SwapiStarship(
                 "TIE Fighter", "Twin Ion Engine", "Sienar Fleet Systems", "75000", "6.4", "1200",
                 "1", "0", "65", "2 days", "1.5", "60", "Starfighter",
-                Collections.emptyList(), Collections.emptyList(),
+                SwapiIds.EMPTY, SwapiIds.EMPTY,
                 OffsetDateTime.now(), OffsetDateTime.now(), "https://swapi.dev/api/starships/2/"
         );
 
-        SwapiResponse<StarshipDTO> response = new SwapiResponse<>(1, null, null, List.of(dto));
+        SwapiResponse<SwapiStarship> response = new SwapiResponse<>(1, null, null, List.of(dto));
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
 
-        when(starshipRepository.findBySwapiId(2)).thenReturn(Optional.empty());
+        when(starshipRepository.findBySwapiIdIn(List.of(2))).thenReturn(List.of());
         when(starshipRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         syncStarshipService.syncStarships();
@@ -0,0 +1,107 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.dto.SyncChanges;
+import com.starwars.backend.dto.SyncReport;
+import com.starwars.backend.persisntence.entities.SyncRun;
+import com.starwars.backend.persisntence.repository.SyncRunRepository;
+import com.starwars.backend.service.SwapiInitializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SyncStatusTest {
+
+    private final List<SyncRun> runs = new ArrayList<>();
+    private SyncStatus syncStatus;
+
+    @BeforeEach
+    void setUp() {
+        SyncRunRepository syncRunRepository = mock(SyncRunRepository.class);
+        when(syncRunRepository.save(any(SyncRun.class))).thenAnswer(inv -> {
+            runs.add(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+        when(syncRunRepository.findTopByOrderByFinishedAtDesc()).thenAnswer(inv ->
+                runs.stream().max(Comparator.comparing(SyncRun::getFinishedAt)));
+        syncStatus = new SyncStatus(syncRunRepository);
+    }
+
+    @Test
+    void succeeded_shouldRecordRunWhenEveryPageWasFetched() {
+        SyncJob job = new SyncJob();
+        syncStatus.started(job);
+        syncStatus.pageFetched(SwapiResource.PLANETS, 10);
+
+        syncStatus.succeeded(job, report());
+
+        assertEquals(SyncStatus.Phase.SUCCEEDED, syncStatus.current().phase());
+        assertEquals(10, syncStatus.lastRun().orElseThrow().getRecords());
+    }
+
+    @Test
+    void succeeded_shouldNotRecordWarmRunWhenAPageFailed() {
+        SyncJob job = new SyncJob();
+        syncStatus.started(job);
+        syncStatus.pageFetched(SwapiResource.PLANETS, 10);
+        syncStatus.fetchFailed(SwapiResource.FILMS, "https://swapi.dev/api/films/?page=2: timeout");
+
+        syncStatus.succeeded(job, report());
+
+        assertEquals(SyncStatus.Phase.PARTIAL, syncStatus.current().phase());
+        assertEquals(SyncJob.State.PARTIAL, job.getState());
+        assertTrue(syncStatus.current().error().contains("FILMS"));
+        assertEquals(Optional.empty(), syncStatus.lastRun());
+    }
+
+    @Test
+    void nextStart_shouldSyncAgainAfterAPageFailed() {
+        SyncJob job = new SyncJob();
+        syncStatus.started(job);
+        syncStatus.fetchFailed(SwapiResource.FILMS, "https://swapi.dev/api/films/?page=2: timeout");
+        syncStatus.succeeded(job, report());
+
+        SyncJobManager syncJobManager = mock(SyncJobManager.class);
+        SwapiSnapshot swapiSnapshot = mock(SwapiSnapshot.class);
+        when(syncJobManager.submit()).thenReturn(new SyncJob());
+        when(swapiSnapshot.load()).thenReturn(Optional.empty());
+
+        new SwapiInitializer(syncJobManager, syncStatus, swapiSnapshot, Duration.ofHours(24)).init();
+
+        verify(syncJobManager).submit();
+        assertNotEquals(SyncStatus.Phase.SKIPPED, syncStatus.current().phase());
+    }
+
+    @Test
+    void nextStart_shouldSyncAgainAfterImportingAStaleSnapshot() {
+        SyncJob job = new SyncJob(SyncJob.Kind.SNAPSHOT_IMPORT);
+        OffsetDateTime createdAt = OffsetDateTime.now().minusDays(3);
+        syncStatus.started(job);
+        syncStatus.imported(job, report(), createdAt);
+
+        SyncJobManager syncJobManager = mock(SyncJobManager.class);
+        when(syncJobManager.submit()).thenReturn(new SyncJob());
+
+        new SwapiInitializer(syncJobManager, syncStatus, mock(SwapiSnapshot.class), Duration.ofHours(24)).init();
+
+        assertEquals(createdAt, syncStatus.lastRun().orElseThrow().getFinishedAt());
+        verify(syncJobManager).submit();
+        verify(syncJobManager, never()).submitSnapshotImport(any());
+    }
+
+    private static SyncReport report() {
+        SyncReport.StageReport stage = new SyncReport.StageReport(
+                10, new SyncChanges(10, 0, 0), Duration.ofMillis(40), Duration.ofMillis(10));
+        return new SyncReport(Duration.ofMillis(50), Map.of(SwapiResource.PLANETS, stage));
+    }
+}
@@ -1,16 +1,21 @@
 package com.starwars.backend.integration;
 
 import com.starwars.backend.Utils;
+import com.starwars.backend.dto.SwapiIds;
 import com.starwars.backend.dto.SwapiResponse;
-import com.starwars.backend.dto.VehicleDTO;
+import com.starwars.backend.dto.SwapiVehicle;
 import com.starwars.backend.integration.SyncVehicleService;
 import com.starwars.backend.persisntence.entities.Film;
+import com.starwars.backend.persisntence.entities.Vehicle;
 import com.starwars.backend.persisntence.entities.Character;
 import com.starwars.backend.persisntence.repository.VehicleRepository;
 import com.starwars.backend.persisntence.repository.FilmRepository;
 import com.starwars.backend.persisntence.repository.CharacterRepository;
+import com.starwars.backend.support.SwapiFetchers;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
@@ -37,52 +42,56 @@ class SyncVehicleServiceTest {
         vehicleRepository = mock(VehicleRepository.class);
         characterRepository = mock(CharacterRepository.class);
         filmRepository = mock(FilmRepository.class);
-        syncVehicleService = new SyncVehicleService(restTemplate, vehicleRepository, characterRepository, filmRepository);
+        syncVehicleService = new SyncVehicleService(SwapiFetchers.pageFetcher(restTemplate, 4), new SyncBatchWriter(mock(EntityManager.class), 50),
+                new SyncChangeDetector(true), vehicleRepository, characterRepository, filmRepository);
     }
 
     @Test
     void syncVehicles_shouldSaveVehicleCorrectly() {
         String url = Utils.URL_VEHICLES;
 
-        VehicleDTO dto = new VehicleDTO(
+        SwapiVehicle dto = new SwapiVehicle(
                 "Speeder", "X-34 landspeeder", "SoroSuub Corporation", "10550", "repulsorcraft",
                 "3.4", "250", "1", "1", "5", "none",
-                List.of("https://swapi.dev/api/people/1/"),
-                List.of("https://swapi.dev/api/films/1/"),
+                SwapiIds.of(1),
+                SwapiIds.of(1),
                 OffsetDateTime.now(), OffsetDateTime.now(),
                 "https://swapi.dev/api/vehicles/1/"
         );
 
-        SwapiResponse<VehicleDTO> response = new SwapiResponse<>(1, null, null, List.of(dto));
+        SwapiResponse<SwapiVehicle> response = new SwapiResponse<>(1, null, null, List.of(dto));
 
-        Character pilot = Character.builder().vehicles(new HashSet<>()).build();
-        Film film = Film.builder().vehicles(new HashSet<>()).build();
+        Character pilot = Character.builder().swapiId(1).vehicles(new HashSet<>()).build();
+        Film film = Film.builder().swapiId(1).vehicles(new HashSet<>()).build();
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
 
-        when(vehicleRepository.findBySwapiId(1)).thenReturn(Optional.empty());
-        when(characterRepository.findBySwapiId(1)).thenReturn(Optional.of(pilot));
-        when(filmRepository.findBySwapiId(1)).thenReturn(Optional.of(film));
+        when(vehicleRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of());
+        when(characterRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of(pilot));
+        when(filmRepository.findBySwapiIdIn(List.of(1))).thenReturn(List.of(film));
         when(vehicleRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         syncVehicleService.syncVehicles();
 
-        verify(vehicleRepository, times(1)).save(any());        assertEquals(1, pilot.getVehicles().size());
-        assertEquals(1, film.getVehicles().size());
+        ArgumentCaptor<Vehicle> saved = ArgumentCaptor.forClass(Vehicle.class);
+        verify(vehicleRepository, times(1)).save(saved.capture());
+        assertEquals(Set.of(pilot), saved.getValue().getPilots());
+        assertEquals(Set.of(film), saved.getValue().getFilms());
+        verify(characterRepository, never()).findBySwapiId(any());
     }
 
     @Test
     void syncVehicles_shouldSkipVehicleWithInvalidSwapiId() {
         String url = Utils.URL_VEHICLES;
 
-        VehicleDTO dto = new VehicleDTO(
+        SwapiVehicle dto = new SwapiVehicle(
                 "Unknown", "Unknown", "Unknown", "0", "unknown", "0", "0", "0", "0", "0", "0",
-                List.of(), List.of(),
+                SwapiIds.EMPTY, SwapiIds.EMPTY,
                 OffsetDateTime.now(), OffsetDateTime.now(), "invalid_url"
         );
 
-        SwapiResponse<VehicleDTO> response = new SwapiResponse<>(1, null, null, List.of(dto));
+        SwapiResponse<SwapiVehicle> response = new SwapiResponse<>(1, null, null, List.of(dto));
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
@@ -96,7 +105,7 @@ class SyncVehicleServiceTest {
     void syncVehicles_shouldHandleEmptyResults() {
         String url = Utils.URL_VEHICLES;
 
-        SwapiResponse<VehicleDTO> emptyResponse = new SwapiResponse<>(0, null, null, null);
+        SwapiResponse<SwapiVehicle> emptyResponse = new SwapiResponse<>(0, null, null, null);
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(emptyResponse));
@@ -122,21 +131,21 @@ class SyncVehicleServiceTest {
     void syncVehicles_shouldStillSaveIfPilotsOrFilmsAreEmpty() {
         String url = Utils.URL_VEHICLES;
 
-        VehicleDTO dto = new VehicleDTO(
+        SwapiVehicle dto = new SwapiVehicle(
                 "AT-AT", "All Terrain Armored Transport", "Kuat Drive Yards", "200000", "assault walker",
                 "20", "60", "5", "40", "1000", "2 months",
-                Collections.emptyList(),
-                Collections.emptyList(),
+                SwapiIds.EMPTY,
+                SwapiIds.EMPTY,
                 OffsetDateTime.now(), OffsetDateTime.now(),
                 "https://swapi.dev/api/vehicles/2/"
         );
 
-        SwapiResponse<VehicleDTO> response = new SwapiResponse<>(1, null, null, List.of(dto));
+        SwapiResponse<SwapiVehicle> response = new SwapiResponse<>(1, null, null, List.of(dto));
 
         when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(HttpEntity.EMPTY), any(ParameterizedTypeReference.class)))
                 .thenReturn(ResponseEntity.ok(response));
 
-        when(vehicleRepository.findBySwapiId(2)).thenReturn(Optional.empty());
+        when(vehicleRepository.findBySwapiIdIn(List.of(2))).thenReturn(List.of());
         when(vehicleRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         syncVehicleService.syncVehicles();
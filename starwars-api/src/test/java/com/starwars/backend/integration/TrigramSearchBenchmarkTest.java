@@ -0,0 +1,108 @@
+package com.starwars.backend.integration;
+
+import com.starwars.backend.Utils;
+import com.starwars.backend.config.TrigramIndexInstaller;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search latency over a million synthetic characters with and without the trigram index,
+ * using the same {@code LOWER(name) LIKE ... ESCAPE} page and count queries as the list
+ * endpoints. Needs a PostgreSQL with {@code pg_trgm} (e.g. the docker-compose database) and
+ * works in a scratch schema that is dropped afterwards. Run with
+ * {@code mvn test -Dtest=TrigramSearchBenchmarkTest -Dbenchmark.postgres.url=jdbc:postgresql://localhost:5432/starwars
+ * -Dbenchmark.postgres.user=user -Dbenchmark.postgres.password=...}.
+ */
+@EnabledIfSystemProperty(named = "benchmark.postgres.url", matches = ".+")
+@Slf4j
+class TrigramSearchBenchmarkTest {
+
+    private static final String SCHEMA = "trgm_benchmark";
+    private static final int ROWS = 1_000_000;
+    private static final int ITERATIONS = 30;
+    private static final List<String> TERMS = List.of("kenobi", "4242", "xyzzy");
+
+    private static final String PAGE_SQL =
+            "SELECT id, name FROM characters WHERE lower(name) LIKE ? ESCAPE '\\' ORDER BY id LIMIT 15";
+    private static final String COUNT_SQL =
+            "SELECT count(*) FROM characters WHERE lower(name) LIKE ? ESCAPE '\\'";
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void createTable() {
+        dataSource = new SingleConnectionDataSource(System.getProperty("benchmark.postgres.url"),
+                System.getProperty("benchmark.postgres.user", "user"),
+                System.getProperty("benchmark.postgres.password", ""), true);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        jdbc.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        jdbc.execute("CREATE SCHEMA " + SCHEMA);
+        jdbc.execute("SET search_path TO " + SCHEMA + ", public");
+        jdbc.execute("CREATE TABLE characters (id bigint PRIMARY KEY, name varchar(255))");
+        jdbc.update("""
+                INSERT INTO characters
+                SELECT i, (ARRAY['Luke','Leia','Han','Ben','Padme','Anakin','Rey','Finn','Poe','Jyn'])[1 + i % 10]
+                       || ' ' || (ARRAY['Skywalker','Organa','Solo','Kenobi','Amidala','Andor','Erso','Dameron','Tano','Fett'])[1 + (i / 10) % 10]
+                       || ' ' || i
+                FROM generate_series(1, ?) AS i
+                """, ROWS);
+        jdbc.execute("ANALYZE characters");
+    }
+
+    @AfterAll
+    static void dropTable() {
+        if (jdbc != null) {
+            jdbc.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void searchLatency() {
+        long[][] sequential = TERMS.stream().map(TrigramSearchBenchmarkTest::measure).toArray(long[][]::new);
+
+        jdbc.execute(TrigramIndexInstaller.INDEX_SQL.formatted("characters", "name"));
+        jdbc.execute("ANALYZE characters");
+        long[][] indexed = TERMS.stream().map(TrigramSearchBenchmarkTest::measure).toArray(long[][]::new);
+
+        StringBuilder report = new StringBuilder(String.format(
+                "Search over %,d characters, median of %d runs (page / count):", ROWS, ITERATIONS));
+        for (int i = 0; i < TERMS.size(); i++) {
+            report.append(String.format("%n  %-16s seq scan %6d / %6d us   trigram %6d / %6d us", TERMS.get(i),
+                    sequential[i][0], sequential[i][1], indexed[i][0], indexed[i][1]));
+        }
+        log.info("{}", report);
+
+        String plan = String.join("\n", jdbc.queryForList("EXPLAIN " + COUNT_SQL.replace("?", "'%4242%'"), String.class));
+        assertThat(plan).contains("idx_characters_name_trgm");
+    }
+
+    private static long[] measure(String term) {
+        String pattern = Utils.containsPattern(term);
+        return new long[]{median(() -> jdbc.queryForList(PAGE_SQL, pattern)), median(() -> jdbc.queryForObject(COUNT_SQL, Long.class, pattern))};
+    }
+
+    private static long median(Runnable query) {
+        query.run();
+        long[] micros = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(micros);
+        return micros[ITERATIONS / 2];
+    }
+}
@@ -0,0 +1,121 @@
+package com.starwars.backend.integration.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.persisntence.entities.Character;
+import com.starwars.backend.persisntence.entities.Planet;
+import com.starwars.backend.persisntence.repository.CharacterRepository;
+import com.starwars.backend.persisntence.repository.PlanetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:export")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportIntegrationTest {
+
+    private static final OffsetDateTime CREATED = OffsetDateTime.parse("2014-12-09T13:50:51.644Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlanetRepository planetRepository;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        characterRepository.deleteAll();
+        planetRepository.deleteAll();
+        Planet tatooine = planetRepository.save(Planet.builder()
+                .swapiId(1).name("Tatooine").climate("arid").created(CREATED).edited(CREATED)
+                .url("https://swapi.dev/api/planets/1/").build());
+        planetRepository.save(Planet.builder()
+                .swapiId(2).name("Alderaan, \"the peaceful\"").created(CREATED).edited(CREATED)
+                .url("https://swapi.dev/api/planets/2/").build());
+        characterRepository.save(Character.builder()
+                .swapiId(1).name("Luke Skywalker").homeworld(tatooine).created(CREATED).edited(CREATED)
+                .url("https://swapi.dev/api/people/1/").build());
+    }
+
+    @Test
+    void shouldStreamRowsAsNdjson() throws Exception {
+        String body = export("/api/planets/export")
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"planets.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("name").asText()).isEqualTo("Tatooine");
+        assertThat(first.get("swapiId").asInt()).isEqualTo(1);
+        assertThat(first.get("diameter").isNull()).isTrue();
+        assertThat(OffsetDateTime.parse(first.get("created").asText()).toInstant()).isEqualTo(CREATED.toInstant());
+        assertThat(first.has("contentHash")).isFalse();
+    }
+
+    @Test
+    void shouldStreamWithTheExportTimeout() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/planets/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldStreamRowsAsCsvWithHeader() throws Exception {
+        String body = export("/api/planets/export?format=csv")
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,swapiId,name,rotationPeriod,");
+        assertThat(lines[2]).contains("\"Alderaan, \"\"the peaceful\"\"\"");
+    }
+
+    @Test
+    void shouldExportForeignKeysAsIds() throws Exception {
+        String body = export("/api/characters/export")
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode luke = objectMapper.readTree(body.strip());
+        assertThat(luke.get("homeworldId").asLong()).isEqualTo(planetRepository.findBySwapiId(1).orElseThrow().getId());
+    }
+
+    @Test
+    void shouldRejectUnknownTypeAndFormat() throws Exception {
+        mockMvc.perform(get("/api/droids/export")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/planets/export").param("format", "xml")).andExpect(status().isBadRequest());
+    }
+
+    private org.springframework.test.web.servlet.ResultActions export(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
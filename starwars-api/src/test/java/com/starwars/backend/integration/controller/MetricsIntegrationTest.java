@@ -0,0 +1,39 @@
+package com.starwars.backend.integration.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpoint_shouldExposeListSyncAndPoolMetrics() throws Exception {
+        mockMvc.perform(get("/api/planets").param("search", "hoth")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("starwars_list_requests_seconds_count{application=\"starwars-api\",mode=\"page\",outcome=\"success\",resource=\"planets\",search=\"true\"}")
+                .contains("starwars_list_results_count{")
+                .contains("swapi_sync_pages_total{")
+                .contains("swapi_sync_requests_seconds_bucket{")
+                .contains("hikaricp_connections_active{");
+    }
+}
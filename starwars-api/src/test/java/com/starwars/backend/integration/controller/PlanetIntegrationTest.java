@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.starwars.backend.dto.PageResponse;
 import com.starwars.backend.dto.PlanetDTO;
+import com.starwars.backend.event.DatasetChangedEvent;
 import com.starwars.backend.persisntence.entities.Planet;
 import com.starwars.backend.persisntence.repository.PlanetRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,11 +12,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,6 +43,9 @@ class PlanetIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @BeforeEach
     void setUp() {
         planetRepository.deleteAll();
@@ -181,4 +191,95 @@ class PlanetIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isEmpty());
     }
+
+    @Test
+    void shouldScrollPlanetsByNameWithCursor() throws Exception {
+        planetRepository.deleteAll();
+        for (int i = 1; i <= 12; i++) {
+            planetRepository.save(Planet.builder()
+                    .swapiId(200 + i)
+                    .name(i % 4 == 0 ? null : "Planet" + (char) ('A' + i % 3))
+                    .created(OffsetDateTime.now())
+                    .edited(OffsetDateTime.now())
+                    .url("https://swapi.dev/api/planets/" + (200 + i) + "/")
+                    .build());
+        }
+
+        for (String direction : List.of("asc", "desc")) {
+            List<String> names = new ArrayList<>();
+            String cursor = null;
+            do {
+                var request = get("/api/planets/scroll")
+                        .param("sort", "name," + direction)
+                        .param("size", "5")
+                        .accept(MediaType.APPLICATION_JSON);
+                if (cursor != null) {
+                    request.param("cursor", cursor);
+                }
+                var body = objectMapper.readTree(mockMvc.perform(request)
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString());
+                body.get("content").forEach(planet -> names.add(planet.get("name").isNull() ? null : planet.get("name").asText()));
+                cursor = body.get("next").isNull() ? null : body.get("next").asText();
+            } while (cursor != null);
+
+            assertThat(names).hasSize(12);
+            assertThat(names.stream().filter(name -> name == null).count()).isEqualTo(3);
+            List<String> nonNull = names.stream().filter(name -> name != null).toList();
+            assertThat(nonNull).isSortedAccordingTo(direction.equals("asc") ? String::compareTo : (a, b) -> b.compareTo(a));
+        }
+    }
+
+    @Test
+    void shouldRejectScrollCursorForDifferentSort() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            planetRepository.save(Planet.builder().swapiId(300 + i).name("P" + i).created(OffsetDateTime.now()).edited(OffsetDateTime.now()).url("https://...").build());
+        }
+        var body = objectMapper.readTree(mockMvc.perform(get("/api/planets/scroll").param("sort", "name,asc"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        mockMvc.perform(get("/api/planets/scroll")
+                        .param("sort", "created,asc")
+                        .param("cursor", body.get("next").asText()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/planets/scroll").param("sort", "climate,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectScrollCursorWithKeyOfTheWrongType() throws Exception {
+        mockMvc.perform(get("/api/planets/scroll")
+                        .param("sort", "created,asc")
+                        .param("cursor", cursor("created|ASC|5|sTatooine")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/planets/scroll")
+                        .param("sort", "name,asc")
+                        .param("cursor", cursor("name|ASC|5|n42")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldAnswerConditionalGetWithNotModifiedUntilDatasetChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/planets"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+
+        mockMvc.perform(get("/api/planets").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        eventPublisher.publishEvent(new DatasetChangedEvent("test"));
+
+        mockMvc.perform(get("/api/planets").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Tatooine"));
+    }
+
+    private static String cursor(String token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
 }
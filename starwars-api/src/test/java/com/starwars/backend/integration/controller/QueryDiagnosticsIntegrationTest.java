@@ -0,0 +1,101 @@
+package com.starwars.backend.integration.controller;
+
+import com.starwars.backend.config.QueryDiagnosticsHeaders;
+import com.starwars.backend.persisntence.entities.Character;
+import com.starwars.backend.persisntence.entities.Film;
+import com.starwars.backend.persisntence.repository.CharacterRepository;
+import com.starwars.backend.persisntence.repository.FilmRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:diagnostics",
+        "diagnostics.enabled=true",
+        "diagnostics.slow-query-threshold=0ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@ExtendWith(OutputCaptureExtension.class)
+class QueryDiagnosticsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private FilmRepository filmRepository;
+
+    private Long lukeId;
+    private Long filmId;
+
+    @BeforeEach
+    void setUp() {
+        characterRepository.deleteAll();
+        filmRepository.deleteAll();
+        OffsetDateTime now = OffsetDateTime.now();
+        filmId = filmRepository.save(Film.builder().swapiId(1).title("A New Hope").episodeId(4)
+                .created(now).edited(now).url("https://swapi.dev/api/films/1/").build()).getId();
+        lukeId = characterRepository.save(Character.builder().swapiId(1).name("Luke Skywalker")
+                .films(new HashSet<>()).species(new HashSet<>()).vehicles(new HashSet<>()).starships(new HashSet<>())
+                .created(now).edited(now).url("https://swapi.dev/api/people/1/").build()).getId();
+    }
+
+    @Test
+    void listEndpoint_shouldReportStatementsAndNoEntityLoads(CapturedOutput output) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/characters"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(Integer.parseInt(response.getHeader(QueryDiagnosticsHeaders.STATEMENTS))).isPositive();
+        assertThat(response.getHeader(QueryDiagnosticsHeaders.JDBC_TIME)).isNotNull();
+        assertThat(response.getHeader(QueryDiagnosticsHeaders.ENTITIES_LOADED)).isEqualTo("0");
+        assertThat(response.getHeader(QueryDiagnosticsHeaders.COLLECTIONS_FETCHED)).isEqualTo("0");
+        assertThat(output).contains("GET /api/characters -> 200: ")
+                .contains("Slow query took")
+                .contains("bind parameters: select");
+    }
+
+    @Test
+    void updateEndpoint_shouldCountLoadedEntities() throws Exception {
+        String body = """
+                {"name": "Luke Skywalker", "filmIds": [%d], "speciesIds": [], "vehicleIds": [], "starshipIds": []}
+                """.formatted(filmId);
+
+        MockHttpServletResponse response = mockMvc.perform(put("/api/characters/{id}", lukeId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(Integer.parseInt(response.getHeader(QueryDiagnosticsHeaders.ENTITIES_LOADED))).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void requestsWithoutDiagnostics_shouldNotCarryHeaders() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/actuator/health"))
+                .andReturn().getResponse();
+
+        assertThat(response.getHeaderNames()).doesNotContainAnyElementsOf(Set.of(QueryDiagnosticsHeaders.STATEMENTS));
+    }
+}
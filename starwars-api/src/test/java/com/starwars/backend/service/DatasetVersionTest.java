@@ -0,0 +1,30 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.event.DatasetChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetVersionTest {
+
+    private final DatasetVersion datasetVersion = new DatasetVersion();
+
+    @Test
+    void etag_shouldBeStrongAndStableWhileDataIsUnchanged() {
+        String etag = datasetVersion.etag();
+
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+        assertSame(etag, datasetVersion.etag());
+        assertEquals(0, datasetVersion.current());
+    }
+
+    @Test
+    void onDatasetChanged_shouldBumpVersionAndEtag() {
+        String before = datasetVersion.etag();
+
+        datasetVersion.onDatasetChanged(new DatasetChangedEvent("test"));
+
+        assertEquals(1, datasetVersion.current());
+        assertNotEquals(before, datasetVersion.etag());
+    }
+}
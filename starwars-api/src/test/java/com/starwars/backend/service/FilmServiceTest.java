@@ -1,20 +1,20 @@
 package com.starwars.backend.service;
 
 import com.starwars.backend.dto.FilmDTO;
+import com.starwars.backend.dto.FilmRow;
+import com.starwars.backend.dto.RelationName;
 import com.starwars.backend.exception.FilmRetrievalException;
-import com.starwars.backend.persisntence.entities.*;
-import com.starwars.backend.persisntence.entities.Character;
 import com.starwars.backend.persisntence.repository.FilmRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.data.domain.*;
 
 import java.time.OffsetDateTime;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,6 +25,9 @@ class FilmServiceTest {
     @Mock
     private FilmRepository filmRepository;
 
+    @Spy
+    private ReadMetrics readMetrics = new ReadMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private FilmService filmService;
 
@@ -36,64 +39,50 @@ class FilmServiceTest {
     @Test
     void testGetFilms_withSearch_shouldReturnFilteredPage() {
         Pageable pageable = PageRequest.of(0, 15, Sort.unsorted());
+        OffsetDateTime releaseDate = OffsetDateTime.parse("1977-05-25T00:00:00Z");
+
+        FilmRow film = new FilmRow(1L, "A New Hope", 4, "crawl", "George Lucas", "Lucasfilm", releaseDate,
+                OffsetDateTime.now(), OffsetDateTime.now(), "https://swapi.dev/api/films/1/");
 
-        Character luke = Character.builder().name("Luke Skywalker").build();
-        Planet tatooine = Planet.builder().name("Tatooine").build();
-        Starship xwing = Starship.builder().name("X-Wing").build();
-        Vehicle speeder = Vehicle.builder().name("Speeder").build();
-        Species human = Species.builder().name("Human").build();
-
-        Film film = Film.builder()
-                .title("A New Hope")
-                .episodeId(4)
-                .director("George Lucas")
-                .producer("Lucasfilm")
-                .releaseDate(OffsetDateTime.now())
-                .characters(Set.of(luke))
-                .planets(Set.of(tatooine))
-                .starships(Set.of(xwing))
-                .vehicles(Set.of(speeder))
-                .species(Set.of(human))
-                .created(OffsetDateTime.now())
-                .edited(OffsetDateTime.now())
-                .url("https://swapi.dev/api/films/1/")
-                .build();
-
-        Page<Film> filmPage = new PageImpl<>(List.of(film));
-        when(filmRepository.findByTitleContainingIgnoreCase("hope", pageable)).thenReturn(filmPage);
+        when(filmRepository.findRowsMatching("%hope%", pageable)).thenReturn(new PageImpl<>(List.of(film)));
+        when(filmRepository.findCharacterNames(List.of(1L))).thenReturn(List.of(new RelationName(1L, 1L, "Luke Skywalker")));
+        when(filmRepository.findPlanetNames(List.of(1L))).thenReturn(List.of(new RelationName(1L, 1L, "Tatooine")));
+        when(filmRepository.findStarshipNames(List.of(1L))).thenReturn(List.of(new RelationName(1L, 1L, "X-Wing")));
+        when(filmRepository.findVehicleNames(List.of(1L))).thenReturn(List.of(new RelationName(1L, 1L, "Speeder")));
+        when(filmRepository.findSpeciesNames(List.of(1L))).thenReturn(List.of(new RelationName(1L, 1L, "Human")));
 
         Page<FilmDTO> result = filmService.getFilms("hope", pageable);
 
         assertEquals(1, result.getTotalElements());
-        assertEquals("A New Hope", result.getContent().get(0).title());
+        FilmDTO dto = result.getContent().get(0);
+        assertEquals("A New Hope", dto.title());
+        assertEquals("1977-05-25", dto.releaseDate());
+        assertEquals(List.of("Luke Skywalker"), dto.characters());
+        assertEquals(List.of("Tatooine"), dto.planets());
+        assertEquals(List.of("X-Wing"), dto.starships());
+        assertEquals(List.of("Speeder"), dto.vehicles());
+        assertEquals(List.of("Human"), dto.species());
     }
 
     @Test
     void testGetFilms_noSearch_shouldReturnAll() {
         Pageable pageable = PageRequest.of(0, 15, Sort.unsorted());
 
-        Film film = Film.builder()
-                .title("Empire Strikes Back")
-                .characters(new HashSet<>())
-                .planets(new HashSet<>())
-                .starships(new HashSet<>())
-                .vehicles(new HashSet<>())
-                .species(new HashSet<>())
-                .build();
-
-        Page<Film> filmPage = new PageImpl<>(List.of(film));
-        when(filmRepository.findAll(pageable)).thenReturn(filmPage);
+        FilmRow film = new FilmRow(2L, "Empire Strikes Back", 5, null, null, null, null, null, null, null);
+        when(filmRepository.findRows(pageable)).thenReturn(new PageImpl<>(List.of(film)));
 
         Page<FilmDTO> result = filmService.getFilms(null, pageable);
 
         assertEquals(1, result.getTotalElements());
         assertEquals("Empire Strikes Back", result.getContent().get(0).title());
+        assertNull(result.getContent().get(0).releaseDate());
+        assertEquals(List.of(), result.getContent().get(0).characters());
     }
 
     @Test
     void testGetFilms_exceptionThrown_shouldThrowCustomException() {
         Pageable pageable = PageRequest.of(0, 15, Sort.unsorted());
-        when(filmRepository.findAll(pageable)).thenThrow(new RuntimeException("DB error"));
+        when(filmRepository.findRows(pageable)).thenThrow(new RuntimeException("DB error"));
 
         assertThrows(FilmRetrievalException.class, () -> filmService.getFilms(null, pageable));
     }
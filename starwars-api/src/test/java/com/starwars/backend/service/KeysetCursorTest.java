@@ -0,0 +1,42 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void encode_shouldRoundTripStringKeysContainingSeparators() {
+        KeysetCursor cursor = new KeysetCursor("name", Sort.Direction.ASC, "Obi-Wan | Kenobi", 42L);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encode_shouldRoundTripTimestampNumericAndNullKeys() {
+        OffsetDateTime created = OffsetDateTime.parse("2014-12-09T13:50:51.644Z");
+
+        for (Object key : new Object[]{created, 7L, null}) {
+            KeysetCursor cursor = new KeysetCursor("created", Sort.Direction.DESC, key, 3L);
+            assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+        }
+    }
+
+    @Test
+    void encode_shouldProduceUrlSafeToken() {
+        String token = new KeysetCursor("name", Sort.Direction.ASC, "ä/?+=", 1L).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_shouldRejectMalformedTokens() {
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("bmFtZXxBU0M"));
+    }
+}
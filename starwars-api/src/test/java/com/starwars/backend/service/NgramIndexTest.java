@@ -0,0 +1,92 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.dto.SupportOption;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NgramIndexTest {
+
+    private final NgramIndex index = NgramIndex.build(List.of(
+            new SupportOption(1L, "Luke Skywalker"),
+            new SupportOption(2L, "Anakin Skywalker"),
+            new SupportOption(3L, "Skywalker"),
+            new SupportOption(4L, "Leia Organa"),
+            new SupportOption(5L, "Shmi Skywalkers"),
+            new SupportOption(6L, "R2-D2")
+    ), SupportOption::id, SupportOption::name);
+
+    @Test
+    void search_shouldMatchSubstringsCaseInsensitively() {
+        NgramIndex.Result result = index.search("skywalker", 10);
+
+        assertEquals(4, result.total());
+        assertEquals(List.of(3L, 1L, 5L, 2L), result.matches().stream().map(NgramIndex.Match::id).toList());
+    }
+
+    @Test
+    void search_shouldRankExactThenPrefixThenWordStartThenInfix() {
+        NgramIndex.Result result = NgramIndex.build(List.of(
+                new SupportOption(1L, "Tatooine Moon"),
+                new SupportOption(2L, "Moon"),
+                new SupportOption(3L, "Honeymoon"),
+                new SupportOption(4L, "Moonbase")
+        ), SupportOption::id, SupportOption::name).search("moon", 10);
+
+        assertEquals(List.of(100, 75, 50, 25), result.matches().stream().map(NgramIndex.Match::score).toList());
+        assertEquals(List.of(2L, 4L, 1L, 3L), result.matches().stream().map(NgramIndex.Match::id).toList());
+    }
+
+    @Test
+    void search_shouldRequireEveryTrigramInOrder() {
+        assertEquals(0, index.search("walker luke", 10).total());
+        assertEquals(0, index.search("zzz", 10).total());
+        assertEquals(1, index.search("a org", 10).total());
+    }
+
+    @Test
+    void search_shouldScanShortQueries() {
+        NgramIndex.Result result = index.search("d2", 10);
+
+        assertEquals(1, result.total());
+        assertEquals("R2-D2", result.matches().getFirst().name());
+    }
+
+    @Test
+    void search_shouldLimitMatchesButReportTotal() {
+        NgramIndex.Result result = index.search("a", 2);
+
+        assertEquals(5, result.total());
+        assertEquals(2, result.matches().size());
+    }
+
+    @Test
+    void with_shouldAddAndRenameDocumentsWithoutChangingTheOriginal() {
+        NgramIndex patched = index.with(7L, "Rey Skywalker").with(1L, "Biggs Darklighter");
+
+        assertEquals(7, patched.size());
+        assertEquals(List.of(3L, 7L, 5L, 2L), patched.search("skywalker", 10).matches().stream()
+                .map(NgramIndex.Match::id).toList());
+        assertEquals(1, patched.search("biggs", 10).total());
+        assertEquals(4, index.search("skywalker", 10).total());
+        assertEquals(0, index.search("biggs", 10).total());
+    }
+
+    @Test
+    void without_shouldDropTheDocumentFromTrigramAndShortQueries() {
+        NgramIndex patched = index.without(6L).without(3L);
+
+        assertEquals(4, patched.size());
+        assertEquals(0, patched.search("d2", 10).total());
+        assertEquals(3, patched.search("skywalker", 10).total());
+        assertSame(patched, patched.without(6L));
+        assertEquals(1, index.search("d2", 10).total());
+    }
+
+    @Test
+    void empty_shouldMatchNothing() {
+        assertEquals(0, NgramIndex.EMPTY.search("luke", 10).total());
+    }
+}
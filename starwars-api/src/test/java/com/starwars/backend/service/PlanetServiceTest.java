@@ -1,61 +1,52 @@
 package com.starwars.backend.service;
 
 import com.starwars.backend.dto.PlanetDTO;
+import com.starwars.backend.dto.PlanetRow;
+import com.starwars.backend.dto.RelationName;
 import com.starwars.backend.exception.PlanetRetrievalException;
-import com.starwars.backend.persisntence.entities.Character;
-import com.starwars.backend.persisntence.entities.Film;
-import com.starwars.backend.persisntence.entities.Planet;
 import com.starwars.backend.persisntence.repository.PlanetRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.*;
 
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class PlanetServiceTest {
 
     private PlanetRepository planetRepository;
+    private SimpleMeterRegistry meterRegistry;
     private PlanetService planetService;
 
     @BeforeEach
     void setUp() {
         planetRepository = mock(PlanetRepository.class);
-        planetService = new PlanetService(planetRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        planetService = new PlanetService(planetRepository, mock(KeysetPager.class), new ReadMetrics(meterRegistry));
     }
 
     @Test
     void testGetPlanets_noSearch_shouldReturnAll() {
         Pageable pageable = PageRequest.of(0, 15);
-        Planet planet = Planet.builder()
-                .name("Tatooine")
-                .rotationPeriod("23")
-                .orbitalPeriod("304")
-                .diameter("10465")
-                .climate("arid")
-                .gravity("1 standard")
-                .terrain("desert")
-                .surfaceWater("1")
-                .population("200000")
-                .residents(Set.of(Character.builder().name("Luke Skywalker").build()))
-                .films(Set.of(Film.builder().title("A New Hope").build()))
-                .created(OffsetDateTime.now())
-                .edited(OffsetDateTime.now())
-                .url("https://swapi.dev/api/planets/1/")
-                .build();
-
-        Page<Planet> planetPage = new PageImpl<>(List.of(planet));
-        when(planetRepository.findAll(pageable)).thenReturn(planetPage);
+        PlanetRow planet = new PlanetRow(1L, "Tatooine", "23", "304", "10465", "arid", "1 standard", "desert", "1",
+                "200000", OffsetDateTime.now(), OffsetDateTime.now(), "https://swapi.dev/api/planets/1/");
+
+        when(planetRepository.findRows(pageable)).thenReturn(new PageImpl<>(List.of(planet)));
+        when(planetRepository.findResidentNames(List.of(1L))).thenReturn(List.of(new RelationName(1L, 10L, "Luke Skywalker")));
+        when(planetRepository.findFilmNames(List.of(1L))).thenReturn(List.of(new RelationName(1L, 20L, "A New Hope")));
 
         Page<PlanetDTO> result = planetService.getPlanets(null, pageable);
 
         assertEquals(1, result.getTotalElements());
         PlanetDTO dto = result.getContent().get(0);
         assertEquals("Tatooine", dto.name());
+        assertEquals("arid", dto.climate());
         assertEquals(List.of("Luke Skywalker"), dto.residents());
         assertEquals(List.of("A New Hope"), dto.films());
     }
@@ -63,28 +54,51 @@ class PlanetServiceTest {
     @Test
     void testGetPlanets_withSearch_shouldFilterByName() {
         Pageable pageable = PageRequest.of(0, 15);
-        Planet planet = Planet.builder()
-                .name("Hoth")
-                .residents(Set.of())
-                .films(Set.of())
-                .created(OffsetDateTime.now())
-                .edited(OffsetDateTime.now())
-                .url("https://swapi.dev/api/planets/4/")
-                .build();
+        PlanetRow planet = new PlanetRow(4L, "Hoth", null, null, null, null, null, null, null, null,
+                OffsetDateTime.now(), OffsetDateTime.now(), "https://swapi.dev/api/planets/4/");
 
-        Page<Planet> planetPage = new PageImpl<>(List.of(planet));
-        when(planetRepository.findByNameContainingIgnoreCase("hoth", pageable)).thenReturn(planetPage);
+        when(planetRepository.findRowsMatching(eq("%hoth%"), any())).thenReturn(new PageImpl<>(List.of(planet)));
 
-        Page<PlanetDTO> result = planetService.getPlanets("hoth", pageable);
+        Page<PlanetDTO> result = planetService.getPlanets("Hoth", pageable);
 
         assertEquals(1, result.getTotalElements());
         assertEquals("Hoth", result.getContent().get(0).name());
+        assertEquals(List.of(), result.getContent().get(0).residents());
+    }
+
+    @Test
+    void testGetPlanets_shouldRecordLatencyAndResultSizeBySearchPath() {
+        Pageable pageable = PageRequest.of(0, 15);
+        PlanetRow planet = new PlanetRow(4L, "Hoth", null, null, null, null, null, null, null, null,
+                OffsetDateTime.now(), OffsetDateTime.now(), "https://swapi.dev/api/planets/4/");
+        when(planetRepository.findRowsMatching(eq("%hoth%"), any())).thenReturn(new PageImpl<>(List.of(planet)));
+        when(planetRepository.findRows(pageable)).thenThrow(new RuntimeException("DB Error"));
+
+        planetService.getPlanets("Hoth", pageable);
+        assertThrows(PlanetRetrievalException.class, () -> planetService.getPlanets(null, pageable));
+
+        assertEquals(1, meterRegistry.get("starwars.list.requests")
+                .tags("resource", "planets", "mode", "page", "search", "true", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("starwars.list.results")
+                .tags("resource", "planets", "mode", "page", "search", "true").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("starwars.list.requests")
+                .tags("resource", "planets", "mode", "page", "search", "false", "outcome", "error").timer().count());
+    }
+
+    @Test
+    void testGetPlanets_emptyPage_shouldNotQueryRelations() {
+        Pageable pageable = PageRequest.of(0, 15);
+        when(planetRepository.findRows(pageable)).thenReturn(Page.empty());
+
+        assertTrue(planetService.getPlanets(null, pageable).isEmpty());
+        verify(planetRepository, never()).findResidentNames(any());
+        verify(planetRepository, never()).findFilmNames(any());
     }
 
     @Test
     void testGetPlanets_repositoryThrowsException_shouldThrowPlanetRetrievalException() {
         Pageable pageable = PageRequest.of(0, 15);
-        when(planetRepository.findAll(pageable)).thenThrow(new RuntimeException("DB Error"));
+        when(planetRepository.findRows(pageable)).thenThrow(new RuntimeException("DB Error"));
 
         PlanetRetrievalException exception = assertThrows(
                 PlanetRetrievalException.class,
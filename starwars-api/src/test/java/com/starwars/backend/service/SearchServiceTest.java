@@ -0,0 +1,118 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.dto.FilmSupportOption;
+import com.starwars.backend.dto.SearchResults;
+import com.starwars.backend.dto.SupportOption;
+import com.starwars.backend.event.DatasetChangedEvent;
+import com.starwars.backend.integration.SwapiResource;
+import com.starwars.backend.persisntence.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SearchServiceTest {
+
+    private PlanetRepository planetRepository;
+    private CharacterRepository characterRepository;
+    private StarshipRepository starshipRepository;
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        planetRepository = mock(PlanetRepository.class);
+        FilmRepository filmRepository = mock(FilmRepository.class);
+        SpeciesRepository speciesRepository = mock(SpeciesRepository.class);
+        characterRepository = mock(CharacterRepository.class);
+        starshipRepository = mock(StarshipRepository.class);
+        VehicleRepository vehicleRepository = mock(VehicleRepository.class);
+        searchService = new SearchService(planetRepository, filmRepository, speciesRepository,
+                characterRepository, starshipRepository, vehicleRepository, Runnable::run);
+
+        when(planetRepository.findSupportOptions()).thenReturn(List.of(new SupportOption(1L, "Tatooine")));
+        when(filmRepository.findSupportOptions()).thenReturn(List.of(new FilmSupportOption(1L, "A New Hope")));
+        when(characterRepository.findSupportOptions()).thenReturn(List.of(
+                new SupportOption(1L, "Luke Skywalker"), new SupportOption(11L, "Anakin Skywalker")));
+        when(starshipRepository.findSupportOptions()).thenReturn(List.of(new SupportOption(12L, "Skywalker")));
+    }
+
+    @Test
+    void search_shouldGroupHitsByTypeWithBestGroupFirst() {
+        searchService.warmUp();
+        SearchResults results = searchService.search("Skywalker", 10);
+
+        assertEquals(3, results.total());
+        assertEquals(List.of("starships", "characters"), results.groups().stream().map(g -> g.type()).toList());
+        assertEquals(100, results.groups().getFirst().hits().getFirst().score());
+        assertEquals(2, results.groups().get(1).total());
+    }
+
+    @Test
+    void search_shouldNotQueryDatabaseOnceBuilt() {
+        searchService.warmUp();
+        clearInvocations(planetRepository, characterRepository, starshipRepository);
+
+        searchService.search("hope", 10);
+        searchService.search("tat", 10);
+
+        verifyNoInteractions(planetRepository, characterRepository, starshipRepository);
+    }
+
+    @Test
+    void onDatasetChanged_shouldRebuildOnlyChangedTypes() {
+        searchService.warmUp();
+        when(characterRepository.findSupportOptions()).thenReturn(List.of(new SupportOption(1L, "Luke Skywalker")));
+
+        searchService.onDatasetChanged(new DatasetChangedEvent("test", EnumSet.of(SwapiResource.CHARACTERS)));
+
+        verify(characterRepository, times(2)).findSupportOptions();
+        verify(planetRepository, times(1)).findSupportOptions();
+        assertEquals(2, searchService.search("skywalker", 10).total());
+    }
+
+    @Test
+    void onDatasetChanged_shouldPatchSingleCharacterWithoutQuerying() {
+        searchService.warmUp();
+        clearInvocations(characterRepository);
+        String before = searchService.etag();
+
+        searchService.onDatasetChanged(DatasetChangedEvent.rowSaved("test", SwapiResource.CHARACTERS, 1L, "Biggs Darklighter"));
+        searchService.onDatasetChanged(DatasetChangedEvent.rowSaved("test", SwapiResource.CHARACTERS, 20L, "Rey Skywalker"));
+        searchService.onDatasetChanged(DatasetChangedEvent.rowDeleted("test", SwapiResource.CHARACTERS, 11L));
+
+        verifyNoInteractions(characterRepository);
+        assertNotEquals(before, searchService.etag());
+        assertEquals(1, searchService.search("biggs", 10).total());
+        assertEquals(List.of(20L), searchService.search("skywalker", 10).groups().stream()
+                .filter(group -> group.type().equals("characters"))
+                .flatMap(group -> group.hits().stream()).map(hit -> hit.id()).toList());
+    }
+
+    @Test
+    void search_shouldKeepServingWithoutQueryingUntilAFailedSegmentIsRetried() {
+        when(planetRepository.findSupportOptions()).thenThrow(new RuntimeException("db down"))
+                .thenReturn(List.of(new SupportOption(1L, "Tatooine")));
+
+        searchService.warmUp();
+        String stale = searchService.etag();
+        assertEquals(0, searchService.search("tatooine", 10).total());
+        assertEquals(0, searchService.search("tatooine", 10).total());
+        verify(planetRepository, times(1)).findSupportOptions();
+
+        searchService.retryStaleSegments();
+
+        assertNotEquals(stale, searchService.etag());
+        assertEquals(1, searchService.search("tatooine", 10).total());
+        verify(planetRepository, times(2)).findSupportOptions();
+    }
+
+    @Test
+    void search_shouldReturnNothingForBlankQuery() {
+        assertEquals(0, searchService.search("  ", 10).total());
+        verifyNoInteractions(planetRepository);
+    }
+}
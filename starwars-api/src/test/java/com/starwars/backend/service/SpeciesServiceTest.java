@@ -1,18 +1,17 @@
 package com.starwars.backend.service;
 
+import com.starwars.backend.dto.RelationName;
 import com.starwars.backend.dto.SpeciesDTO;
+import com.starwars.backend.dto.SpeciesRow;
 import com.starwars.backend.exception.SpeciesRetrievalException;
-import com.starwars.backend.persisntence.entities.*;
-import com.starwars.backend.persisntence.entities.Character;
 import com.starwars.backend.persisntence.repository.SpeciesRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 import org.springframework.data.domain.*;
 
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,36 +24,21 @@ class SpeciesServiceTest {
     @BeforeEach
     void setUp() {
         speciesRepository = mock(SpeciesRepository.class);
-        speciesService = new SpeciesService(speciesRepository);
+        speciesService = new SpeciesService(speciesRepository, mock(KeysetPager.class), new ReadMetrics(new SimpleMeterRegistry()));
     }
 
     @Test
     void testGetSpecies_noSearch_shouldReturnAll() {
         Pageable pageable = PageRequest.of(0, 15);
 
-        Planet homeworld = Planet.builder().name("Tatooine").build();
-        Character luke = Character.builder().name("Luke").homeworld(homeworld).build();
-        Film film = Film.builder().title("A New Hope").build();
-
-        Species species = Species.builder()
-                .name("Human")
-                .classification("Mammal")
-                .designation("Sentient")
-                .averageHeight("180")
-                .skinColors("fair")
-                .hairColors("blond")
-                .eyeColors("blue")
-                .averageLifespan("120")
-                .language("Galactic Basic")
-                .characters(Set.of(luke))
-                .films(Set.of(film))
-                .created(OffsetDateTime.now())
-                .edited(OffsetDateTime.now())
-                .url("https://swapi.dev/api/species/1/")
-                .build();
-
-        Page<Species> page = new PageImpl<>(List.of(species));
-        when(speciesRepository.findAll(pageable)).thenReturn(page);
+        SpeciesRow species = new SpeciesRow(1L, "Human", "Mammal", "Sentient", "180", "fair", "blond", "blue", "120",
+                "Galactic Basic", OffsetDateTime.now(), OffsetDateTime.now(), "https://swapi.dev/api/species/1/");
+
+        when(speciesRepository.findRows(pageable)).thenReturn(new PageImpl<>(List.of(species)));
+        when(speciesRepository.findCharacterNames(List.of(1L))).thenReturn(List.of(new RelationName(1L, 1L, "Luke")));
+        when(speciesRepository.findFilmNames(List.of(1L))).thenReturn(List.of(new RelationName(1L, 1L, "A New Hope")));
+        when(speciesRepository.findCharacterHomeworldNames(List.of(1L)))
+                .thenReturn(List.of(new RelationName(1L, 1L, "Tatooine"), new RelationName(1L, 5L, "Alderaan")));
 
         Page<SpeciesDTO> result = speciesService.getSpecies(null, pageable);
 
@@ -70,17 +54,10 @@ class SpeciesServiceTest {
     void testGetSpecies_withSearch_shouldFilter() {
         Pageable pageable = PageRequest.of(0, 15);
 
-        Species species = Species.builder()
-                .name("Wookiee")
-                .characters(Set.of())
-                .films(Set.of())
-                .created(OffsetDateTime.now())
-                .edited(OffsetDateTime.now())
-                .url("https://swapi.dev/api/species/2/")
-                .build();
+        SpeciesRow species = new SpeciesRow(2L, "Wookiee", null, null, null, null, null, null, null, null,
+                OffsetDateTime.now(), OffsetDateTime.now(), "https://swapi.dev/api/species/2/");
 
-        Page<Species> page = new PageImpl<>(List.of(species));
-        when(speciesRepository.findByNameContainingIgnoreCase("wookie", pageable)).thenReturn(page);
+        when(speciesRepository.findRowsMatching("%wookie%", pageable)).thenReturn(new PageImpl<>(List.of(species)));
 
         Page<SpeciesDTO> result = speciesService.getSpecies("wookie", pageable);
 
@@ -92,17 +69,11 @@ class SpeciesServiceTest {
     void testGetSpecies_shouldReturnUnknownIfNoHomeworld() {
         Pageable pageable = PageRequest.of(0, 15);
 
-        Character c = Character.builder().name("Chopper").homeworld(null).build();
-        Species s = Species.builder()
-                .name("Droid")
-                .characters(Set.of(c))
-                .films(Set.of())
-                .created(OffsetDateTime.now())
-                .edited(OffsetDateTime.now())
-                .url("https://swapi.dev/api/species/3/")
-                .build();
+        SpeciesRow species = new SpeciesRow(3L, "Droid", null, null, null, null, null, null, null, null,
+                OffsetDateTime.now(), OffsetDateTime.now(), "https://swapi.dev/api/species/3/");
 
-        when(speciesRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(s)));
+        when(speciesRepository.findRows(pageable)).thenReturn(new PageImpl<>(List.of(species)));
+        when(speciesRepository.findCharacterNames(List.of(3L))).thenReturn(List.of(new RelationName(3L, 9L, "Chopper")));
 
         Page<SpeciesDTO> result = speciesService.getSpecies(null, pageable);
 
@@ -112,7 +83,7 @@ class SpeciesServiceTest {
     @Test
     void testGetSpecies_repositoryThrows_shouldThrowSpeciesRetrievalException() {
         Pageable pageable = PageRequest.of(0, 15);
-        when(speciesRepository.findAll(pageable)).thenThrow(new RuntimeException("Database error"));
+        when(speciesRepository.findRows(pageable)).thenThrow(new RuntimeException("Database error"));
 
         assertThrows(SpeciesRetrievalException.class, () -> {
             speciesService.getSpecies(null, pageable);
@@ -1,18 +1,17 @@
 package com.starwars.backend.service;
 
+import com.starwars.backend.dto.RelationName;
 import com.starwars.backend.dto.StarshipDTO;
+import com.starwars.backend.dto.StarshipRow;
 import com.starwars.backend.exception.StarshipRetrievalException;
-import com.starwars.backend.persisntence.entities.Character;
-import com.starwars.backend.persisntence.entities.Film;
-import com.starwars.backend.persisntence.entities.Starship;
 import com.starwars.backend.persisntence.repository.StarshipRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.*;
 
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,26 +24,20 @@ class StarshipServiceTest {
     @BeforeEach
     void setUp() {
         starshipRepository = mock(StarshipRepository.class);
-        starshipService = new StarshipService(starshipRepository);
+        starshipService = new StarshipService(starshipRepository, mock(KeysetPager.class), new ReadMetrics(new SimpleMeterRegistry()));
     }
 
     @Test
     void testGetStarships_noSearch_shouldReturnAll() {
         Pageable pageable = PageRequest.of(0, 15);
 
-        Starship starship = Starship.builder()
-                .name("X-Wing")
-                .model("T-65")
-                .manufacturer("Incom Corporation")
-                .pilots(Set.of(Character.builder().name("Luke Skywalker").starships(Set.of()).build()))
-                .films(Set.of(Film.builder().title("A New Hope").starships(Set.of()).build()))
-                .created(OffsetDateTime.now())
-                .edited(OffsetDateTime.now())
-                .url("https://swapi.dev/api/starships/12/")
-                .build();
+        StarshipRow starship = new StarshipRow(12L, "X-Wing", "T-65", "Incom Corporation", null, null, null, null,
+                null, null, null, null, null, null, OffsetDateTime.now(), OffsetDateTime.now(),
+                "https://swapi.dev/api/starships/12/");
 
-        Page<Starship> page = new PageImpl<>(List.of(starship));
-        when(starshipRepository.findAll(pageable)).thenReturn(page);
+        when(starshipRepository.findRows(pageable)).thenReturn(new PageImpl<>(List.of(starship)));
+        when(starshipRepository.findPilotNames(List.of(12L))).thenReturn(List.of(new RelationName(12L, 1L, "Luke Skywalker")));
+        when(starshipRepository.findFilmNames(List.of(12L))).thenReturn(List.of(new RelationName(12L, 1L, "A New Hope")));
 
         Page<StarshipDTO> result = starshipService.getStarships(null, pageable);
 
@@ -59,18 +52,29 @@ class StarshipServiceTest {
         Pageable pageable = PageRequest.of(0, 15);
         String search = "Falcon";
 
-        when(starshipRepository.findByNameContainingIgnoreCase(eq(search), any()))
+        when(starshipRepository.findRowsMatching(eq("%falcon%"), any()))
                 .thenReturn(Page.empty());
 
         starshipService.getStarships(search, pageable);
 
-        verify(starshipRepository).findByNameContainingIgnoreCase(eq(search), any());
+        verify(starshipRepository).findRowsMatching(eq("%falcon%"), any());
+    }
+
+    @Test
+    void testGetStarships_withWildcardSearch_shouldEscapePattern() {
+        Pageable pageable = PageRequest.of(0, 15);
+
+        when(starshipRepository.findRowsMatching(any(), any())).thenReturn(Page.empty());
+
+        starshipService.getStarships("100%_", pageable);
+
+        verify(starshipRepository).findRowsMatching(eq("%100\\%\\_%"), any());
     }
 
     @Test
     void testGetStarships_whenException_shouldThrowCustomException() {
         Pageable pageable = PageRequest.of(0, 15);
-        when(starshipRepository.findAll((Pageable) any())).thenThrow(new RuntimeException("db down"));
+        when(starshipRepository.findRows(any())).thenThrow(new RuntimeException("db down"));
 
         assertThrows(StarshipRetrievalException.class, () -> starshipService.getStarships(null, pageable));
     }
@@ -0,0 +1,75 @@
+package com.starwars.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.dto.FilmSupportOption;
+import com.starwars.backend.dto.SupportOption;
+import com.starwars.backend.event.DatasetChangedEvent;
+import com.starwars.backend.persisntence.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SupportDataServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private FilmRepository filmRepository;
+    private SpeciesRepository speciesRepository;
+    private VehicleRepository vehicleRepository;
+    private StarshipRepository starshipRepository;
+    private PlanetRepository planetRepository;
+    private DatasetVersion datasetVersion;
+    private SupportDataService supportDataService;
+
+    @BeforeEach
+    void setUp() {
+        filmRepository = mock(FilmRepository.class);
+        speciesRepository = mock(SpeciesRepository.class);
+        vehicleRepository = mock(VehicleRepository.class);
+        starshipRepository = mock(StarshipRepository.class);
+        planetRepository = mock(PlanetRepository.class);
+        datasetVersion = new DatasetVersion();
+        supportDataService = new SupportDataService(filmRepository, speciesRepository, vehicleRepository,
+                starshipRepository, planetRepository, objectMapper, datasetVersion);
+
+        when(filmRepository.findSupportOptions()).thenReturn(List.of(new FilmSupportOption(1L, "A New Hope")));
+        when(speciesRepository.findSupportOptions()).thenReturn(List.of(new SupportOption(2L, "Human")));
+        when(vehicleRepository.findSupportOptions()).thenReturn(List.of());
+        when(starshipRepository.findSupportOptions()).thenReturn(List.of(new SupportOption(3L, "X-wing")));
+        when(planetRepository.findSupportOptions()).thenReturn(List.of(new SupportOption(4L, "Tatooine")));
+    }
+
+    @Test
+    void getSupportDataJson_shouldSerializeIdNamePairs() throws Exception {
+        JsonNode json = objectMapper.readTree(supportDataService.getSupportDataJson());
+
+        assertEquals("A New Hope", json.at("/films/0/title").asText());
+        assertEquals(1L, json.at("/films/0/id").asLong());
+        assertEquals("Human", json.at("/species/0/name").asText());
+        assertTrue(json.at("/vehicles").isEmpty());
+        assertEquals("X-wing", json.at("/starships/0/name").asText());
+        assertEquals("Tatooine", json.at("/planets/0/name").asText());
+    }
+
+    @Test
+    void getSupportDataJson_shouldServeCachedPayloadUntilDatasetChanges() {
+        byte[] first = supportDataService.getSupportDataJson();
+        byte[] second = supportDataService.getSupportDataJson();
+
+        assertSame(first, second);
+        verify(filmRepository, times(1)).findSupportOptions();
+
+        when(planetRepository.findSupportOptions()).thenReturn(List.of(new SupportOption(5L, "Hoth")));
+        datasetVersion.onDatasetChanged(new DatasetChangedEvent("test"));
+        byte[] rebuilt = supportDataService.getSupportDataJson();
+
+        assertNotSame(first, rebuilt);
+        assertTrue(new String(rebuilt).contains("Hoth"));
+        verify(filmRepository, times(2)).findSupportOptions();
+    }
+}
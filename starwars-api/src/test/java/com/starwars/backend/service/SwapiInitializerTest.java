@@ -0,0 +1,106 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.integration.SwapiResource;
+import com.starwars.backend.integration.SwapiSnapshot;
+import com.starwars.backend.integration.SyncJob;
+import com.starwars.backend.integration.SyncJobManager;
+import com.starwars.backend.integration.SyncStatus;
+import com.starwars.backend.persisntence.entities.SyncRun;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SwapiInitializerTest {
+
+    private SyncJobManager syncJobManager;
+    private SyncStatus syncStatus;
+    private SwapiSnapshot swapiSnapshot;
+    private SwapiInitializer swapiInitializer;
+
+    @BeforeEach
+    void setUp() {
+        syncJobManager = mock(SyncJobManager.class);
+        syncStatus = mock(SyncStatus.class);
+        swapiSnapshot = mock(SwapiSnapshot.class);
+        when(syncJobManager.submit()).thenReturn(new SyncJob());
+        when(syncJobManager.submitSnapshotImport(any())).thenReturn(new SyncJob());
+        when(swapiSnapshot.load()).thenReturn(Optional.empty());
+        swapiInitializer = new SwapiInitializer(syncJobManager, syncStatus, swapiSnapshot, Duration.ofHours(24));
+    }
+
+    @Test
+    void init_shouldSubmitSyncWhenDatabaseIsCold() {
+        when(syncStatus.lastRun()).thenReturn(Optional.empty());
+
+        swapiInitializer.init();
+
+        verify(syncJobManager).submit();
+    }
+
+    @Test
+    void init_shouldSkipSyncWhenLastRunIsRecent() {
+        when(syncStatus.lastRun()).thenReturn(Optional.of(run(OffsetDateTime.now().minusHours(2))));
+
+        swapiInitializer.init();
+
+        verify(syncStatus).skipped();
+        verifyNoInteractions(syncJobManager);
+    }
+
+    @Test
+    void init_shouldSubmitSyncWhenLastRunIsStale() {
+        when(syncStatus.lastRun()).thenReturn(Optional.of(run(OffsetDateTime.now().minusDays(3))));
+
+        swapiInitializer.init();
+
+        verify(syncJobManager).submit();
+        verify(syncStatus, never()).skipped();
+    }
+
+    @Test
+    void init_shouldImportSnapshotWhenDatabaseIsCold() {
+        SwapiSnapshot.Contents snapshot = new SwapiSnapshot.Contents(OffsetDateTime.now().minusDays(30),
+                Map.of(SwapiResource.PLANETS, List.of()));
+        when(syncStatus.lastRun()).thenReturn(Optional.empty());
+        when(swapiSnapshot.load()).thenReturn(Optional.of(snapshot));
+
+        swapiInitializer.init();
+
+        verify(syncJobManager).submitSnapshotImport(snapshot);
+        verify(syncJobManager, never()).submit();
+    }
+
+    @Test
+    void init_shouldFallBackToLiveSyncWhenSnapshotIsUnreadable() {
+        when(syncStatus.lastRun()).thenReturn(Optional.empty());
+        when(swapiSnapshot.load()).thenThrow(new UncheckedIOException(new IOException("truncated")));
+
+        swapiInitializer.init();
+
+        verify(syncJobManager).submit();
+    }
+
+    @Test
+    void init_shouldNotImportSnapshotOverExistingData() {
+        when(syncStatus.lastRun()).thenReturn(Optional.of(run(OffsetDateTime.now().minusDays(3))));
+
+        swapiInitializer.init();
+
+        verifyNoInteractions(swapiSnapshot);
+        verify(syncJobManager).submit();
+    }
+
+    private static SyncRun run(OffsetDateTime finishedAt) {
+        return SyncRun.builder().startedAt(finishedAt.minusMinutes(1)).finishedAt(finishedAt).records(260).build();
+    }
+}
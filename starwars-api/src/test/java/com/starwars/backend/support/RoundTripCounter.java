@@ -0,0 +1,34 @@
+package com.starwars.backend.support;
+
+import org.hibernate.SessionEventListener;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RoundTripCounter implements SessionEventListener {
+
+    private static final AtomicInteger ROUND_TRIPS = new AtomicInteger();
+    private static volatile Thread owner;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        if (Thread.currentThread() == owner) {
+            ROUND_TRIPS.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        if (Thread.currentThread() == owner) {
+            ROUND_TRIPS.incrementAndGet();
+        }
+    }
+
+    public static void reset() {
+        owner = Thread.currentThread();
+        ROUND_TRIPS.set(0);
+    }
+
+    public static int count() {
+        return ROUND_TRIPS.get();
+    }
+}
@@ -0,0 +1,41 @@
+package com.starwars.backend.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the selects issued by the thread that last called {@link #reset()}, so background
+ * work such as a search index refresh does not leak into a test's count.
+ */
+public class SelectCounter implements StatementInspector {
+
+    private static volatile Thread owner;
+    private static final AtomicInteger SELECTS = new AtomicInteger();
+    private static final AtomicInteger COUNTS = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        if (Thread.currentThread() == owner && sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+            SELECTS.incrementAndGet();
+            if (sql.toLowerCase().contains("count(")) {
+                COUNTS.incrementAndGet();
+            }
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        owner = Thread.currentThread();
+        SELECTS.set(0);
+        COUNTS.set(0);
+    }
+
+    public static int count() {
+        return SELECTS.get();
+    }
+
+    public static int countQueries() {
+        return COUNTS.get();
+    }
+}
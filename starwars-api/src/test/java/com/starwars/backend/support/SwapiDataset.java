@@ -0,0 +1,80 @@
+package com.starwars.backend.support;
+
+import com.starwars.backend.dto.*;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Synthetic SWAPI payloads sized like the real dataset, with every relation pointing at
+ * records that exist in the same dataset.
+ */
+public final class SwapiDataset {
+
+    public static final int PLANETS = 60;
+    public static final int FILMS = 6;
+    public static final int SPECIES = 37;
+    public static final int CHARACTERS = 82;
+    public static final int STARSHIPS = 36;
+    public static final int VEHICLES = 39;
+    public static final int TOTAL_RECORDS = PLANETS + FILMS + SPECIES + CHARACTERS + STARSHIPS + VEHICLES;
+    private static final OffsetDateTime EDITED = OffsetDateTime.parse("2014-12-20T21:17:56.891Z");
+
+    private SwapiDataset() {
+    }
+
+    public static List<SwapiPlanet> planets() {
+        return IntStream.rangeClosed(1, PLANETS).mapToObj(id -> new SwapiPlanet(
+                "Planet " + id, "24", "365", "10000", "temperate", "1 standard", "grass", "10", "1000",
+                EDITED, EDITED, url("planets", id))).toList();
+    }
+
+    public static List<SwapiFilm> films() {
+        return IntStream.rangeClosed(1, FILMS).mapToObj(id -> new SwapiFilm(
+                "Film " + id, id, "crawl", "director", "producer", "1977-05-25",
+                range(id, PLANETS, 10),
+                EDITED, EDITED, url("films", id))).toList();
+    }
+
+    public static List<SwapiSpecies> species() {
+        return IntStream.rangeClosed(1, SPECIES).mapToObj(id -> new SwapiSpecies(
+                "Species " + id, "mammal", "sentient", "180", "fair", "brown", "blue", "80", "Basic",
+                refs(id, FILMS),
+                EDITED, EDITED, url("species", id), url("planets", id))).toList();
+    }
+
+    public static List<SwapiCharacter> characters() {
+        return IntStream.rangeClosed(1, CHARACTERS).mapToObj(id -> new SwapiCharacter(
+                "Character " + id, "19BBY", "male", "172", "77", "blond", "fair", "blue",
+                (id - 1) % PLANETS + 1,
+                range(id, FILMS, 3), refs(id, SPECIES),
+                EDITED, EDITED, url("people", id))).toList();
+    }
+
+    public static List<SwapiStarship> starships() {
+        return IntStream.rangeClosed(1, STARSHIPS).mapToObj(id -> new SwapiStarship(
+                "Starship " + id, "model", "maker", "1000", "10", "1000", "1", "1", "10", "1 week", "1.0", "75",
+                "fighter", refs(id, CHARACTERS), range(id, FILMS, 2),
+                EDITED, EDITED, url("starships", id))).toList();
+    }
+
+    public static List<SwapiVehicle> vehicles() {
+        return IntStream.rangeClosed(1, VEHICLES).mapToObj(id -> new SwapiVehicle(
+                "Vehicle " + id, "model", "maker", "1000", "speeder", "10", "1000", "1", "1", "10", "1 week",
+                refs(id, CHARACTERS), range(id, FILMS, 2),
+                EDITED, EDITED, url("vehicles", id))).toList();
+    }
+
+    public static SwapiIds refs(int id, int total) {
+        return id <= total ? SwapiIds.of(id) : SwapiIds.EMPTY;
+    }
+
+    public static SwapiIds range(int start, int total, int size) {
+        return SwapiIds.of(IntStream.range(0, size).map(i -> (start + i - 1) % total + 1).distinct().toArray());
+    }
+
+    private static String url(String resource, int id) {
+        return "https://swapi.dev/api/" + resource + "/" + id + "/";
+    }
+}
@@ -0,0 +1,29 @@
+package com.starwars.backend.support;
+
+import com.starwars.backend.integration.SwapiPageFetcher;
+import com.starwars.backend.integration.SwapiResilience;
+import com.starwars.backend.integration.SyncMetrics;
+import com.starwars.backend.integration.SyncStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.mock;
+
+public final class SwapiFetchers {
+
+    private SwapiFetchers() {
+    }
+
+    public static SwapiPageFetcher pageFetcher(RestTemplate restTemplate, int maxInFlight) {
+        return pageFetcher(restTemplate, maxInFlight, new SimpleMeterRegistry());
+    }
+
+    public static SwapiPageFetcher pageFetcher(RestTemplate restTemplate, int maxInFlight, MeterRegistry registry) {
+        SyncMetrics metrics = new SyncMetrics(registry);
+        SwapiResilience singleAttempt = new SwapiResilience(1, Duration.ZERO, Duration.ZERO, Integer.MAX_VALUE, Duration.ZERO, metrics);
+        return new SwapiPageFetcher(restTemplate, maxInFlight, mock(SyncStatus.class), metrics, singleAttempt);
+    }
+}
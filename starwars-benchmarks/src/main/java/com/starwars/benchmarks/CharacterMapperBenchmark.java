@@ -0,0 +1,60 @@
+package com.starwars.benchmarks;
+
+import com.starwars.backend.dto.form.CharacterFormDTO;
+import com.starwars.backend.mapper.CharacterMapper;
+import com.starwars.backend.persisntence.entities.Character;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The MapStruct character mapping used by the detail, create and update endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CharacterMapperBenchmark {
+
+    @Param({"4", "60"})
+    public int relations;
+
+    private CharacterMapper mapper;
+    private Character character;
+
+    @Setup
+    public void setUp() {
+        mapper = Mappers.getMapper(CharacterMapper.class);
+        character = Fixtures.character(1L, relations);
+    }
+
+    @Benchmark
+    public CharacterFormDTO toDto() {
+        return mapper.toDto(character);
+    }
+
+    @Benchmark
+    public Set<Long> mapFilmIds() {
+        return mapper.mapFilmIds(character.getFilms());
+    }
+
+    @Benchmark
+    public List<String> mapFilms() {
+        return mapper.mapFilms(character.getFilms());
+    }
+}
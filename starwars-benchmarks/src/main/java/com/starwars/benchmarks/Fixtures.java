@@ -0,0 +1,119 @@
+package com.starwars.benchmarks;
+
+import com.starwars.backend.dto.CharacterRow;
+import com.starwars.backend.dto.PlanetRow;
+import com.starwars.backend.dto.RelationName;
+import com.starwars.backend.persisntence.entities.Character;
+import com.starwars.backend.persisntence.entities.Film;
+import com.starwars.backend.persisntence.entities.Planet;
+import com.starwars.backend.persisntence.entities.Species;
+import com.starwars.backend.persisntence.entities.Starship;
+import com.starwars.backend.persisntence.entities.Vehicle;
+
+import java.lang.reflect.Proxy;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds SWAPI-shaped entities, rows and payloads for the benchmarks, so every run
+ * measures the same data without a database.
+ */
+final class Fixtures {
+
+    static final OffsetDateTime CREATED = OffsetDateTime.parse("2014-12-09T13:50:51.644000Z");
+    static final int PAGE_SIZE = 15;
+
+    private Fixtures() {
+    }
+
+    static Character character(long id, int relations) {
+        Set<Film> films = new HashSet<>();
+        Set<Species> species = new HashSet<>();
+        Set<Vehicle> vehicles = new HashSet<>();
+        Set<Starship> starships = new HashSet<>();
+        for (long i = 1; i <= relations; i++) {
+            films.add(Film.builder().id(i).title("Film " + i).build());
+            species.add(Species.builder().id(i).name("Species " + i).build());
+            vehicles.add(Vehicle.builder().id(i).name("Vehicle " + i).build());
+            starships.add(Starship.builder().id(i).name("Starship " + i).build());
+        }
+        return Character.builder()
+                .id(id).swapiId((int) id).name("Luke Skywalker").birthYear("19BBY").gender("male")
+                .height("172").mass("77").hairColor("blond").skinColor("fair").eyeColor("blue")
+                .homeworld(Planet.builder().id(1L).name("Tatooine").build())
+                .films(films).species(species).vehicles(vehicles).starships(starships)
+                .created(CREATED).edited(CREATED).url("https://swapi.dev/api/people/" + id + "/")
+                .build();
+    }
+
+    static List<PlanetRow> planetRows() {
+        List<PlanetRow> rows = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            rows.add(new PlanetRow(id, "Planet " + id, "23", "304", "10465", "arid", "1 standard", "desert",
+                    "1", "200000", CREATED, CREATED, "https://swapi.dev/api/planets/" + id + "/"));
+        }
+        return rows;
+    }
+
+    static List<CharacterRow> characterRows() {
+        List<CharacterRow> rows = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            rows.add(new CharacterRow(id, "Character " + id, "19BBY", "male", "172", "77", "blond", "fair", "blue",
+                    1L, "Tatooine", CREATED, CREATED, "https://swapi.dev/api/people/" + id + "/"));
+        }
+        return rows;
+    }
+
+    /**
+     * One relation row per owner and related id, as the repository relation queries return them.
+     */
+    static List<RelationName> relations(int perOwner, String prefix) {
+        List<RelationName> relations = new ArrayList<>(PAGE_SIZE * perOwner);
+        for (long owner = 1; owner <= PAGE_SIZE; owner++) {
+            for (long id = 1; id <= perOwner; id++) {
+                relations.add(new RelationName(owner, id, prefix + " " + id));
+            }
+        }
+        return relations;
+    }
+
+    /**
+     * Repository stand-in that answers each query method by name with a canned result.
+     */
+    @SuppressWarnings("unchecked")
+    static <R> R repository(Class<R> type, Map<String, Object> answers) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return answer;
+        });
+    }
+
+    static String swapiPeoplePage(int results) {
+        StringBuilder json = new StringBuilder()
+                .append("{\"count\":82,\"next\":\"https://swapi.dev/api/people/?page=2\",\"previous\":null,\"results\":[");
+        for (int id = 1; id <= results; id++) {
+            if (id > 1) {
+                json.append(',');
+            }
+            json.append("""
+                    {"name":"Luke Skywalker","height":"172","mass":"77","hair_color":"blond","skin_color":"fair",\
+                    "eye_color":"blue","birth_year":"19BBY","gender":"male",\
+                    "homeworld":"https://swapi.dev/api/planets/1/",\
+                    "films":["https://swapi.dev/api/films/1/","https://swapi.dev/api/films/2/",\
+                    "https://swapi.dev/api/films/3/","https://swapi.dev/api/films/6/"],\
+                    "species":[],\
+                    "vehicles":["https://swapi.dev/api/vehicles/14/","https://swapi.dev/api/vehicles/30/"],\
+                    "starships":["https://swapi.dev/api/starships/12/","https://swapi.dev/api/starships/22/"],\
+                    "created":"2014-12-09T13:50:51.644000Z","edited":"2014-12-20T21:17:56.891000Z",\
+                    "url":"https://swapi.dev/api/people/%d/"}""".formatted(id));
+        }
+        return json.append("]}").toString();
+    }
+}
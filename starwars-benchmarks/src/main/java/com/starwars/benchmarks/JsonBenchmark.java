@@ -0,0 +1,80 @@
+package com.starwars.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.dto.CharacterDTO;
+import com.starwars.backend.dto.SwapiCharacter;
+import com.starwars.backend.dto.SwapiResponse;
+import com.starwars.backend.dto.form.CharacterFormDTO;
+import com.starwars.backend.mapper.CharacterMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a SWAPI people page during sync and writing a character list page as the API
+ * responds, both with the application's {@link ObjectMapper}. The people page is also read
+ * into the url-carrying {@link CharacterDTO} for comparison with the sync's id records.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private JavaType swapiPeoplePage;
+    private JavaType swapiPeoplePageWithUrls;
+    private byte[] swapiPeopleJson;
+    private Page<CharacterFormDTO> characterPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        swapiPeoplePage = objectMapper.getTypeFactory().constructParametricType(SwapiResponse.class, SwapiCharacter.class);
+        swapiPeoplePageWithUrls = objectMapper.getTypeFactory().constructParametricType(SwapiResponse.class, CharacterDTO.class);
+        swapiPeopleJson = Fixtures.swapiPeoplePage(10).getBytes(StandardCharsets.UTF_8);
+
+        CharacterMapper mapper = Mappers.getMapper(CharacterMapper.class);
+        List<CharacterFormDTO> content = new ArrayList<>(Fixtures.PAGE_SIZE);
+        for (long id = 1; id <= Fixtures.PAGE_SIZE; id++) {
+            content.add(mapper.toDto(Fixtures.character(id, 4)));
+        }
+        characterPage = new PageImpl<>(content, PageRequest.of(0, Fixtures.PAGE_SIZE), 82);
+    }
+
+    @Benchmark
+    public SwapiResponse<SwapiCharacter> readSwapiPeoplePage() throws IOException {
+        return objectMapper.readValue(swapiPeopleJson, swapiPeoplePage);
+    }
+
+    @Benchmark
+    public SwapiResponse<CharacterDTO> readSwapiPeoplePageWithUrls() throws IOException {
+        return objectMapper.readValue(swapiPeopleJson, swapiPeoplePageWithUrls);
+    }
+
+    @Benchmark
+    public byte[] writeCharacterPage() throws IOException {
+        return objectMapper.writeValueAsBytes(characterPage);
+    }
+}
@@ -0,0 +1,73 @@
+package com.starwars.benchmarks;
+
+import com.starwars.backend.dto.PlanetDTO;
+import com.starwars.backend.dto.form.CharacterFormDTO;
+import com.starwars.backend.persisntence.repository.CharacterRepository;
+import com.starwars.backend.persisntence.repository.PlanetRepository;
+import com.starwars.backend.service.CharacterService;
+import com.starwars.backend.service.PlanetService;
+import com.starwars.backend.service.ReadMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns one page of projection rows and their relation rows into the list DTOs, through the
+ * list services with the repositories answering from memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListMappingBenchmark {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, Fixtures.PAGE_SIZE);
+
+    private PlanetService planetService;
+    private CharacterService characterService;
+
+    @Setup
+    public void setUp() {
+        PlanetRepository planets = Fixtures.repository(PlanetRepository.class, Map.of(
+                "findRows", new PageImpl<>(Fixtures.planetRows(), FIRST_PAGE, 60),
+                "findResidentNames", Fixtures.relations(3, "Resident"),
+                "findFilmNames", Fixtures.relations(2, "Film")));
+        planetService = new PlanetService(planets, null, new ReadMetrics(new SimpleMeterRegistry()));
+
+        CharacterRepository characters = Fixtures.repository(CharacterRepository.class, Map.of(
+                "findRows", new PageImpl<>(Fixtures.characterRows(), FIRST_PAGE, 82),
+                "findFilmNames", Fixtures.relations(4, "Film"),
+                "findSpeciesNames", Fixtures.relations(1, "Species"),
+                "findVehicleNames", Fixtures.relations(2, "Vehicle"),
+                "findStarshipNames", Fixtures.relations(2, "Starship")));
+        characterService = new CharacterService(characters, null, null, null, null, null, null, null,
+                new ReadMetrics(new SimpleMeterRegistry()), null);
+    }
+
+    @Benchmark
+    public Page<PlanetDTO> planetsPage() {
+        return planetService.getPlanets(null, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<CharacterFormDTO> charactersPage() {
+        return characterService.getCharacters(null, FIRST_PAGE);
+    }
+}
@@ -0,0 +1,56 @@
+package com.starwars.benchmarks;
+
+import com.starwars.backend.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Utils#parseSwapiId} runs for every url of every synced record and relation; the
+ * split-based parsing it replaced is kept here as the baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SwapiIdBenchmark {
+
+    @Param({
+            "https://swapi.dev/api/people/1/",
+            "https://swapi.dev/api/starships/75",
+            "https://swapi.dev/api/planets/unknown/"
+    })
+    public String url;
+
+    @Benchmark
+    public int parseSwapiId() {
+        return Utils.parseSwapiId(url);
+    }
+
+    @Benchmark
+    public Integer splitSwapiId() {
+        if (url == null || url.isBlank()) return null;
+        String[] parts = url.split("/");
+        for (int i = parts.length - 1; i >= 0; i--) {
+            if (!parts[i].isBlank()) {
+                try {
+                    return Integer.parseInt(parts[i]);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}